@@ -0,0 +1,76 @@
+package com.cp.workskillai.benchmark;
+
+import com.cp.workskillai.config.JwtAuthenticationFilter;
+import com.cp.workskillai.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter, with a token cookie present.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.benchmarks=JwtFilterBenchmark
+ *
+ * <ul>
+ *   <li>{@code publicRoute}: a permitAll route whose handler never asks who the caller is</li>
+ *   <li>{@code protectedRoute}: an authenticated route whose authorization reads the context</li>
+ *   <li>{@code protectedRouteUncached}: the same with the verified-token cache off</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-0123456789-abcdefghijklmnopqrstuvwxyz";
+
+    // Stands in for the authorization rule of an authenticated route
+    private static final FilterChain READS_CONTEXT =
+            (request, response) -> SecurityContextHolder.getContext().getAuthentication();
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtUtil cached = new JwtUtil(SECRET, 86_400_000, 10_000);
+        cachedFilter = new JwtAuthenticationFilter(cached);
+        uncachedFilter = new JwtAuthenticationFilter(new JwtUtil(SECRET, 86_400_000, 0));
+        token = cached.generateToken("jane.doe@example.com", "6650f1a2c3b4d5e6f7a8b9c0", "student");
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object publicRoute() throws Exception {
+        return run(cachedFilter, "/api/dashboard/6650f1a2c3b4d5e6f7a8b9c0", (request, response) -> { });
+    }
+
+    @Benchmark
+    public Object protectedRoute() throws Exception {
+        return run(cachedFilter, "/api/hr/analytics/cohort", READS_CONTEXT);
+    }
+
+    @Benchmark
+    public Object protectedRouteUncached() throws Exception {
+        return run(uncachedFilter, "/api/hr/analytics/cohort", READS_CONTEXT);
+    }
+
+    private Object run(JwtAuthenticationFilter filter, String uri, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setCookies(new Cookie("jwt", token));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return request.getAttribute("userId");
+    }
+}
@@ -0,0 +1,69 @@
+package com.cp.workskillai.benchmark;
+
+import com.cp.workskillai.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auth cost of one request in JwtAuthenticationFilter.
+ * Run with: mvn -Pjmh test-compile exec:exec
+ *
+ * <ul>
+ *   <li>{@code perClaimParsing}: the former filter, which validated the token and then read
+ *       email, userId and role with four parses, each deriving the key and building a parser</li>
+ *   <li>{@code singleParse}: {@link JwtUtil#verify} with the verified-token cache off</li>
+ *   <li>{@code cachedVerification}: {@link JwtUtil#verify} for a token seen before</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-0123456789-abcdefghijklmnopqrstuvwxyz";
+    private static final int EXPIRATION_MS = 86_400_000;
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtUtil(SECRET, EXPIRATION_MS, 0);
+        cached = new JwtUtil(SECRET, EXPIRATION_MS, 10_000);
+        token = cached.generateToken("jane.doe@example.com", "6650f1a2c3b4d5e6f7a8b9c0", "student");
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public void perClaimParsing(Blackhole blackhole) {
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token));
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody().getSubject());
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody()
+                .get("userId", String.class));
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody()
+                .get("role", String.class));
+    }
+
+    @Benchmark
+    public Object singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Object cachedVerification() {
+        return cached.verify(token);
+    }
+
+    private static SecretKey key() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    }
+}
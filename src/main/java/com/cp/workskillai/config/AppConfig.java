@@ -1,21 +1,61 @@
 package com.cp.workskillai.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+@Slf4j
 @Configuration
 public class AppConfig {
 
+    // BCrypt's own default; tuning never goes below it
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
+    /**
+     * BCrypt at password.hashing.strength, or when that is 0 at the highest
+     * strength whose hash still fits in password.hashing.target-latency on
+     * this machine. Stored hashes with a lower strength are rehashed on login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.hashing.strength:0}") int strength,
+                                           @Value("${password.hashing.target-latency:250ms}") Duration targetLatency) {
+        int chosen = strength > 0 ? strength : tuneBCryptStrength(targetLatency);
+        log.info("Hashing passwords with BCrypt strength {}", chosen);
+        return new BCryptPasswordEncoder(chosen);
     }
 
+    // General-purpose template; the ML service has its own pooled mlRestTemplate
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+
+    // Each strength step doubles the work, so one timed hash at the minimum is enough to extrapolate
+    private static int tuneBCryptStrength(Duration targetLatency) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH);
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("strength-probe");
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        int strength = MIN_BCRYPT_STRENGTH;
+        long nanos = fastestNanos;
+        while (strength < MAX_BCRYPT_STRENGTH && nanos * 2 <= targetLatency.toNanos()) {
+            nanos *= 2;
+            strength++;
+        }
+        log.info("BCrypt strength {} takes ~{} ms here (target {} ms)", strength,
+                nanos / 1_000_000, targetLatency.toMillis());
+        return strength;
+    }
+}
@@ -0,0 +1,191 @@
+package com.cp.workskillai.config;
+
+import com.cp.workskillai.models.RateLimitWindow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles login and signup attempts per client IP and per email before any
+ * database or hashing work. Each key keeps a sliding-window estimate: the
+ * attempts of the current fixed window plus the previous window's count
+ * weighted by how much of it still overlaps the sliding window. Rejected
+ * attempts are not counted, so a throttled client recovers as the window
+ * slides.
+ *
+ * <p>Counters live in a size-bounded Caffeine cache and are updated with a
+ * compare-and-set, without locks; idle keys are evicted after two windows.
+ * With auth.rate-limit.store=mongo the counts are kept in auth_rate_limits
+ * instead so that every node sees the same totals; if Mongo is unreachable
+ * the local counters take over. There every attempt is counted by one atomic
+ * $inc and judged by the count it returns, so two nodes can never both take
+ * the last slot; a rejected attempt is then taken back with a $inc of -1.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    private static final Decision ALLOWED = new Decision(true, 0);
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int perIpLimit;
+    private final int perEmailLimit;
+    private final boolean sharedStore;
+    private final MongoTemplate mongoTemplate;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicReference<Window>> windows;
+    private final Counter ipAllowed;
+    private final Counter ipRejected;
+    private final Counter emailAllowed;
+    private final Counter emailRejected;
+
+    @Autowired
+    public AuthRateLimiter(@Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${auth.rate-limit.window:1m}") Duration window,
+                           @Value("${auth.rate-limit.per-ip:30}") int perIpLimit,
+                           @Value("${auth.rate-limit.per-email:10}") int perEmailLimit,
+                           @Value("${auth.rate-limit.max-keys:100000}") long maxKeys,
+                           @Value("${auth.rate-limit.store:memory}") String store,
+                           MongoTemplate mongoTemplate,
+                           MeterRegistry meterRegistry) {
+        this(enabled, window, perIpLimit, perEmailLimit, maxKeys, "mongo".equalsIgnoreCase(store),
+                mongoTemplate, meterRegistry, System::currentTimeMillis);
+    }
+
+    AuthRateLimiter(boolean enabled, Duration window, int perIpLimit, int perEmailLimit, long maxKeys,
+                    boolean sharedStore, MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                    LongSupplier clock) {
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.perIpLimit = perIpLimit;
+        this.perEmailLimit = perEmailLimit;
+        this.sharedStore = sharedStore;
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+        this.ipAllowed = requests(meterRegistry, "ip", "allowed");
+        this.ipRejected = requests(meterRegistry, "ip", "rejected");
+        this.emailAllowed = requests(meterRegistry, "email", "allowed");
+        this.emailRejected = requests(meterRegistry, "email", "rejected");
+    }
+
+    /** Counts one attempt from this client for this email, unless either is over its limit. */
+    public Decision tryAcquire(String clientIp, String email) {
+        if (!enabled) {
+            return ALLOWED;
+        }
+        long now = clock.getAsLong();
+        if (clientIp != null && !acquire("ip:" + clientIp, perIpLimit, now)) {
+            ipRejected.increment();
+            return rejected(now);
+        }
+        ipAllowed.increment();
+        if (email != null && !acquire("email:" + email.trim().toLowerCase(Locale.ROOT), perEmailLimit, now)) {
+            emailRejected.increment();
+            return rejected(now);
+        }
+        emailAllowed.increment();
+        return ALLOWED;
+    }
+
+    private boolean acquire(String key, int limit, long now) {
+        if (sharedStore) {
+            try {
+                return acquireShared(key, limit, now);
+            } catch (RuntimeException e) {
+                log.warn("Shared rate-limit store unavailable, counting {} locally: {}", key, e.getMessage());
+            }
+        }
+        return acquireLocal(key, limit, now);
+    }
+
+    private boolean acquireLocal(String key, int limit, long now) {
+        AtomicReference<Window> ref = windows.get(key, k -> new AtomicReference<>(Window.EMPTY));
+        long windowStart = now - Math.floorMod(now, windowMillis);
+        while (true) {
+            Window current = ref.get();
+            Window rolled = current.rollTo(windowStart, windowMillis);
+            if (estimate(rolled.previous(), rolled.current(), now - windowStart) >= limit) {
+                return false;
+            }
+            if (ref.compareAndSet(current, new Window(windowStart, rolled.previous(), rolled.current() + 1))) {
+                return true;
+            }
+        }
+    }
+
+    private boolean acquireShared(String key, int limit, long now) {
+        long index = Math.floorDiv(now, windowMillis);
+        RateLimitWindow previous = mongoTemplate.findById(RateLimitWindow.idOf(key, index - 1), RateLimitWindow.class);
+        Query current = Query.query(Criteria.where("_id").is(RateLimitWindow.idOf(key, index)));
+        RateLimitWindow counted = mongoTemplate.findAndModify(current,
+                new Update().inc("count", 1)
+                        .setOnInsert("expireAt", new Date((index + 2) * windowMillis)),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                RateLimitWindow.class);
+        // Judge the attempt by the count before it, as the local path does
+        int before = counted.getCount() - 1;
+        if (estimate(previous != null ? previous.getCount() : 0, before, now - index * windowMillis) >= limit) {
+            mongoTemplate.updateFirst(current, new Update().inc("count", -1), RateLimitWindow.class);
+            return false;
+        }
+        return true;
+    }
+
+    // Previous window's count scaled by the share of it the sliding window still covers
+    private double estimate(int previous, int current, long elapsedInWindow) {
+        return previous * (1.0 - (double) elapsedInWindow / windowMillis) + current;
+    }
+
+    private Decision rejected(long now) {
+        long untilNextWindow = windowMillis - Math.floorMod(now, windowMillis);
+        return new Decision(false, Math.max(1, (untilNextWindow + 999) / 1000));
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String scope, String outcome) {
+        return Counter.builder("auth.ratelimit.requests")
+                .description("Login and signup attempts checked by the rate limiter")
+                .tag("scope", scope)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** Whether to go ahead, and if not how many seconds the client should wait. */
+    public record Decision(boolean allowed, long retryAfterSeconds) {
+    }
+
+    private record Window(long start, int previous, int current) {
+
+        static final Window EMPTY = new Window(Long.MIN_VALUE, 0, 0);
+
+        Window rollTo(long windowStart, long windowMillis) {
+            if (start == windowStart) {
+                return this;
+            }
+            if (start == windowStart - windowMillis) {
+                return new Window(windowStart, current, 0);
+            }
+            return new Window(windowStart, 0, 0);
+        }
+    }
+}
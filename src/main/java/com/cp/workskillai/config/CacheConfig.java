@@ -0,0 +1,13 @@
+package com.cp.workskillai.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction. Cache names and TTLs are configured
+ * through the spring.cache.* properties (Caffeine backed).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,172 @@
+package com.cp.workskillai.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs independent reads of one request concurrently on virtual threads.
+ * Work is forked into a {@link Scope} that shares one deadline: joining waits
+ * for every task, and the first failure or the deadline cancels the tasks
+ * still running before the error reaches the caller. Closing a scope cancels
+ * whatever was never joined, so no task outlives the block that forked it.
+ *
+ * <p>At most fanout.max-concurrency tasks run at once across all scopes; a
+ * fork beyond that runs on the caller's thread instead of queueing.
+ */
+@Slf4j
+@Component
+public class FanOutExecutor {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fan-out-", 0).factory());
+    private final Semaphore permits;
+    private final Duration defaultDeadline;
+
+    public FanOutExecutor(@Value("${fanout.max-concurrency:256}") int maxConcurrency,
+                          @Value("${fanout.deadline:5s}") Duration defaultDeadline) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.defaultDeadline = defaultDeadline;
+    }
+
+    public Scope open() {
+        return open(defaultDeadline);
+    }
+
+    public Scope open(Duration deadline) {
+        return new Scope(System.nanoTime() + deadline.toNanos());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final List<Task<?>> tasks = new ArrayList<>();
+        private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public <T> Task<T> fork(Callable<T> work) {
+            Task<T> task = new Task<>();
+            tasks.add(task);
+            if (!permits.tryAcquire()) {
+                run(task, work);
+                return task;
+            }
+            try {
+                task.future = executor.submit(() -> {
+                    try {
+                        run(task, work);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            return task;
+        }
+
+        /**
+         * Waits for every forked task. Rethrows the first task failure as is
+         * (checked exceptions wrapped), or throws {@link DeadlineExceededException}.
+         */
+        public void join() {
+            CompletableFuture<Void> all = CompletableFuture.allOf(
+                    tasks.stream().map(task -> task.result).toArray(CompletableFuture[]::new));
+            try {
+                CompletableFuture.anyOf(all, firstFailure)
+                        .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                cancelAll();
+                throw propagate(e.getCause());
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new DeadlineExceededException("Fan-out of " + tasks.size() + " tasks exceeded its deadline");
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for fan-out tasks", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private <T> void run(Task<T> task, Callable<T> work) {
+            try {
+                task.result.complete(work.call());
+            } catch (Throwable t) {
+                task.result.completeExceptionally(t);
+                firstFailure.completeExceptionally(t);
+            }
+        }
+
+        private void cancelAll() {
+            for (Task<?> task : tasks) {
+                if (!task.result.isDone()) {
+                    task.result.cancel(false);
+                    if (task.future != null) {
+                        task.future.cancel(true);
+                    }
+                }
+            }
+        }
+
+        private RuntimeException propagate(Throwable cause) {
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    public static final class Task<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile Future<?> future;
+
+        private Task() {
+        }
+
+        /** The task's value; only valid after {@link Scope#join()} returned normally. */
+        public T get() {
+            if (!result.isDone() || result.isCompletedExceptionally()) {
+                throw new IllegalStateException("Task has no result; join the scope first");
+            }
+            return result.join();
+        }
+    }
+
+    public static class DeadlineExceededException extends RuntimeException {
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.cp.workskillai.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips request bodies above a size threshold. Small bodies are sent as-is,
+ * where compression would cost more CPU than it saves on the wire.
+ */
+public class GzipRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int minBytes;
+
+    public GzipRequestInterceptor(int minBytes) {
+        this.minBytes = minBytes;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (body.length < minBytes || request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return execution.execute(request, body);
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return execution.execute(request, compressed.toByteArray());
+    }
+}
@@ -5,17 +5,29 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
+/**
+ * Authenticates requests from the "jwt" cookie, on every route. The token is
+ * only verified when something asks for the security context or for the
+ * userId and userRole request attributes: the authorization rule of a
+ * protected route, a controller's Principal or @RequestAttribute on a public
+ * one. Requests that never ask, such as anonymous page loads, never pay for it.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -23,34 +35,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
+    static final String USER_ID_ATTRIBUTE = "userId";
+    static final String USER_ROLE_ATTRIBUTE = "userRole";
+
+    private final SecurityContextHolderStrategy contextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        try {
-            String jwt = getJwtFromCookies(request);
-            
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String email = jwtUtil.getEmailFromToken(jwt);
-                String userId = jwtUtil.getUserIdFromToken(jwt);
-                String role = jwtUtil.getRoleFromToken(jwt);
-                
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(email, null, null);
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                
-                // Add user info to request for easy access in controllers
-                request.setAttribute("userId", userId);
-                request.setAttribute("userRole", role);
+        Supplier<SecurityContext> loaded = contextHolderStrategy.getDeferredContext();
+        Supplier<SecurityContext> deferred = SingletonSupplier.of(() -> resolve(request, loaded.get()));
+        contextHolderStrategy.setDeferredContext(deferred);
+        filterChain.doFilter(new ResolvingRequest(request, deferred), response);
+    }
+
+    private SecurityContext resolve(HttpServletRequest request, SecurityContext loaded) {
+        if (loaded.getAuthentication() != null) {
+            return loaded;
+        }
+        String jwt = getJwtFromCookies(request);
+        JwtUtil.VerifiedToken token = jwtUtil.verify(jwt).orElse(null);
+        if (token == null) {
+            if (jwt != null) {
+                log.debug("Ignoring invalid or expired JWT on {}", request.getRequestURI());
             }
-        } catch (Exception e) {
-            log.error("Cannot set user authentication: {}", e.getMessage());
+            return loaded;
         }
-        
-        filterChain.doFilter(request, response);
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(token.email(), null, null);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContext context = contextHolderStrategy.createEmptyContext();
+        context.setAuthentication(authentication);
+
+        // Add user info to request for easy access in controllers
+        request.setAttribute(USER_ID_ATTRIBUTE, token.userId());
+        request.setAttribute(USER_ROLE_ATTRIBUTE, token.role());
+        return context;
     }
 
     private String getJwtFromCookies(HttpServletRequest request) {
@@ -64,4 +85,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    // Resolves the context before handing out the user attributes it sets
+    private static final class ResolvingRequest extends HttpServletRequestWrapper {
+
+        private final Supplier<SecurityContext> context;
+
+        ResolvingRequest(HttpServletRequest request, Supplier<SecurityContext> context) {
+            super(request);
+            this.context = context;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            if (USER_ID_ATTRIBUTE.equals(name) || USER_ROLE_ATTRIBUTE.equals(name)) {
+                context.get();
+            }
+            return super.getAttribute(name);
+        }
+    }
+}
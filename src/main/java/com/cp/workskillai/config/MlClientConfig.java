@@ -0,0 +1,86 @@
+package com.cp.workskillai.config;
+
+import com.cp.workskillai.service.MlEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP client for the Python ML service: a pooled keep-alive connection manager,
+ * bounded connect/lease/response timeouts and per-endpoint response timeouts,
+ * so a hung worker cannot hold a request thread indefinitely.
+ */
+@Configuration
+@EnableConfigurationProperties(MlServiceProperties.class)
+public class MlClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager mlConnectionManager(MlServiceProperties properties,
+                                                                  MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getConnectionTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "ml-service").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient mlHttpClient(@Qualifier("mlConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+                                            MlServiceProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                // Retries are decided by PythonServiceClient, which knows which calls are idempotent
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate mlRestTemplate(@Qualifier("mlHttpClient") CloseableHttpClient mlHttpClient,
+                                       MlServiceProperties properties,
+                                       RestTemplateBuilder restTemplateBuilder) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(mlHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            MlEndpoint.fromPath(uri.getPath()).ifPresent(endpoint -> context.setRequestConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                    .setResponseTimeout(Timeout.of(properties.timeoutFor(endpoint.getKey())))
+                    .build()));
+            return context;
+        });
+
+        RestTemplateBuilder builder = restTemplateBuilder
+                .rootUri(properties.getService().getUrl())
+                .requestFactory(() -> requestFactory);
+        if (properties.isGzipRequests()) {
+            builder = builder.additionalInterceptors(new GzipRequestInterceptor(properties.getGzipMinBytes()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.cp.workskillai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for the Python ML service client, bound from python.ml.*.
+ * Endpoint timeouts are keyed by {@link com.cp.workskillai.service.MlEndpoint} key,
+ * e.g. python.ml.timeouts.analyze=30s.
+ */
+@Data
+@ConfigurationProperties(prefix = "python.ml")
+public class MlServiceProperties {
+
+    private Service service = new Service();
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    private Map<String, Duration> timeouts = new HashMap<>();
+
+    private int maxConnections = 50;
+    private int maxConnectionsPerRoute = 20;
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    // The Python side must decode Content-Encoding: gzip before this is switched on
+    private boolean gzipRequests = false;
+    private int gzipMinBytes = 2048;
+
+    private Batch batch = new Batch();
+
+    @Data
+    public static class Service {
+        private String url = "http://localhost:8000";
+    }
+
+    // Micro-batching of concurrent calls into <endpoint>/batch, see MlRequestCoalescer
+    @Data
+    public static class Batch {
+        private boolean enabled = false;
+        private Duration window = Duration.ofMillis(5);
+        private int maxSize = 32;
+    }
+
+    public Duration timeoutFor(String endpointKey) {
+        return timeouts.getOrDefault(endpointKey, responseTimeout);
+    }
+}
@@ -0,0 +1,196 @@
+package com.cp.workskillai.config;
+
+import com.cp.workskillai.models.CourseRecommendation;
+import com.cp.workskillai.models.Progress;
+import com.cp.workskillai.models.RateLimitWindow;
+import com.cp.workskillai.models.SkillGapAnalysis;
+import com.cp.workskillai.models.SkillScoreBucket;
+import com.cp.workskillai.models.Student;
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.util.SkillNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Creates the indexes the repositories rely on. Index keys use the stored
+ * field names (user_id, analyzed_at, ...) rather than Java property names.
+ * Runs off the startup thread so an unreachable database does not hold up boot.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesOnStartup() {
+        Thread.ofVirtual().name("mongo-index-init").start(this::ensureIndexes);
+    }
+
+    void ensureIndexes() {
+        // Each step stands alone, so one failure cannot keep the others from being created
+        int failed = 0;
+
+        // History pages: equality on user, newest first, _id as tie-breaker for the cursor
+        failed += ensure("user_analyzed_at_idx", () -> mongoTemplate.indexOps(SkillGapAnalysis.class).createIndex(new Index()
+                .on("user_id", Sort.Direction.ASC)
+                .on("analyzed_at", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("user_analyzed_at_idx")));
+
+        // At most one current-role analysis per user; also serves the current-role lookup
+        failed += ensure("current-role dedupe", this::clearDuplicateCurrentRoles);
+        failed += ensure("user_current_role_idx", () -> mongoTemplate.indexOps(SkillGapAnalysis.class).createIndex(new Index()
+                .on("user_id", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("is_current_role").is(true)))
+                .named("user_current_role_idx")));
+
+        // HR cohort selection
+        failed += ensure("company_id_role_idx", () -> mongoTemplate.indexOps(Student.class).createIndex(new Index()
+                .on("companyId", Sort.Direction.ASC)
+                .on("role", Sort.Direction.ASC)
+                .named("company_id_role_idx")));
+
+        // One skill per user and normalized name: the key the profile skill sync upserts on.
+        // Its userId prefix also serves the per-user skill lookups
+        failed += ensure("normalizedName backfill", this::backfillNormalizedSkillNames);
+        failed += ensure("skill dedupe", this::clearDuplicateSkills);
+        failed += ensure("user_normalized_name_idx", () -> mongoTemplate.indexOps(UserSkill.class).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("normalizedName", Sort.Direction.ASC)
+                .unique()
+                .named("user_normalized_name_idx")));
+
+        // Incremental ML export: its $or on updatedAt / createdAt is an index union of these two
+        failed += ensure("updated_at_idx", () -> mongoTemplate.indexOps(UserSkill.class).createIndex(new Index()
+                .on("updatedAt", Sort.Direction.ASC)
+                .named("updated_at_idx")));
+        failed += ensure("created_at_idx", () -> mongoTemplate.indexOps(UserSkill.class).createIndex(new Index()
+                .on("createdAt", Sort.Direction.ASC)
+                .named("created_at_idx")));
+
+        // Stored recommendations page read, and enrollment/saved-course updates
+        failed += ensure("user_analysis_rank_idx", () -> mongoTemplate.indexOps(CourseRecommendation.class).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("analysisId", Sort.Direction.ASC)
+                .on("rank", Sort.Direction.ASC)
+                .named("user_analysis_rank_idx")));
+        failed += ensure("user_course_idx", () -> mongoTemplate.indexOps(CourseRecommendation.class).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("courseId", Sort.Direction.ASC)
+                .named("user_course_idx")));
+
+        // One progress row per user and training, so completion upserts cannot duplicate it
+        failed += ensure("student_training_idx", () -> mongoTemplate.indexOps(Progress.class).createIndex(new Index()
+                .on("studentId", Sort.Direction.ASC)
+                .on("trainingId", Sort.Direction.ASC)
+                .unique()
+                .named("student_training_idx")));
+
+        // Skill score history: the open bucket of a month on write, a range of months on read
+        failed += ensure("user_month_idx", () -> mongoTemplate.indexOps(SkillScoreBucket.class).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("month", Sort.Direction.ASC)
+                .named("user_month_idx")));
+
+        // Shared auth rate-limit windows remove themselves once expireAt has passed
+        failed += ensure("expire_at_ttl_idx", () -> mongoTemplate.indexOps(RateLimitWindow.class).createIndex(new Index()
+                .on("expireAt", Sort.Direction.ASC)
+                .expire(Duration.ZERO)
+                .named("expire_at_ttl_idx")));
+
+        if (failed == 0) {
+            log.info("MongoDB indexes verified");
+        } else {
+            log.error("{} MongoDB index steps failed; see the errors above", failed);
+        }
+    }
+
+    /** Runs one index step, logging its failure; returns 1 if it failed, else 0. */
+    private int ensure(String step, Runnable action) {
+        try {
+            action.run();
+            return 0;
+        } catch (Exception e) {
+            log.error("MongoDB index step {} failed", step, e);
+            return 1;
+        }
+    }
+
+    /** Skills written before normalizedName existed get it from their name. */
+    private void backfillNormalizedSkillNames() {
+        Query missing = Query.query(Criteria.where("normalizedName").exists(false));
+        missing.fields().include("name");
+        List<UserSkill> skills = mongoTemplate.find(missing, UserSkill.class);
+        if (skills.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserSkill.class);
+        for (UserSkill skill : skills) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(skill.getId())),
+                    new Update().set("normalizedName", SkillNames.normalize(skill.getName())));
+        }
+        bulk.execute();
+        log.info("Backfilled normalizedName on {} user skills", skills.size());
+    }
+
+    /**
+     * The old per-skill sync could store one skill twice for a user, which
+     * would block the unique index. Keeps the verified, best-scored, most
+     * recently updated copy and deletes the rest.
+     */
+    private void clearDuplicateSkills() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "verified", "score", "updatedAt")),
+                Aggregation.group("userId", "normalizedName").push("_id").as("ids").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)));
+
+        String collection = mongoTemplate.getCollectionName(UserSkill.class);
+        for (Document duplicate : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            List<ObjectId> ids = duplicate.getList("ids", ObjectId.class);
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids.subList(1, ids.size()))), UserSkill.class);
+            log.warn("Removed {} duplicate skills for {}", ids.size() - 1, duplicate.get("_id"));
+        }
+    }
+
+    /**
+     * Older writes could leave several analyses flagged as current for one user,
+     * which would block the unique index. Keeps the newest flag and clears the rest.
+     */
+    private void clearDuplicateCurrentRoles() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("is_current_role").is(true)),
+                Aggregation.sort(Sort.Direction.DESC, "analyzed_at"),
+                Aggregation.group("user_id").push("_id").as("ids").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)));
+
+        String collection = mongoTemplate.getCollectionName(SkillGapAnalysis.class);
+        for (Document duplicate : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            List<ObjectId> ids = duplicate.getList("ids", ObjectId.class);
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids.subList(1, ids.size()))),
+                    new Update().set("is_current_role", false),
+                    SkillGapAnalysis.class);
+            log.warn("Cleared {} stale current-role flags for user {}", ids.size() - 1, duplicate.get("_id"));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cp.workskillai.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the login and signup pipelines, and with them every BCrypt hash, on a
+ * small fixed pool of its own instead of the Tomcat request threads. BCrypt
+ * is CPU bound, so a login burst can occupy at most password.hashing.threads
+ * cores; the rest of the app keeps its request threads and CPU.
+ *
+ * <p>At most password.hashing.queue-capacity pipelines wait for a thread.
+ * Past that, {@link #submit} fails at once with {@link SaturatedException},
+ * which the auth endpoints turn into a 429.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(@Value("${password.hashing.threads:0}") int threads,
+                                   @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                   MeterRegistry meterRegistry) {
+        // 0 means half the cores, leaving the other half to everything else
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejections = Counter.builder("auth.password.hashing.rejected")
+                .description("Login and signup requests turned away because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queued", executor, pool -> pool.getQueue().size())
+                .description("Login and signup requests waiting for a hashing thread")
+                .register(meterRegistry);
+        log.info("Password hashing runs on {} threads with room for {} queued requests", poolSize, queueCapacity);
+    }
+
+    /** Queues the work on the hashing pool, or throws {@link SaturatedException} if the queue is full. */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new SaturatedException("Password hashing queue is full");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static class SaturatedException extends RuntimeException {
+        public SaturatedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.cp.workskillai.config;
+
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+
+/**
+ * Routes open to anonymous callers, permitted by {@link SecurityConfig}.
+ * {@link JwtAuthenticationFilter} still authenticates callers that send a
+ * token, so handlers here can tell who is asking.
+ */
+public final class PublicRoutes {
+
+    static final String[] PATTERNS = {
+            "/api/auth/**",
+            "/api/profile/**",
+            "/api/dashboard/**",
+            "/api/skills/**",
+            "/api/analyze/**"
+    };
+
+    static final RequestMatcher MATCHER = new OrRequestMatcher(Arrays.stream(PATTERNS)
+            .map(pattern -> (RequestMatcher) PathPatternRequestMatcher.withDefaults().matcher(pattern))
+            .toList());
+
+    private PublicRoutes() {
+    }
+}
@@ -0,0 +1,13 @@
+package com.cp.workskillai.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled methods, run on Spring Boot's task scheduler
+ * (spring.task.scheduling.*).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
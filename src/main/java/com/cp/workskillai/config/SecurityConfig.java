@@ -28,12 +28,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/api/profile/**").permitAll()
-                .requestMatchers("/api/dashboard/**").permitAll()
+                .requestMatchers(PublicRoutes.MATCHER).permitAll()
                 .requestMatchers("/api/user/**").authenticated()
-                .requestMatchers("/api/skills/**").permitAll()
-                .requestMatchers("/api/analyze/**").permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,59 @@
+package com.cp.workskillai.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds stale-while-revalidate caches on Caffeine. Past the soft TTL a read
+ * still returns the cached value and triggers one background reload per key;
+ * past the hard TTL the entry is gone and the first caller loads it while
+ * concurrent callers for the same key wait on that load. A failed background
+ * reload keeps the old value.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(StaleWhileRevalidateProperties.class)
+public class StaleWhileRevalidateCacheFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final StaleWhileRevalidateProperties properties;
+    private final ExecutorService refreshExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("swr-refresh-", 0).factory());
+
+    public StaleWhileRevalidateCacheFactory(MeterRegistry meterRegistry, StaleWhileRevalidateProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public <K, V> LoadingCache<K, V> create(String name, CacheLoader<K, V> loader) {
+        StaleWhileRevalidateProperties.Spec spec = properties.specFor(name);
+        if (spec.getSoftTtl().compareTo(spec.getHardTtl()) >= 0) {
+            throw new IllegalArgumentException("Soft TTL of cache " + name + " must be shorter than its hard TTL");
+        }
+        LoadingCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .refreshAfterWrite(spec.getSoftTtl())
+                .expireAfterWrite(spec.getHardTtl())
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(loader);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        log.info("Cache {} serves stale after {} and expires after {}", name, spec.getSoftTtl(), spec.getHardTtl());
+        return cache;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,32 @@
+package com.cp.workskillai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-cache settings for stale-while-revalidate caches, bound from
+ * cache.swr.*, e.g. cache.swr.caches.recommendations.soft-ttl=2m.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.swr")
+public class StaleWhileRevalidateProperties {
+
+    private Map<String, Spec> caches = new HashMap<>();
+
+    @Data
+    public static class Spec {
+        // Older entries are still served but refreshed in the background
+        private Duration softTtl = Duration.ofMinutes(1);
+        // Older entries are dropped and callers wait for a fresh load
+        private Duration hardTtl = Duration.ofMinutes(30);
+        private long maxSize = 10_000;
+    }
+
+    public Spec specFor(String cacheName) {
+        return caches.getOrDefault(cacheName, new Spec());
+    }
+}
@@ -4,20 +4,26 @@ import com.cp.workskillai.dto.SignUpRequest;
 import com.cp.workskillai.dto.SignUpResponse;
 import com.cp.workskillai.service.StudentService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.cp.workskillai.config.AuthRateLimiter;
 import com.cp.workskillai.config.JwtCookieService;
+import com.cp.workskillai.config.PasswordHashingExecutor;
 import com.cp.workskillai.dto.LoginRequest;
 import com.cp.workskillai.dto.LoginResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/auth")
@@ -27,13 +33,35 @@ public class AuthController {
 
     private final StudentService studentService;
     private final JwtCookieService jwtCookieService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuthRateLimiter authRateLimiter;
 
+    // Signup and login hash passwords, so both run on the hashing pool rather than the request thread
     @PostMapping("/signup")
-    public ResponseEntity<SignUpResponse> registerStudent(
-            @Valid @RequestBody SignUpRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<SignUpResponse>> registerStudent(
+            @Valid @RequestBody SignUpRequest signUpRequest,
+            HttpServletRequest request) {
         
         log.info("Received signup request for email: {}", signUpRequest.getEmail());
         
+        AuthRateLimiter.Decision decision = authRateLimiter.tryAcquire(request.getRemoteAddr(), signUpRequest.getEmail());
+        if (!decision.allowed()) {
+            log.warn("Signup throttled for email: {} from {}", signUpRequest.getEmail(), request.getRemoteAddr());
+            return CompletableFuture.completedFuture(tooManyRequests(
+                new SignUpResponse(false, "Too many signup attempts, please try again later", null, null, null),
+                decision.retryAfterSeconds()));
+        }
+
+        try {
+            return passwordHashingExecutor.submit(() -> signUp(signUpRequest));
+        } catch (PasswordHashingExecutor.SaturatedException e) {
+            log.warn("Signup rejected, hashing queue full: {}", signUpRequest.getEmail());
+            return CompletableFuture.completedFuture(tooManyRequests(
+                new SignUpResponse(false, "Too many requests, please try again shortly", null, null, null), 1));
+        }
+    }
+
+    private ResponseEntity<SignUpResponse> signUp(SignUpRequest signUpRequest) {
         try {
             SignUpResponse response = studentService.registerStudent(signUpRequest);
             
@@ -53,22 +81,41 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> loginStudent(
+    public CompletableFuture<ResponseEntity<LoginResponse>> loginStudent(
             @Valid @RequestBody LoginRequest loginRequest,
-            HttpServletResponse response) {
+            HttpServletRequest request) {
         
         log.info("Received login request for email: {}", loginRequest.getEmail());
         
+        AuthRateLimiter.Decision decision = authRateLimiter.tryAcquire(request.getRemoteAddr(), loginRequest.getEmail());
+        if (!decision.allowed()) {
+            log.warn("Login throttled for email: {} from {}", loginRequest.getEmail(), request.getRemoteAddr());
+            return CompletableFuture.completedFuture(tooManyRequests(
+                new LoginResponse(false, "Too many login attempts, please try again later", null, null, null, null, null, null),
+                decision.retryAfterSeconds()));
+        }
+
+        try {
+            return passwordHashingExecutor.submit(() -> login(loginRequest));
+        } catch (PasswordHashingExecutor.SaturatedException e) {
+            log.warn("Login rejected, hashing queue full: {}", loginRequest.getEmail());
+            return CompletableFuture.completedFuture(tooManyRequests(
+                new LoginResponse(false, "Too many login attempts, please try again shortly", null, null, null, null, null, null), 1));
+        }
+    }
+
+    private ResponseEntity<LoginResponse> login(LoginRequest loginRequest) {
         try {
             LoginResponse loginResponse = studentService.loginStudent(loginRequest);
             
             if (loginResponse.isSuccess()) {
                 // Create HTTP-only cookie
                 ResponseCookie jwtCookie = jwtCookieService.createJwtCookie(loginResponse.getToken());
-                response.addHeader(HttpHeaders.SET_COOKIE, jwtCookie.toString());
                 
                 log.info("Login successful for email: {}", loginRequest.getEmail());
-                return ResponseEntity.ok(loginResponse);
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
+                        .body(loginResponse);
             } else {
                 log.warn("Login failed for email: {} - {}", loginRequest.getEmail(), loginResponse.getMessage());
                 return ResponseEntity.badRequest().body(loginResponse);
@@ -81,6 +128,12 @@ public class AuthController {
         }
     }
 
+    private static <T> ResponseEntity<T> tooManyRequests(T body, long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<String> logout(HttpServletResponse response) {
         try {
@@ -1,5 +1,6 @@
 package com.cp.workskillai.controller;
 
+import com.cp.workskillai.config.FanOutExecutor;
 import com.cp.workskillai.dto.DashboardResponse;
 import com.cp.workskillai.models.Student;
 import com.cp.workskillai.models.UserProfile;
@@ -8,10 +9,15 @@ import com.cp.workskillai.service.ProfileService;
 import com.cp.workskillai.service.StudentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.cp.workskillai.util.ETags;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.HttpStatus;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,13 +31,22 @@ public class DashboardController {
     private final DashboardService dashboardService;
     private final ProfileService profileService;
     private final StudentService studentService;
+    private final FanOutExecutor fanOutExecutor;
 
     @GetMapping("/dashboard/{userId}")
-    public ResponseEntity<DashboardResponse> getDashboardData(@PathVariable String userId) {
+    public ResponseEntity<DashboardResponse> getDashboardData(@PathVariable String userId, WebRequest request) {
         try {
             log.info("Fetching dashboard data for user: {}", userId);
+            // A revalidation is answered from the version alone
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && request.checkNotModified(dashboardETag(dashboardService.getDashboardVersion(userId)))) {
+                return null;
+            }
             DashboardResponse dashboardData = dashboardService.getDashboardData(userId);
-            return ResponseEntity.ok(dashboardData);
+            return ResponseEntity.ok()
+                    .eTag(dashboardETag(dashboardData.getUpdatedAt()))
+                    .cacheControl(ETags.REVALIDATE)
+                    .body(dashboardData);
         } catch (Exception e) {
             log.error("Error fetching dashboard data for user: {}", userId, e);
             return ResponseEntity.internalServerError().build();
@@ -45,15 +60,21 @@ public class DashboardController {
             log.info("Fetching user profile for: {}", userId);
             log.info("Authorization header present: {}", authHeader != null);
             
-            // Check if user exists in student collection first
-            Student student = studentService.getStudentById(userId);
+            // The student and the profile are read concurrently
+            Student student;
+            UserProfile profile;
+            try (FanOutExecutor.Scope scope = fanOutExecutor.open()) {
+                FanOutExecutor.Task<Student> studentTask = scope.fork(() -> studentService.getStudentById(userId));
+                FanOutExecutor.Task<UserProfile> profileTask = scope.fork(() -> profileService.getProfile(userId));
+                scope.join();
+                student = studentTask.get();
+                profile = profileTask.get();
+            }
             if (student == null) {
                 log.warn("Student not found for ID: {}", userId);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
             }
             
-            UserProfile profile = profileService.getProfile(userId);
-            
             if (profile == null) {
                 log.warn("Profile not found for user: {}", userId);
                 Map<String, Object> response = new HashMap<>();
@@ -88,6 +109,13 @@ public class DashboardController {
         }
     }
 
+    // Activity times are shown as "5 minutes ago", so the tag also rolls over every minute.
+    // Truncated to millis: a freshly rebuilt view carries nanos, Mongo stores millis
+    private String dashboardETag(LocalDateTime version) {
+        return ETags.strong("dashboard", version != null ? version.truncatedTo(ChronoUnit.MILLIS).toString() : null,
+                System.currentTimeMillis() / 60_000);
+    }
+
     private boolean isProfileComplete(UserProfile profile) {
         if (profile == null) return false;
         
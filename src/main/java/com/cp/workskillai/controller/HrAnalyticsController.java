@@ -0,0 +1,54 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO;
+import com.cp.workskillai.models.Student;
+import com.cp.workskillai.repository.StudentRepository;
+import com.cp.workskillai.service.HrAnalyticsService;
+import com.cp.workskillai.util.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/hr/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class HrAnalyticsController {
+
+    private final HrAnalyticsService hrAnalyticsService;
+    private final StudentRepository studentRepository;
+
+    /**
+     * Cohort report for the calling HR user's company. The company is the
+     * companyId an administrator assigned to the HR account; the free-text
+     * companyName from signup grants nothing.
+     */
+    @GetMapping("/cohort")
+    public ResponseEntity<ApiResponse<HrCohortAnalyticsDTO>> getCohortAnalytics(
+            @RequestAttribute(value = "userId", required = false) String userId,
+            @RequestAttribute(value = "userRole", required = false) String userRole) {
+        try {
+            if (userId == null || !"hr".equalsIgnoreCase(userRole)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.forbidden("HR access required"));
+            }
+
+            Student hrUser = studentRepository.findById(userId).orElse(null);
+            if (hrUser == null || hrUser.getCompanyId() == null || hrUser.getCompanyId().isBlank()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.forbidden("HR account is not assigned to a company"));
+            }
+
+            HrCohortAnalyticsDTO report = hrAnalyticsService.getCohortAnalytics(hrUser.getCompanyId(),
+                    hrUser.getCompanyName());
+            return ResponseEntity.ok(ApiResponse.success("Cohort analytics generated successfully", report));
+        } catch (Exception e) {
+            log.error("Error generating cohort analytics for HR user: {}", userId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.serverError("Failed to generate cohort analytics"));
+        }
+    }
+}
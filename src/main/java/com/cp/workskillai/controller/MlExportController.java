@@ -0,0 +1,79 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.service.MlFeatureExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Bulk exports for the offline ML jobs. Not a public route: callers need a
+ * JWT whose role is one of ml.export.roles. Signup cannot grant those roles.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/ml/export")
+public class MlExportController {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final String WATERMARK_HEADER = "X-Export-Watermark";
+
+    private final MlFeatureExportService mlFeatureExportService;
+    private final Set<String> allowedRoles;
+    private final Duration timeout;
+
+    public MlExportController(MlFeatureExportService mlFeatureExportService,
+                              @Value("${ml.export.roles:admin,ml}") Set<String> allowedRoles,
+                              @Value("${ml.export.timeout:30m}") Duration timeout) {
+        this.mlFeatureExportService = mlFeatureExportService;
+        this.allowedRoles = allowedRoles;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Every user's ML-ready skill features as NDJSON, one user per line, or
+     * only users whose skills changed after {@code since}. The
+     * X-Export-Watermark header is the {@code since} to pass next time.
+     */
+    @GetMapping("/skills")
+    public ResponseEntity<StreamingResponseBody> exportSkills(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestAttribute(value = "userRole", required = false) String userRole,
+            HttpServletRequest request) {
+        if (userRole == null || !allowedRoles.contains(userRole)) {
+            // Empty body: the streaming return type takes no JSON error payload
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        // A full export outlasts the default async timeout; raise it for this response only
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncRequest != null) {
+            asyncRequest.setTimeout(timeout.toMillis());
+        }
+
+        // Taken before reading, so changes made during the export are picked up by the next one
+        LocalDateTime watermark = LocalDateTime.now();
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            mlFeatureExportService.exportAll(since, buffered);
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(WATERMARK_HEADER, watermark.toString())
+                .body(body);
+    }
+}
@@ -7,8 +7,11 @@ import com.cp.workskillai.models.UserProfile;
 import com.cp.workskillai.service.ProfileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.cp.workskillai.util.ETags;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -24,10 +27,18 @@ public class ProfileController {
     private final ProfileService profileService;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<UserProfile> getProfile(@PathVariable String userId) {
+    public ResponseEntity<UserProfile> getProfile(@PathVariable String userId, WebRequest request) {
         try {
+            // A revalidation is answered from the version alone
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && request.checkNotModified(ETags.strong("profile", profileService.getProfileVersion(userId)))) {
+                return null;
+            }
             UserProfile profile = profileService.getProfile(userId);
-            return ResponseEntity.ok(profile);
+            return ResponseEntity.ok()
+                    .eTag(ETags.strong("profile", profile.getUpdatedAt()))
+                    .cacheControl(ETags.REVALIDATE)
+                    .body(profile);
         } catch (Exception e) {
             log.error("Error fetching profile for user: {}", userId, e);
             return ResponseEntity.notFound().build();
@@ -0,0 +1,82 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.dto.MonthlyProgressDTO;
+import com.cp.workskillai.models.Progress;
+import com.cp.workskillai.service.ProgressService;
+import com.cp.workskillai.util.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/progress")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class ProgressController {
+
+    private final ProgressService progressService;
+
+    /**
+     * Monthly progress between two months (yyyy-MM, inclusive). Defaults to the
+     * last six months.
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<ApiResponse<List<MonthlyProgressDTO>>> getMonthlyProgress(
+            @PathVariable String userId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            YearMonth end = to != null ? YearMonth.parse(to) : YearMonth.now();
+            YearMonth start = from != null ? YearMonth.parse(from) : end.minusMonths(5);
+            List<MonthlyProgressDTO> series = progressService.getMonthlyProgress(userId, start, end);
+            return ResponseEntity.ok(ApiResponse.success("Progress retrieved successfully", series));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Invalid range: " + e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (Exception e) {
+            log.error("Error fetching progress for user: {}", userId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.serverError("Failed to fetch progress"));
+        }
+    }
+
+    /**
+     * Sets the caller's completion of a training. The user is the authenticated
+     * one; a path naming anyone else is refused.
+     */
+    @PutMapping("/{userId}/trainings/{trainingId}")
+    public ResponseEntity<ApiResponse<Progress>> updateTrainingProgress(
+            @PathVariable("userId") String pathUserId,
+            @PathVariable String trainingId,
+            @RequestAttribute(value = "userId", required = false) String userId,
+            @RequestBody Map<String, Integer> request) {
+        try {
+            if (userId == null || !userId.equals(pathUserId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.forbidden("You can only update your own training progress"));
+            }
+            Integer completion = request.get("completionPercentage");
+            if (completion == null) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("completionPercentage is required", HttpStatus.BAD_REQUEST));
+            }
+            Progress progress = progressService.updateTrainingProgress(userId, trainingId, completion);
+            return ResponseEntity.ok(ApiResponse.success("Training progress updated successfully", progress));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (Exception e) {
+            log.error("Error updating training {} for user: {}", trainingId, userId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.serverError("Failed to update training progress"));
+        }
+    }
+}
@@ -39,8 +39,7 @@ public class RecommendationController {
             @RequestParam String courseId,
             @RequestParam String courseTitle) {
         try {
-            // Save enrollment to database (you can create an Enrollment model)
-            log.info("User {} enrolled in course: {}", userId, courseTitle);
+            recommendationService.saveEnrollment(userId, courseId, courseTitle);
             return ResponseEntity.ok(ApiResponse.success("Enrollment saved successfully", null));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
@@ -55,8 +54,7 @@ public class RecommendationController {
             @RequestParam String courseId,
             @RequestParam String courseTitle) {
         try {
-            // Save to saved courses in database
-            log.info("User {} saved course for later: {}", userId, courseTitle);
+            recommendationService.saveCourseForLater(userId, courseId, courseTitle);
             return ResponseEntity.ok(ApiResponse.success("Course saved successfully", null));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
@@ -1,14 +1,18 @@
 // SkillGapAnalysisController.java
 package com.cp.workskillai.controller;
 
+import com.cp.workskillai.dto.CursorPage;
+import com.cp.workskillai.dto.SkillGapAnalysisHistoryDTO;
 import com.cp.workskillai.dto.SkillGapAnalysisRequest;
 import com.cp.workskillai.dto.SkillGapAnalysisResponse;
+import com.cp.workskillai.dto.SkillGapAnalysisSummaryDTO;
 import com.cp.workskillai.service.SkillGapAnalysisService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.security.Principal;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/analyze")
@@ -36,12 +40,12 @@ public class SkillGapAnalysisController {
     @PostMapping("/skill-gap")
     public ResponseEntity<SkillGapAnalysisResponse> analyzeCurrentUserSkillGap(
             @RequestParam String jobRole,
-            Principal principal) {
+            @RequestAttribute(value = "userId", required = false) String currentUserId) {
         
+        if (currentUserId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
         try {
-            // Get current user ID from security context
-            String currentUserId = principal.getName(); // This should be the user ID
-            
             SkillGapAnalysisRequest request = new SkillGapAnalysisRequest();
             request.setUserId(currentUserId);
             request.setJobRole(jobRole);
@@ -53,4 +57,50 @@ public class SkillGapAnalysisController {
             return ResponseEntity.badRequest().body(null);
         }
     }
-}
\ No newline at end of file
+    
+    /** The caller's own analysis history, newest first; /api/analyze/** is public, so the token decides. */
+    @GetMapping("/history/{userId}")
+    public ResponseEntity<CursorPage<SkillGapAnalysisSummaryDTO>> getAnalysisHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestAttribute(value = "userId", required = false) String currentUserId) {
+        HttpStatus denied = checkCaller(userId, currentUserId);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        try {
+            return ResponseEntity.ok(skillGapAnalysisService.getAnalysisHistoryPage(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/history/{userId}/{analysisId}")
+    public ResponseEntity<SkillGapAnalysisHistoryDTO> getAnalysisDetail(
+            @PathVariable String userId,
+            @PathVariable String analysisId,
+            @RequestAttribute(value = "userId", required = false) String currentUserId) {
+        HttpStatus denied = checkCaller(userId, currentUserId);
+        if (denied != null) {
+            return ResponseEntity.status(denied).build();
+        }
+        try {
+            return ResponseEntity.ok(skillGapAnalysisService.getAnalysisDetail(userId, analysisId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /** 401 without a caller, 403 when the caller asks for someone else's analyses, else null. */
+    private static HttpStatus checkCaller(String pathUserId, String currentUserId) {
+        if (currentUserId == null) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        return currentUserId.equals(pathUserId) ? null : HttpStatus.FORBIDDEN;
+    }
+}
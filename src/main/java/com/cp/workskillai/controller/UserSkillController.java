@@ -1,12 +1,22 @@
 package com.cp.workskillai.controller;
 
+import com.cp.workskillai.dto.SkillAnalyticsDTO;
+import com.cp.workskillai.dto.SkillScoreTrendDTO;
 import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.service.MlFeatureExportService;
+import com.cp.workskillai.service.SkillAnalyticsService;
+import com.cp.workskillai.service.SkillScoreHistoryService;
 import com.cp.workskillai.service.UserSkillService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.cp.workskillai.util.ETags;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,12 +29,24 @@ import java.util.Map;
 public class UserSkillController {
     
     private final UserSkillService userSkillService;
+    private final SkillAnalyticsService skillAnalyticsService;
+    private final MlFeatureExportService mlFeatureExportService;
+    private final SkillScoreHistoryService skillScoreHistoryService;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<UserSkill>> getUserSkills(@PathVariable String userId) {
+    public ResponseEntity<List<UserSkill>> getUserSkills(@PathVariable String userId, WebRequest request) {
         try {
+            // A revalidation is answered from the version alone
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && request.checkNotModified(ETags.strong("skills", userSkillService.getSkillsVersion(userId)))) {
+                return null;
+            }
+            // Tagged from the list itself, so the tag always matches the body sent
             List<UserSkill> skills = userSkillService.getUserSkills(userId);
-            return ResponseEntity.ok(skills);
+            return ResponseEntity.ok()
+                    .eTag(ETags.strong("skills", userSkillService.skillsVersionOf(skills)))
+                    .cacheControl(ETags.REVALIDATE)
+                    .body(skills);
         } catch (Exception e) {
             log.error("Error fetching skills for user: {}", userId, e);
             return ResponseEntity.internalServerError().build();
@@ -47,34 +69,44 @@ public class UserSkillController {
     }
     
     @GetMapping("/user/{userId}/analytics")
-    public ResponseEntity<Map<String, Object>> getSkillAnalytics(@PathVariable String userId) {
+    public ResponseEntity<SkillAnalyticsDTO> getSkillAnalytics(@PathVariable String userId) {
         try {
-            List<UserSkill> skills = userSkillService.getUserSkills(userId);
-            
-            Map<String, Object> analytics = new HashMap<>();
-            analytics.put("totalSkills", skills.size());
-            analytics.put("verifiedSkills", skills.stream().filter(UserSkill::getVerified).count());
-            analytics.put("averageProficiency", skills.stream().mapToInt(UserSkill::getProficiency).average().orElse(0));
-            analytics.put("skillDistribution", getSkillDistribution(skills));
-            
-            return ResponseEntity.ok(analytics);
+            return ResponseEntity.ok(skillAnalyticsService.getAnalytics(userId));
         } catch (Exception e) {
             log.error("Error fetching skill analytics for user: {}", userId, e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    /**
+     * Monthly score trends of the user's skills between two months (yyyy-MM,
+     * inclusive), optionally for one skill. Defaults to the last twelve months.
+     */
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<List<SkillScoreTrendDTO>> getSkillHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String skillId) {
+        try {
+            YearMonth end = to != null ? YearMonth.parse(to) : YearMonth.now();
+            YearMonth start = from != null ? YearMonth.parse(from) : end.minusMonths(11);
+            return ResponseEntity.ok(skillScoreHistoryService.getTrends(userId, start, end, skillId));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching skill history for user: {}", userId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     // New endpoint for ML integration
     @GetMapping("/user/{userId}/ml-ready")
     public ResponseEntity<Map<String, Object>> getMLReadySkills(@PathVariable String userId) {
         try {
             List<UserSkill> skills = userSkillService.getUserSkills(userId);
             
-            Map<String, Object> mlData = new HashMap<>();
-            mlData.put("userId", userId);
-            mlData.put("skills", skills.stream().map(this::mapSkillForML).toList());
-            mlData.put("totalVerifiedSkills", skills.stream().filter(UserSkill::getVerified).count());
-            mlData.put("averageConfidence", calculateAverageConfidence(skills));
+            Map<String, Object> mlData = mlFeatureExportService.userFeatures(userId, skills);
             
             return ResponseEntity.ok(mlData);
         } catch (Exception e) {
@@ -82,43 +114,4 @@ public class UserSkillController {
             return ResponseEntity.internalServerError().build();
         }
     }
-    
-    private Map<String, Object> mapSkillForML(UserSkill skill) {
-        Map<String, Object> mlSkill = new HashMap<>();
-        mlSkill.put("name", skill.getName());
-        mlSkill.put("category", skill.getCategory());
-        mlSkill.put("proficiency", skill.getProficiency());
-        mlSkill.put("level", skill.getLevel().toLowerCase());
-        mlSkill.put("verified", skill.getVerified());
-        mlSkill.put("confidence", mapConfidenceLevel(skill.getConfidenceLevel()));
-        mlSkill.put("experience_months", skill.getExperienceMonths());
-        mlSkill.put("last_verified", skill.getLastVerified());
-        return mlSkill;
-    }
-    
-    private double mapConfidenceLevel(String confidenceLevel) {
-        if (confidenceLevel == null) return 0.5;
-        return switch (confidenceLevel.toLowerCase()) {
-            case "high" -> 0.9;
-            case "medium" -> 0.7;
-            case "low" -> 0.3;
-            default -> 0.5;
-        };
-    }
-    
-    private double calculateAverageConfidence(List<UserSkill> skills) {
-        return skills.stream()
-            .mapToDouble(skill -> mapConfidenceLevel(skill.getConfidenceLevel()))
-            .average()
-            .orElse(0.5);
-    }
-    
-    private Map<String, Long> getSkillDistribution(List<UserSkill> skills) {
-        Map<String, Long> distribution = new HashMap<>();
-        distribution.put("verified", skills.stream().filter(s -> "verified".equals(s.getStatus())).count());
-        distribution.put("pending", skills.stream().filter(s -> "pending".equals(s.getStatus())).count());
-        distribution.put("unverified", skills.stream().filter(s -> "unverified".equals(s.getStatus())).count());
-        distribution.put("needs_improvement", skills.stream().filter(s -> "needs_improvement".equals(s.getStatus())).count());
-        return distribution;
-    }
 }
\ No newline at end of file
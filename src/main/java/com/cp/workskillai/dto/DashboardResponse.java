@@ -1,10 +1,12 @@
 package com.cp.workskillai.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,4 +20,8 @@ public class DashboardResponse {
     private List<Map<String, Object>> progress;
     private List<Map<String, Object>> roleMatches;
     private List<Map<String, Object>> recentActivities;
+
+    // Version of the view this was served from; sent as the ETag, not in the body
+    @JsonIgnore
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.cp.workskillai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HrCohortAnalyticsDTO {
+    private String companyName;
+    private Integer employeeCount;
+    private List<MissingSkillStat> topMissingSkills;
+    private List<RoleMatchStat> matchScoreByRole;
+    private List<SkillProficiencyStat> proficiencyBySkill;
+    private LocalDateTime generatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MissingSkillStat {
+        private String skill;
+        private Integer employees;
+        private Double averageImportance;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoleMatchStat {
+        private String jobRole;
+        private Integer employees;
+        private Double averageMatchScore;
+    }
+
+    // Employee counts per proficiency band (0-24, 25-49, 50-74, 75-100)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkillProficiencyStat {
+        private String skill;
+        private Integer employees;
+        private Double averageProficiency;
+        private Integer beginner;
+        private Integer intermediate;
+        private Integer advanced;
+        private Integer expert;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cp.workskillai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One month of a user's progress series. Months without activity are
+ * included with zero counts and no average score.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyProgressDTO {
+    private String month; // yyyy-MM
+    private int examsTaken;
+    private Double averageExamScore;
+    private int skillsVerified;
+    private int trainingsCompleted;
+}
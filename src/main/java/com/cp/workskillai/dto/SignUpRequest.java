@@ -28,10 +28,12 @@ public class SignUpRequest {
     @NotNull(message = "Date of birth is required")
     private LocalDate dob;
 
+    // Other roles (admin, ml) are only ever assigned in the database
     @NotBlank(message = "Role is required")
-    private String role; // "employee" or "hr"
+    @Pattern(regexp = "employee|hr", message = "Role must be employee or hr")
+    private String role;
 
-    private String companyName; // Only for HR role
+    private String companyName; // Only for HR role; display only, cohorts go by Student.companyId
     private String currentJobRole; // Only for employee role
 
     @NotNull(message = "Years of experience is required")
@@ -0,0 +1,33 @@
+package com.cp.workskillai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAnalyticsDTO {
+    private Integer totalSkills;
+    private Long verifiedSkills;
+    private Double averageProficiency;
+    private Double averageConfidence;
+    private Map<String, Long> skillDistribution; // by status: verified, pending, unverified, needs_improvement
+    private Map<String, Long> levelDistribution; // by level, lower-cased: expert ... pending
+    private List<CategoryStat> categoryBreakdown; // most skills first
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryStat {
+        private String category;
+        private Integer skills;
+        private Integer verified;
+        private Double averageProficiency;
+    }
+}
@@ -0,0 +1,17 @@
+// SkillGapAnalysisSummaryDTO.java
+package com.cp.workskillai.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight history row: everything the history list shows, none of the skill arrays.
+ */
+@Data
+public class SkillGapAnalysisSummaryDTO {
+    private String id;
+    private String jobRole;
+    private Double matchScore;
+    private Boolean isCurrentRole;
+    private LocalDateTime analyzedAt;
+}
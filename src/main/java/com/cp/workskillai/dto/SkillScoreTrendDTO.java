@@ -0,0 +1,37 @@
+package com.cp.workskillai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Score history of one skill, one point per month with attempts (months
+ * without attempts are left out). {@code change} is the latest score in the
+ * range minus the earliest one, so a skill scored once in the range has a
+ * change of 0.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkillScoreTrendDTO {
+    private String skillId;
+    private String skill;
+    private List<MonthPoint> points;
+    private Integer change;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MonthPoint {
+        private String month; // yyyy-MM
+        private int attempts;
+        private Double averageScore;
+        private Integer bestScore;
+        private Integer lastScore;
+    }
+}
@@ -0,0 +1,7 @@
+package com.cp.workskillai.events;
+
+/**
+ * Published after a resume has been deleted, by the user or by the resume limit.
+ */
+public record ResumeDeletedEvent(String userId, String resumeId) {
+}
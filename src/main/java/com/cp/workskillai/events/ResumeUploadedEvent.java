@@ -0,0 +1,9 @@
+package com.cp.workskillai.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after an uploaded resume has been stored and analyzed.
+ */
+public record ResumeUploadedEvent(String userId, String resumeId, String fileName, LocalDateTime uploadedAt) {
+}
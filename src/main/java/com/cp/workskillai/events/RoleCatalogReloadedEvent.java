@@ -0,0 +1,10 @@
+package com.cp.workskillai.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a new role catalog has been swapped in, including the
+ * first load at startup.
+ */
+public record RoleCatalogReloadedEvent(int roles, LocalDateTime reloadedAt) {
+}
@@ -0,0 +1,10 @@
+package com.cp.workskillai.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a new skill-gap analysis has been stored.
+ */
+public record SkillGapAnalysisCompletedEvent(String userId, String analysisId, String jobRole,
+                                             Double matchScore, LocalDateTime analyzedAt) {
+}
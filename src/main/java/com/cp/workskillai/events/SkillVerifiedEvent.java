@@ -0,0 +1,10 @@
+package com.cp.workskillai.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a skill assessment result has been recorded.
+ */
+public record SkillVerifiedEvent(String userId, String skillId, String skillName, Integer score,
+                                 boolean verified, LocalDateTime verifiedAt) {
+}
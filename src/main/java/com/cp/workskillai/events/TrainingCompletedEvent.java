@@ -0,0 +1,9 @@
+package com.cp.workskillai.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a training first reaches 100% completion for a user.
+ */
+public record TrainingCompletedEvent(String userId, String trainingId, LocalDateTime completedAt) {
+}
@@ -0,0 +1,7 @@
+package com.cp.workskillai.events;
+
+/**
+ * Published after a user's profile has been created or saved.
+ */
+public record UserProfileUpdatedEvent(String userId) {
+}
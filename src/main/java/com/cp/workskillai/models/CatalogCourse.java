@@ -0,0 +1,47 @@
+package com.cp.workskillai.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * A course of the local catalog, loaded from a classpath resource or from the
+ * course_catalog collection. Skill weights (0..1) say how much of the course
+ * covers each skill.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "course_catalog")
+public class CatalogCourse {
+    @Id
+    private String id;
+
+    private String title;
+    private String platform;
+    private String instructor;
+    private String description;
+    private String url;
+
+    private Double durationHours;
+    private String difficulty;
+    private Double rating;
+    private Integer studentCount;
+    private String price;
+    private String originalPrice;
+
+    private List<String> features;
+    private String platformIcon;
+    private List<SkillWeight> skills;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkillWeight {
+        private String name;
+        private Double weight;
+    }
+}
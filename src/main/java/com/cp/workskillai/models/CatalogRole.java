@@ -0,0 +1,34 @@
+package com.cp.workskillai.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * A job role of the role catalog, loaded from a classpath resource or from
+ * the role_catalog collection. Skill weights are tiers: 3 essential,
+ * 2 important, 1 nice to have.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "role_catalog")
+public class CatalogRole {
+    @Id
+    private String id;
+
+    private String name;
+    private String category;
+    private List<RoleSkill> skills;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoleSkill {
+        private String name;
+        private Integer weight;
+    }
+}
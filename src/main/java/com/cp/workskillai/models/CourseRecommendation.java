@@ -12,10 +12,14 @@ import java.util.List;
 @Builder
 @Document(collection = "course_recommendations")
 public class CourseRecommendation {
+    // "<analysisId>:<courseId>" for generated recommendations, so regeneration is idempotent
     @Id
     private String id;
     
     private String userId;
+    private String analysisId;
+    private String courseId;
+    private Integer rank;
     private String skillId;
     private String skillName;
     
@@ -37,5 +41,10 @@ public class CourseRecommendation {
     private String platformIcon;
     private Double relevanceScore;
     
+    private Boolean enrolled;
+    private LocalDateTime enrolledAt;
+    private Boolean savedForLater;
+    private LocalDateTime savedAt;
+    
     private LocalDateTime createdAt;
 }
\ No newline at end of file
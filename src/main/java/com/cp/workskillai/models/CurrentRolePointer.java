@@ -0,0 +1,36 @@
+package com.cp.workskillai.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * One document per user naming the analysis that is their current role. It is
+ * the authoritative answer to "what is this user's current role"; the
+ * is_current_role flag on skill_gap_analyses is kept in line with it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "current_role_pointers")
+public class CurrentRolePointer {
+
+    @Id
+    private String userId;
+
+    @Field("analysis_id")
+    private String analysisId;
+
+    @Field("job_role")
+    private String jobRole;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,50 @@
+package com.cp.workskillai.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed dashboard of one user, keyed by user id. Profile-derived
+ * sections are rewritten whenever the profile changes; activities are
+ * appended by domain events and capped, newest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "dashboard_view")
+public class DashboardView {
+
+    @Id
+    private String userId;
+
+    private Map<String, Object> stats;
+    private List<Map<String, Object>> skills;
+    private List<Map<String, Object>> progress;
+    private List<Map<String, Object>> roleMatches;
+
+    private Integer skillCount;
+    private LocalDateTime profileUpdatedAt;
+    private List<Activity> activities;
+
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Activity {
+        private String action;
+        private String detail;
+        private String icon;
+        private String type;
+        // Id of the resume, analysis or skill the activity is about
+        private String refId;
+        private LocalDateTime at;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cp.workskillai.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Pre-aggregated learning progress of one user in one calendar month.
+ * Counters are only ever incremented, so a chart over N months reads N
+ * documents however many exams or trainings happened. The id is
+ * "userId:yyyy-MM", which makes upserts race-free and lets a range of
+ * months be read straight off the _id index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "progress_buckets")
+public class ProgressBucket {
+
+    @Id
+    private String id;
+
+    private String userId;
+    private String month; // yyyy-MM
+
+    private int examsTaken;
+    private long examScoreTotal;
+    private int skillsVerified;
+    private int trainingsCompleted;
+
+    private LocalDateTime updatedAt;
+
+    public static String idOf(String userId, YearMonth month) {
+        return userId + ":" + month;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cp.workskillai.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Attempts counted against one auth rate-limit key in one fixed window,
+ * shared by every node when auth.rate-limit.store=mongo. The id is
+ * "key:windowIndex"; documents are dropped by a TTL index once expireAt,
+ * the end of the following window, has passed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "auth_rate_limits")
+public class RateLimitWindow {
+
+    @Id
+    private String id;
+
+    private int count;
+
+    private Date expireAt;
+
+    public static String idOf(String key, long windowIndex) {
+        return key + ":" + windowIndex;
+    }
+}
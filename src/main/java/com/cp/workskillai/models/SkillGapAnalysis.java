@@ -1,6 +1,8 @@
 // SkillGapAnalysis.java (MongoDB Document)
 package com.cp.workskillai.models;
 
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.dto.UserSkillAnalysis;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -25,17 +27,19 @@ public class SkillGapAnalysis {
     @Field("match_score")
     private Double matchScore;
     
+    // Skill entries are embedded as typed subdocuments; their keys match the
+    // legacy map layout, so documents written before the change still read back.
     @Field("required_skills")
-    private List<Map<String, Object>> requiredSkills;
+    private List<SkillAnalysis> requiredSkills;
     
     @Field("current_skills")
-    private List<Map<String, Object>> currentSkills;
+    private List<UserSkillAnalysis> currentSkills;
     
     @Field("missing_skills")
-    private List<Map<String, Object>> missingSkills;
+    private List<SkillAnalysis> missingSkills;
     
     @Field("partial_match_skills")
-    private List<Map<String, Object>> partialMatchSkills;
+    private List<SkillAnalysis> partialMatchSkills;
     
     @Field("gap_analysis")
     private Map<String, Object> gapAnalysis;
@@ -53,4 +57,15 @@ public class SkillGapAnalysis {
     
     @Field("analyzed_at")
     private LocalDateTime analyzedAt;
+    
+    // Course recommendations generated for this analysis; the courses themselves
+    // live in course_recommendations keyed by analysis id
+    @Field("learning_pathway")
+    private List<LearningPathStep> learningPathway;
+    
+    @Field("recommendation_insights")
+    private List<String> recommendationInsights;
+    
+    @Field("recommendations_generated_at")
+    private LocalDateTime recommendationsGeneratedAt;
 }
\ No newline at end of file
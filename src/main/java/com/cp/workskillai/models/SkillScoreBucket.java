@@ -0,0 +1,62 @@
+package com.cp.workskillai.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skill score events of one user in one calendar month, appended with $push.
+ * A bucket holds at most SkillScoreHistoryService.MAX_EVENTS_PER_BUCKET
+ * events; a busier month continues in another bucket. Next to the raw events
+ * each bucket keeps running per-skill totals, keyed by skill id, so trends are
+ * read from the totals without touching the events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "skill_score_history")
+public class SkillScoreBucket {
+
+    @Id
+    private String id;
+
+    private String userId;
+    private String month; // yyyy-MM
+
+    private int count;
+    private List<ScoreEvent> events;
+    private Map<String, SkillTotals> skills;
+
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ScoreEvent {
+        private String skillId;
+        private Integer score;
+        private String status;
+        private LocalDateTime at;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SkillTotals {
+        private String name;
+        private int attempts;
+        private long scoreTotal;
+        private Integer best;
+        private Integer first;
+        private LocalDateTime firstAt;
+        private Integer last;
+        private LocalDateTime lastAt;
+    }
+}
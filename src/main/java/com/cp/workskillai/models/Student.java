@@ -40,7 +40,8 @@ public class Student {
     private String role; // "employee" or "hr"
 
     // Professional Information
-    private String companyName; // Only for HR role
+    private String companyName; // Only for HR role; free text from signup, display only
+    private String companyId; // Assigned by an administrator, never from a request; places HR users and employees in one cohort
     private String currentJobRole; // Only for employee role
     private Integer yearsOfExperience;
 
@@ -24,6 +24,7 @@ public class UserSkill {
     
     @NotBlank(message = "Skill name is required")
     private String name;
+    private String normalizedName; // SkillNames.normalize(name), unique per user
     
     private String category;
     private Integer proficiency; // 0-100
@@ -32,6 +33,7 @@ public class UserSkill {
     private Integer score; // Exam score 0-100
     private Boolean verified;
     private LocalDateTime lastVerified;
+    private LocalDateTime firstVerifiedAt; // first passing exam; retakes leave it alone
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -44,4 +46,9 @@ public class UserSkill {
     private Integer experienceMonths;
     private List<String> projects;
     private String confidenceLevel; // low, medium, high
+
+    // Profile sync bookkeeping: skills it created carry source "profile" and are
+    // deactivated rather than deleted when they leave the profile; null counts as active
+    private String source;
+    private Boolean active;
 }
\ No newline at end of file
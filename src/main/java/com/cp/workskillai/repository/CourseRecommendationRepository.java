@@ -0,0 +1,20 @@
+package com.cp.workskillai.repository;
+
+import com.cp.workskillai.models.CourseRecommendation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseRecommendationRepository extends MongoRepository<CourseRecommendation, String> {
+
+    // Served by the user_analysis_rank_idx index
+    List<CourseRecommendation> findByUserIdAndAnalysisIdOrderByRankAsc(String userId, String analysisId);
+
+    // Enrollment and saved-for-later state, carried over when recommendations are regenerated
+    @Query(value = "{ 'userId': ?0, $or: [ { 'enrolled': true }, { 'savedForLater': true } ] }",
+           fields = "{ 'courseId': 1, 'enrolled': 1, 'enrolledAt': 1, 'savedForLater': 1, 'savedAt': 1 }")
+    List<CourseRecommendation> findCourseStateByUserId(String userId);
+}
@@ -0,0 +1,9 @@
+package com.cp.workskillai.repository;
+
+import com.cp.workskillai.models.CurrentRolePointer;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CurrentRolePointerRepository extends MongoRepository<CurrentRolePointer, String> {
+}
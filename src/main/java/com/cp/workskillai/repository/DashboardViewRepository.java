@@ -0,0 +1,14 @@
+package com.cp.workskillai.repository;
+
+import com.cp.workskillai.models.DashboardView;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Optional;
+
+public interface DashboardViewRepository extends MongoRepository<DashboardView, String> {
+
+    // Just the version, for answering conditional GETs
+    @Query(value = "{'_id': ?0}", fields = "{'updatedAt': 1}")
+    Optional<DashboardView> findVersionById(String userId);
+}
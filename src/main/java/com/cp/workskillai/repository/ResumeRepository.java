@@ -17,4 +17,8 @@ public interface ResumeRepository extends MongoRepository<ResumeDocument, String
     
     @Query(value = "{'userId': ?0}", sort = "{'uploadDate': -1}")
     List<ResumeDocument> findRecentResumesByUserId(String userId);
+    
+    // Upload metadata only; leaves the file bytes and extracted text in the database
+    @Query(value = "{'userId': ?0}", fields = "{'originalFileName': 1, 'uploadDate': 1}", sort = "{'uploadDate': -1}")
+    List<ResumeDocument> findUploadSummariesByUserId(String userId);
 }
\ No newline at end of file
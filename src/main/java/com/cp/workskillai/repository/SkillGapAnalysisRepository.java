@@ -1,12 +1,16 @@
 // SkillGapAnalysisRepository.java
 package com.cp.workskillai.repository;
 
+import com.cp.workskillai.dto.SkillGapAnalysisHistoryDTO;
+import com.cp.workskillai.dto.SkillGapAnalysisSummaryDTO;
 import com.cp.workskillai.models.SkillGapAnalysis;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
-import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,14 +19,14 @@ public interface SkillGapAnalysisRepository extends MongoRepository<SkillGapAnal
     
     List<SkillGapAnalysis> findByUserIdOrderByAnalyzedAtDesc(String userId);
     
+    // Full detail for a single analysis, scoped to its owner
+    Optional<SkillGapAnalysisHistoryDTO> findHistoryByIdAndUserId(String id, String userId);
+    
     Optional<SkillGapAnalysis> findByUserIdAndIsCurrentRoleTrue(String userId);
     
     List<SkillGapAnalysis> findByUserIdAndJobRoleOrderByAnalyzedAtDesc(String userId, String jobRole);
     
-    @Query("{ 'user_id': ?0 }")
-    @Update("{ '$set': { 'is_current_role': false } }")
-    void clearCurrentRoleFlag(String userId);
-    
+    // Served by the partial user_current_role_idx index
     @Query("{ 'user_id': ?0, 'is_current_role': true }")
     Optional<SkillGapAnalysis> findCurrentRoleAnalysis(String userId);
     
@@ -57,29 +61,39 @@ public interface SkillGapAnalysisRepository extends MongoRepository<SkillGapAnal
     List<SkillGapAnalysis> findByUserIdIn(List<String> userIds);
     
     // Custom query to find analyses with specific skills in missing skills
-    @Query("{ 'userId': ?0, 'missingSkills': { $elemMatch: { 'name': ?1 } } }")
+    @Query("{ 'user_id': ?0, 'missing_skills': { $elemMatch: { 'name': ?1 } } }")
     List<SkillGapAnalysis> findByUserIdAndMissingSkillName(String userId, String skillName);
     
     // Custom query to find analyses with high importance missing skills
-    @Query("{ 'userId': ?0, 'missingSkills': { $elemMatch: { 'importance': { $gt: ?1 } } } }")
+    @Query("{ 'user_id': ?0, 'missing_skills': { $elemMatch: { 'importance': { $gt: ?1 } } } }")
     List<SkillGapAnalysis> findByUserIdAndHighImportanceMissingSkills(String userId, Double minImportance);
     
     // Custom query to get analysis history with pagination
-    @Query(value = "{ 'userId': ?0 }", sort = "{ 'analyzedAt': -1 }")
+    @Query(value = "{ 'user_id': ?0 }", sort = "{ 'analyzed_at': -1 }")
     List<SkillGapAnalysis> findAnalysisHistoryByUserId(String userId);
     
     // Check if user has any analysis
     Boolean existsByUserId(String userId);
     
     // Find analyses by job role pattern (case-insensitive)
-    @Query("{ 'userId': ?0, 'jobRole': { $regex: ?1, $options: 'i' } }")
+    @Query("{ 'user_id': ?0, 'job_role': { $regex: ?1, $options: 'i' } }")
     List<SkillGapAnalysis> findByUserIdAndJobRoleLike(String userId, String jobRolePattern);
     
     // Get distinct job roles analyzed for a user
-    @Query(value = "{ 'userId': ?0 }", fields = "{ 'jobRole': 1 }")
+    @Query(value = "{ 'user_id': ?0 }", fields = "{ 'job_role': 1 }")
     List<SkillGapAnalysis> findDistinctJobRolesByUserId(String userId);
     
-    // Custom projection to get only analysis metadata (without heavy skill arrays)
-    @Query(value = "{ 'userId': ?0 }", fields = "{ 'jobRole': 1, 'matchScore': 1, 'analyzedAt': 1, 'isCurrentRole': 1 }")
-    List<SkillGapAnalysis> findAnalysisMetadataByUserId(String userId);
+    // Custom projection to get only analysis metadata (without heavy skill arrays).
+    // Sort matches the user_analyzed_at_idx index so pages never sort in memory.
+    @Query(value = "{ 'user_id': ?0 }",
+           fields = "{ 'job_role': 1, 'match_score': 1, 'analyzed_at': 1, 'is_current_role': 1 }",
+           sort = "{ 'analyzed_at': -1, '_id': -1 }")
+    List<SkillGapAnalysisSummaryDTO> findAnalysisMetadataByUserId(String userId, Pageable pageable);
+    
+    // Next metadata page: rows strictly after the (analyzed_at, _id) of the previous page's last row
+    @Query(value = "{ 'user_id': ?0, '$or': [ { 'analyzed_at': { '$lt': ?1 } }, { 'analyzed_at': ?1, '_id': { '$lt': ?2 } } ] }",
+           fields = "{ 'job_role': 1, 'match_score': 1, 'analyzed_at': 1, 'is_current_role': 1 }",
+           sort = "{ 'analyzed_at': -1, '_id': -1 }")
+    List<SkillGapAnalysisSummaryDTO> findAnalysisMetadataByUserIdAfter(String userId, LocalDateTime analyzedAt,
+                                                                       ObjectId lastId, Pageable pageable);
 }
\ No newline at end of file
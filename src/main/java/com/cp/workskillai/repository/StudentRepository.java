@@ -3,8 +3,10 @@ package com.cp.workskillai.repository;
 import com.cp.workskillai.models.Student;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +22,13 @@ public interface StudentRepository extends MongoRepository<Student, String> {
     Optional<Student> findByVerificationToken(String verificationToken);
     
     Optional<Student> findByResetPasswordToken(String resetPasswordToken);
+    
+    // Ids only, for building HR cohorts; served by the company_id_role_idx index
+    @Query(value = "{ 'companyId': ?0, 'role': ?1 }", fields = "{ '_id': 1 }")
+    List<Student> findIdsByCompanyIdAndRole(String companyId, String role);
+
+    // Replaces only the hash, leaving the rest of the document untouched
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$set': { 'password': ?1 } }")
+    void updatePassword(String id, String password);
 }
\ No newline at end of file
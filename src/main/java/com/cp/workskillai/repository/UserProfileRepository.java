@@ -12,4 +12,8 @@ public interface UserProfileRepository extends MongoRepository<UserProfile, Stri
     
     @Query("{'userId': ?0}")
     Optional<UserProfile> findProfileByUserId(String userId);
+
+    // Just the version, for answering conditional GETs
+    @Query(value = "{'userId': ?0}", fields = "{'updatedAt': 1}")
+    Optional<UserProfile> findVersionByUserId(String userId);
 }
\ No newline at end of file
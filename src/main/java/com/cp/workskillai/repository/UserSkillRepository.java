@@ -3,11 +3,14 @@ package com.cp.workskillai.repository;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import com.cp.workskillai.models.UserSkill;
 
 public interface UserSkillRepository extends MongoRepository<UserSkill, String>{
+	// Skills deactivated by the profile sync are kept for history but not listed
+	@Query("{ 'userId': ?0, 'active': { $ne: false } }")
 	List<UserSkill> findByUserId(String userId);
+	@Query("{ 'userId': ?0, 'verified': ?1, 'active': { $ne: false } }")
 	List<UserSkill> findByUserIdAndVerified(String userId, Boolean verified);
-    boolean existsByUserIdAndName(String userId, String name);
 }
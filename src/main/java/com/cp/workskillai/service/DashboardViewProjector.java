@@ -0,0 +1,554 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.FanOutExecutor;
+import com.cp.workskillai.dto.MonthlyProgressDTO;
+import com.cp.workskillai.dto.SkillGapAnalysisSummaryDTO;
+import com.cp.workskillai.events.*;
+import com.cp.workskillai.models.*;
+import com.cp.workskillai.repository.*;
+import com.cp.workskillai.service.catalog.RoleCatalogService;
+import com.cp.workskillai.service.catalog.RoleFitEngine;
+import com.cp.workskillai.util.SkillNames;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the dashboard_view read model in step with the domain. Each event
+ * rewrites only what it affects: profile changes recompute the profile-derived
+ * sections, everything else appends an activity. An event for a user without
+ * a view rebuilds the whole view from the source collections instead.
+ *
+ * <p>Handlers run on the async executor, so events of one user may be picked
+ * up concurrently. Every write for a user happens under that user's stripe
+ * lock and reads its sources inside it, so whichever handler writes last also
+ * read last and a slow handler can never overwrite newer sections.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardViewProjector {
+
+    // Activities kept per view; the dashboard shows the newest few
+    private static final int MAX_ACTIVITIES = 20;
+    // Months shown on the progress chart, the current one included
+    private static final int PROGRESS_MONTHS = 6;
+    private static final int ROLE_MATCH_LIMIT = 4;
+    private static final int LOCK_STRIPES = 64;
+
+    private final DashboardViewRepository dashboardViewRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final StudentRepository studentRepository;
+    private final ResumeRepository resumeRepository;
+    private final SkillGapAnalysisRepository skillGapAnalysisRepository;
+    private final UserSkillRepository userSkillRepository;
+    private final MongoTemplate mongoTemplate;
+    private final FanOutExecutor fanOutExecutor;
+    private final ProgressService progressService;
+    private final RoleCatalogService roleCatalogService;
+
+    @Value("${dashboard.view.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private final ReentrantLock[] userLocks = Stream.generate(ReentrantLock::new)
+            .limit(LOCK_STRIPES).toArray(ReentrantLock[]::new);
+
+    @Async
+    @EventListener
+    public void onProfileUpdated(UserProfileUpdatedEvent event) {
+        handle(event.userId(), () -> {
+            UserProfile profile = userProfileRepository.findByUserId(event.userId()).orElse(null);
+            Student student = studentRepository.findById(event.userId()).orElse(null);
+            if (profile == null || student == null) {
+                return true;
+            }
+            DashboardView sections = profileSections(profile, student,
+                    userSkillRepository.findByUserId(event.userId()), recentProgress(event.userId()));
+            return update(event.userId(), new Update()
+                    .set("stats", sections.getStats())
+                    .set("skills", sections.getSkills())
+                    .set("progress", sections.getProgress())
+                    .set("roleMatches", sections.getRoleMatches())
+                    .set("skillCount", sections.getSkillCount())
+                    .set("profileUpdatedAt", sections.getProfileUpdatedAt()));
+        });
+    }
+
+    @Async
+    @EventListener
+    public void onResumeUploaded(ResumeUploadedEvent event) {
+        handle(event.userId(), () -> pushActivity(event.userId(),
+                resumeActivity(event.resumeId(), event.fileName(), event.uploadedAt())));
+    }
+
+    @Async
+    @EventListener
+    public void onResumeDeleted(ResumeDeletedEvent event) {
+        handle(event.userId(), () -> update(event.userId(), new Update()
+                .pull("activities", Query.query(Criteria.where("refId").is(event.resumeId())).getQueryObject())));
+    }
+
+    @Async
+    @EventListener
+    public void onSkillVerified(SkillVerifiedEvent event) {
+        handle(event.userId(), () -> {
+            // The new score changes the skill levels, pending skills and this month's progress as well
+            List<UserSkill> userSkills = userSkillRepository.findByUserId(event.userId());
+            List<MonthlyProgressDTO> progress = recentProgress(event.userId());
+            Update update = activityUpdate(skillActivity(
+                    event.skillId(), event.skillName(), event.score(), event.verified(), event.verifiedAt()))
+                    .set("progress", prepareProgressData(progress))
+                    .set("stats.pendingSkills", pendingSkillsStat(userSkills, progress));
+            userProfileRepository.findByUserId(event.userId()).ifPresent(profile -> update.set("skills",
+                    prepareSkillsData(profile, userSkills)));
+            return update(event.userId(), update);
+        });
+    }
+
+    @Async
+    @EventListener
+    public void onTrainingCompleted(TrainingCompletedEvent event) {
+        handle(event.userId(), () -> {
+            List<MonthlyProgressDTO> progress = recentProgress(event.userId());
+            Update update = activityUpdate(DashboardView.Activity.builder()
+                    .action("Completed training").detail(event.trainingId()).icon("Code").type("success")
+                    .refId(event.trainingId()).at(event.completedAt())
+                    .build())
+                    .set("progress", prepareProgressData(progress));
+            studentRepository.findById(event.userId()).ifPresent(student ->
+                    update.set("stats.completedTrainings", completedTrainingsStat(student, progress)));
+            return update(event.userId(), update);
+        });
+    }
+
+    @Async
+    @EventListener
+    public void onAnalysisCompleted(SkillGapAnalysisCompletedEvent event) {
+        handle(event.userId(), () -> pushActivity(event.userId(), analysisActivity(
+                event.analysisId(), event.jobRole(), event.matchScore(), event.analyzedAt())));
+    }
+
+    /**
+     * Re-scores the role sections of every existing view against the new
+     * catalog. Views are refreshed one user at a time under the user's lock;
+     * users without a view are left to the backfill.
+     */
+    @Async
+    @EventListener
+    public void onRoleCatalogReloaded(RoleCatalogReloadedEvent event) {
+        int refreshed = 0;
+        try {
+            Query views = new Query();
+            views.fields().include("_id");
+            try (Stream<DashboardView> stream = mongoTemplate.stream(views, DashboardView.class)) {
+                for (Iterator<DashboardView> it = stream.iterator(); it.hasNext(); ) {
+                    if (refreshRoleSections(it.next().getUserId())) {
+                        refreshed++;
+                    }
+                }
+            }
+            log.info("Refreshed role sections of {} dashboard views for a catalog of {} roles", refreshed, event.roles());
+        } catch (Exception e) {
+            log.error("Refreshing dashboard role sections failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean refreshRoleSections(String userId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
+            return profile != null && update(userId, new Update()
+                    .set("stats.rolesFit", rolesFitStat(calculateRolesFit(profile)))
+                    .set("roleMatches", prepareRoleMatchData(profile)));
+        } catch (Exception e) {
+            log.warn("Could not refresh role sections for user {}: {}", userId, e.getMessage());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            Thread.ofVirtual().name("dashboard-view-backfill").start(this::backfillMissingViews);
+        }
+    }
+
+    /**
+     * Builds views for every profile that has none yet, e.g. users that
+     * predate the read model. Existing views are left alone.
+     */
+    public int backfillMissingViews() {
+        int built = 0;
+        try {
+            Query profiles = new Query();
+            profiles.fields().include("userId");
+            try (Stream<UserProfile> stream = mongoTemplate.stream(profiles, UserProfile.class)) {
+                for (Iterator<UserProfile> it = stream.iterator(); it.hasNext(); ) {
+                    String userId = it.next().getUserId();
+                    if (userId != null && !dashboardViewRepository.existsById(userId)) {
+                        try {
+                            rebuild(userId);
+                            built++;
+                        } catch (Exception e) {
+                            log.warn("Could not build dashboard view for user {}: {}", userId, e.getMessage());
+                        }
+                    }
+                }
+            }
+            log.info("Dashboard view backfill built {} views", built);
+        } catch (Exception e) {
+            log.error("Dashboard view backfill failed: {}", e.getMessage(), e);
+        }
+        return built;
+    }
+
+    /**
+     * Recomputes the user's view from the source collections and replaces it.
+     * Resume file contents are never loaded.
+     */
+    public DashboardView rebuild(String userId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            return rebuildLocked(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private DashboardView rebuildLocked(String userId) {
+        UserProfile profile;
+        Student student;
+        List<ResumeDocument> resumes;
+        List<SkillGapAnalysisSummaryDTO> analyses;
+        List<UserSkill> skills;
+        List<MonthlyProgressDTO> progress;
+        // The source reads are independent, so they run side by side
+        try (FanOutExecutor.Scope scope = fanOutExecutor.open()) {
+            FanOutExecutor.Task<Optional<UserProfile>> profileTask =
+                    scope.fork(() -> userProfileRepository.findByUserId(userId));
+            FanOutExecutor.Task<Optional<Student>> studentTask =
+                    scope.fork(() -> studentRepository.findById(userId));
+            FanOutExecutor.Task<List<ResumeDocument>> resumesTask =
+                    scope.fork(() -> resumeRepository.findUploadSummariesByUserId(userId));
+            FanOutExecutor.Task<List<SkillGapAnalysisSummaryDTO>> analysesTask =
+                    scope.fork(() -> skillGapAnalysisRepository
+                            .findAnalysisMetadataByUserId(userId, PageRequest.of(0, MAX_ACTIVITIES)));
+            FanOutExecutor.Task<List<UserSkill>> skillsTask =
+                    scope.fork(() -> userSkillRepository.findByUserId(userId));
+            FanOutExecutor.Task<List<MonthlyProgressDTO>> progressTask =
+                    scope.fork(() -> recentProgress(userId));
+            scope.join();
+
+            profile = profileTask.get()
+                    .orElseThrow(() -> new RuntimeException("User profile not found for user: " + userId));
+            student = studentTask.get()
+                    .orElseThrow(() -> new RuntimeException("Student not found: " + userId));
+            resumes = resumesTask.get();
+            analyses = analysesTask.get();
+            skills = skillsTask.get();
+            progress = progressTask.get();
+        }
+
+        List<DashboardView.Activity> activities = new ArrayList<>();
+        for (ResumeDocument resume : resumes) {
+            activities.add(resumeActivity(resume.getId(), resume.getOriginalFileName(), resume.getUploadDate()));
+        }
+        for (SkillGapAnalysisSummaryDTO analysis : analyses) {
+            activities.add(analysisActivity(analysis.getId(), analysis.getJobRole(),
+                    analysis.getMatchScore(), analysis.getAnalyzedAt()));
+        }
+        for (UserSkill skill : skills) {
+            if (skill.getLastVerified() != null) {
+                activities.add(skillActivity(skill.getId(), skill.getName(), skill.getScore(),
+                        Boolean.TRUE.equals(skill.getVerified()), skill.getLastVerified()));
+            }
+        }
+        activities.sort(Comparator.comparing(DashboardView.Activity::getAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        DashboardView view = profileSections(profile, student, skills, progress);
+        view.setUserId(userId);
+        view.setActivities(new ArrayList<>(activities.subList(0, Math.min(MAX_ACTIVITIES, activities.size()))));
+        view.setUpdatedAt(LocalDateTime.now());
+        return dashboardViewRepository.save(view);
+    }
+
+    // Runs an incremental update; rebuilds when the user has no view yet
+    private void handle(String userId, BooleanSupplier incrementalUpdate) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            if (!incrementalUpdate.getAsBoolean()) {
+                rebuildLocked(userId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to update dashboard view for user {}: {}", userId, e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String userId) {
+        return userLocks[Math.floorMod(userId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private boolean pushActivity(String userId, DashboardView.Activity activity) {
+        return update(userId, activityUpdate(activity));
+    }
+
+    private Update activityUpdate(DashboardView.Activity activity) {
+        Update update = new Update();
+        update.push("activities")
+                .sort(Sort.by(Sort.Direction.DESC, "at"))
+                .slice(MAX_ACTIVITIES)
+                .each(activity);
+        return update;
+    }
+
+    private boolean update(String userId, Update update) {
+        UpdateResult result = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                update.set("updatedAt", LocalDateTime.now()), DashboardView.class);
+        return result.getMatchedCount() > 0;
+    }
+
+    private DashboardView.Activity resumeActivity(String resumeId, String fileName, LocalDateTime at) {
+        return DashboardView.Activity.builder()
+                .action("Uploaded resume").detail(fileName).icon("Code").type("success")
+                .refId(resumeId).at(at)
+                .build();
+    }
+
+    private DashboardView.Activity analysisActivity(String analysisId, String jobRole, Double matchScore,
+                                                    LocalDateTime at) {
+        String detail = matchScore != null ? jobRole + " (" + Math.round(matchScore) + "% match)" : jobRole;
+        return DashboardView.Activity.builder()
+                .action("Analyzed skill gap").detail(detail).icon("Brain").type("info")
+                .refId(analysisId).at(at)
+                .build();
+    }
+
+    private DashboardView.Activity skillActivity(String skillId, String skillName, Integer score, boolean verified,
+                                                 LocalDateTime at) {
+        String detail = score != null ? skillName + " (" + score + "%)" : skillName;
+        return DashboardView.Activity.builder()
+                .action(verified ? "Verified skill" : "Took skill assessment").detail(detail).icon("Brain")
+                .type(verified ? "success" : "warning")
+                .refId(skillId).at(at)
+                .build();
+    }
+
+    // ========== PROFILE-DERIVED SECTIONS ==========
+
+    private DashboardView profileSections(UserProfile profile, Student student, List<UserSkill> userSkills,
+                                          List<MonthlyProgressDTO> progress) {
+        return DashboardView.builder()
+                .stats(calculateStats(profile, student, userSkills, progress))
+                .skills(prepareSkillsData(profile, userSkills))
+                .progress(prepareProgressData(progress))
+                .roleMatches(prepareRoleMatchData(profile))
+                .skillCount(profile.getTechnicalSkills() != null ? profile.getTechnicalSkills().size() : 0)
+                .profileUpdatedAt(parseTimestamp(profile.getUpdatedAt()))
+                .build();
+    }
+
+    private LocalDateTime parseTimestamp(String value) {
+        try {
+            return value != null ? LocalDateTime.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Headline counters. Month-over-month changes come from this month's
+     * progress bucket; counters without a history carry only their value.
+     */
+    private Map<String, Object> calculateStats(UserProfile profile, Student student, List<UserSkill> userSkills,
+                                               List<MonthlyProgressDTO> progress) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalSkills", Map.of("value", String.valueOf(technicalSkillsOf(profile).size())));
+        stats.put("rolesFit", rolesFitStat(calculateRolesFit(profile)));
+        stats.put("pendingSkills", pendingSkillsStat(userSkills, progress));
+        stats.put("completedTrainings", completedTrainingsStat(student, progress));
+        return stats;
+    }
+
+    private Map<String, Object> rolesFitStat(int rolesFit) {
+        return Map.of("value", String.valueOf(rolesFit));
+    }
+
+    // Assessed skills not yet verified; the change is the skills verified this month
+    private Map<String, Object> pendingSkillsStat(List<UserSkill> userSkills, List<MonthlyProgressDTO> progress) {
+        long pending = userSkills.stream()
+                .filter(skill -> !Boolean.FALSE.equals(skill.getActive()) && !Boolean.TRUE.equals(skill.getVerified()))
+                .count();
+        int verified = thisMonth(progress).map(MonthlyProgressDTO::getSkillsVerified).orElse(0);
+        return Map.of(
+            "value", String.valueOf(pending),
+            "change", "-" + verified + " this month",
+            "trend", verified > 0 ? "down" : "flat"
+        );
+    }
+
+    // Certifications on the profile; the change is the trainings completed this month
+    private Map<String, Object> completedTrainingsStat(Student student, List<MonthlyProgressDTO> progress) {
+        int completed = student.getCertifications() != null ? student.getCertifications().size() : 0;
+        int thisMonth = thisMonth(progress).map(MonthlyProgressDTO::getTrainingsCompleted).orElse(0);
+        return Map.of(
+            "value", String.valueOf(completed),
+            "change", "+" + thisMonth + " this month",
+            "trend", thisMonth > 0 ? "up" : "flat"
+        );
+    }
+
+    // The progress series ends with the current month
+    private Optional<MonthlyProgressDTO> thisMonth(List<MonthlyProgressDTO> progress) {
+        return progress.isEmpty() ? Optional.empty() : Optional.of(progress.get(progress.size() - 1));
+    }
+
+    // Catalog roles the user's skills cover well enough, across the whole catalog
+    private int calculateRolesFit(UserProfile profile) {
+        return roleCatalogService.countFits(technicalSkillsOf(profile));
+    }
+
+    private List<String> technicalSkillsOf(UserProfile profile) {
+        return profile.getTechnicalSkills() != null ? profile.getTechnicalSkills() : List.of();
+    }
+
+    private List<Map<String, Object>> prepareSkillsData(UserProfile profile, List<UserSkill> userSkills) {
+        List<Map<String, Object>> skillsData = new ArrayList<>();
+
+        if (profile.getTechnicalSkills() != null) {
+        	Map<String, String> skillIcons = Map.ofEntries(
+        	        Map.entry("React", "Code"),
+        	        Map.entry("JavaScript", "Code"),
+        	        Map.entry("Java", "Code"),
+        	        Map.entry("Python", "Brain"),
+        	        Map.entry("Node.js", "Database"),
+        	        Map.entry("SQL", "Database"),
+        	        Map.entry("AWS", "Cloud"),
+        	        Map.entry("Docker", "Cloud"),
+        	        Map.entry("Spring", "Code"),
+        	        Map.entry("HTML", "Code"),
+        	        Map.entry("CSS", "Code")
+        	    );
+
+        	Map<String, String> skillColors = Map.ofEntries(
+        	        Map.entry("React", "#61DAFB"),
+        	        Map.entry("JavaScript", "#F7DF1E"),
+        	        Map.entry("Java", "#3776AB"),
+        	        Map.entry("Python", "#3776AB"),
+        	        Map.entry("Node.js", "#68A063"),
+        	        Map.entry("SQL", "#4479A1"),
+        	        Map.entry("AWS", "#FF9900"),
+        	        Map.entry("Docker", "#2496ED"),
+        	        Map.entry("Spring", "#6DB33F"),
+        	        Map.entry("HTML", "#E34F26"),
+        	        Map.entry("CSS", "#1572B6")
+        	    );
+
+            // Assessed proficiency per skill; skills never assessed show 0
+            Map<String, Integer> proficiencies = new HashMap<>();
+            for (UserSkill userSkill : userSkills) {
+                if (userSkill.getName() != null && userSkill.getProficiency() != null) {
+                    proficiencies.merge(SkillNames.normalize(userSkill.getName()), userSkill.getProficiency(), Math::max);
+                }
+            }
+
+            for (String skill : profile.getTechnicalSkills()) {
+                int proficiency = proficiencies.getOrDefault(SkillNames.normalize(skill), 0);
+
+                skillsData.add(Map.of(
+                    "name", skill,
+                    "level", proficiency,
+                    "icon", skillIcons.getOrDefault(skill, "Brain"),
+                    "color", skillColors.getOrDefault(skill, "#3B82F6")
+                ));
+            }
+        }
+
+        return skillsData;
+    }
+
+    private List<MonthlyProgressDTO> recentProgress(String userId) {
+        YearMonth now = YearMonth.now();
+        return progressService.getMonthlyProgress(userId, now.minusMonths(PROGRESS_MONTHS - 1), now);
+    }
+
+    private List<Map<String, Object>> prepareProgressData(List<MonthlyProgressDTO> progress) {
+        List<Map<String, Object>> progressData = new ArrayList<>();
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM");
+
+        // Average exam score per month; a month without exams keeps the previous level
+        double level = 0;
+        for (MonthlyProgressDTO month : progress) {
+            if (month.getAverageExamScore() != null) {
+                level = month.getAverageExamScore();
+            }
+            progressData.add(Map.of(
+                "month", YearMonth.parse(month.getMonth()).format(monthFormatter),
+                "progress", (int) Math.round(level),
+                "exams", month.getExamsTaken(),
+                "trainings", month.getTrainingsCompleted()
+            ));
+        }
+
+        return progressData;
+    }
+
+    // Preferred roles first, then the catalog roles the user fits best
+    private List<Map<String, Object>> prepareRoleMatchData(UserProfile profile) {
+        List<String> skills = technicalSkillsOf(profile);
+        Map<String, RoleFitEngine.RoleFit> matches = new LinkedHashMap<>();
+        if (profile.getPreferredRoles() != null) {
+            for (String role : profile.getPreferredRoles()) {
+                RoleFitEngine.RoleFit fit = roleCatalogService.fit(role, skills);
+                if (fit != null && matches.size() < ROLE_MATCH_LIMIT) {
+                    matches.putIfAbsent(fit.roleId(), fit);
+                }
+            }
+        }
+        if (!skills.isEmpty()) {
+            for (RoleFitEngine.RoleFit fit : roleCatalogService.bestFits(skills, ROLE_MATCH_LIMIT)) {
+                if (matches.size() < ROLE_MATCH_LIMIT) {
+                    matches.putIfAbsent(fit.roleId(), fit);
+                }
+            }
+        }
+
+        List<String> colors = List.of("#3B82F6", "#10B981", "#8B5CF6", "#F59E0B", "#EF4444");
+        List<Map<String, Object>> roleMatches = new ArrayList<>();
+        for (RoleFitEngine.RoleFit fit : matches.values()) {
+            roleMatches.add(Map.of(
+                "name", fit.name(),
+                "value", (int) Math.round(fit.score() * 100),
+                "color", colors.get(roleMatches.size() % colors.size())
+            ));
+        }
+        return roleMatches;
+    }
+}
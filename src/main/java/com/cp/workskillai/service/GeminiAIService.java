@@ -24,6 +24,12 @@ public class GeminiAIService {
     @Value("${gemini.api.key}")
     private String geminiApiKey;
 
+    @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1/models}")
+    private String geminiApiUrl;
+
+    @Value("${gemini.resume.model:gemini-2.5-flash}")
+    private String geminiModel;
+
     private final ObjectMapper objectMapper;
 
     private static final int MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
@@ -223,7 +229,7 @@ public class GeminiAIService {
     }
 
     private String callGeminiAPI(String prompt) throws Exception {
-        String url = "https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash:generateContent?key=" + geminiApiKey;
+        String url = String.format("%s/%s:generateContent?key=%s", geminiApiUrl, geminiModel, geminiApiKey);
         
         log.info("Calling Gemini API with prompt length: {}", prompt.length());
         
@@ -0,0 +1,139 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.FanOutExecutor;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO.MissingSkillStat;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO.RoleMatchStat;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO.SkillProficiencyStat;
+import com.cp.workskillai.models.SkillGapAnalysis;
+import com.cp.workskillai.models.Student;
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Company-wide skill reports for HR users. A cohort is the employees sharing
+ * the HR user's administrator-assigned companyId. All figures are computed by
+ * aggregation pipelines inside MongoDB; only the grouped rows reach the JVM.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HrAnalyticsService {
+
+    private static final int TOP_MISSING_SKILLS = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final StudentRepository studentRepository;
+    private final FanOutExecutor fanOutExecutor;
+
+    @Cacheable(cacheNames = "hrCohortAnalytics", key = "#companyId")
+    public HrCohortAnalyticsDTO getCohortAnalytics(String companyId, String companyName) {
+        long start = System.currentTimeMillis();
+        List<String> employeeIds = studentRepository.findIdsByCompanyIdAndRole(companyId, "employee")
+                .stream()
+                .map(Student::getId)
+                .toList();
+
+        HrCohortAnalyticsDTO.HrCohortAnalyticsDTOBuilder report = HrCohortAnalyticsDTO.builder()
+                .companyName(companyName)
+                .employeeCount(employeeIds.size())
+                .topMissingSkills(List.of())
+                .matchScoreByRole(List.of())
+                .proficiencyBySkill(List.of());
+        if (!employeeIds.isEmpty()) {
+            // The three pipelines are independent and run side by side
+            try (FanOutExecutor.Scope scope = fanOutExecutor.open()) {
+                FanOutExecutor.Task<List<MissingSkillStat>> missing = scope.fork(() -> topMissingSkills(employeeIds));
+                FanOutExecutor.Task<List<RoleMatchStat>> byRole = scope.fork(() -> matchScoreByRole(employeeIds));
+                FanOutExecutor.Task<List<SkillProficiencyStat>> bySkill = scope.fork(() -> proficiencyBySkill(employeeIds));
+                scope.join();
+                report.topMissingSkills(missing.get())
+                        .matchScoreByRole(byRole.get())
+                        .proficiencyBySkill(bySkill.get());
+            }
+        }
+
+        log.info("Cohort analytics for {} ({} employees) computed in {} ms",
+                companyId, employeeIds.size(), System.currentTimeMillis() - start);
+        return report.generatedAt(LocalDateTime.now()).build();
+    }
+
+    // Counts each employee once, via their current-role analysis
+    private List<MissingSkillStat> topMissingSkills(List<String> employeeIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(currentAnalysesOf(employeeIds)),
+                Aggregation.unwind("missing_skills"),
+                Aggregation.group("missing_skills.name")
+                        .count().as("employees")
+                        .avg("missing_skills.importance").as("averageImportance"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "employees").and(Sort.by("_id"))),
+                Aggregation.limit(TOP_MISSING_SKILLS),
+                Aggregation.project("employees", "averageImportance").and("skill").previousOperation());
+
+        return mongoTemplate.aggregate(aggregation, analysisCollection(), MissingSkillStat.class)
+                .getMappedResults();
+    }
+
+    private List<RoleMatchStat> matchScoreByRole(List<String> employeeIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(currentAnalysesOf(employeeIds)),
+                Aggregation.group("job_role")
+                        .count().as("employees")
+                        .avg("match_score").as("averageMatchScore"),
+                Aggregation.sort(Sort.Direction.DESC, "employees"),
+                Aggregation.project("employees", "averageMatchScore").and("jobRole").previousOperation());
+
+        return mongoTemplate.aggregate(aggregation, analysisCollection(), RoleMatchStat.class)
+                .getMappedResults();
+    }
+
+    private List<SkillProficiencyStat> proficiencyBySkill(List<String> employeeIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").in(employeeIds).and("active").ne(false)),
+                Aggregation.group("name")
+                        .count().as("employees")
+                        .avg("proficiency").as("averageProficiency")
+                        .sum(inBand(0, 25)).as("beginner")
+                        .sum(inBand(25, 50)).as("intermediate")
+                        .sum(inBand(50, 75)).as("advanced")
+                        .sum(inBand(75, Integer.MAX_VALUE)).as("expert"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "employees").and(Sort.by("_id"))),
+                Aggregation.project("employees", "averageProficiency", "beginner", "intermediate", "advanced", "expert")
+                        .and("skill").previousOperation());
+
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(UserSkill.class),
+                SkillProficiencyStat.class).getMappedResults();
+    }
+
+    // Served by the user_current_role_idx partial index
+    private Criteria currentAnalysesOf(List<String> employeeIds) {
+        return Criteria.where("user_id").in(employeeIds).and("is_current_role").is(true);
+    }
+
+    private AggregationExpression inBand(int from, int to) {
+        return ConditionalOperators.when(BooleanOperators.And.and(
+                        ComparisonOperators.Gte.valueOf("proficiency").greaterThanEqualToValue(from),
+                        ComparisonOperators.Lt.valueOf("proficiency").lessThanValue(to)))
+                .then(1)
+                .otherwise(0);
+    }
+
+    private String analysisCollection() {
+        return mongoTemplate.getCollectionName(SkillGapAnalysis.class);
+    }
+}
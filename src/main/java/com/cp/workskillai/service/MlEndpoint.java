@@ -0,0 +1,37 @@
+package com.cp.workskillai.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Endpoints exposed by the Python ML service. All of them compute a result
+ * from the request body without side effects, so they are safe to retry.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum MlEndpoint {
+
+    ANALYZE("analyze", "/internal-analyze", true),
+    RECOMMENDATIONS("recommendations", "/api/recommendations/generate", true);
+
+    public static final String BATCH_SUFFIX = "/batch";
+
+    private final String key;
+    private final String path;
+    private final boolean idempotent;
+
+    public String getBatchPath() {
+        return path + BATCH_SUFFIX;
+    }
+
+    // Suffix match so a base URL with a path prefix (e.g. http://host/ml) still resolves
+    public static Optional<MlEndpoint> fromPath(String path) {
+        return Arrays.stream(values())
+                .filter(endpoint -> path != null
+                        && (path.endsWith(endpoint.path) || path.endsWith(endpoint.getBatchPath())))
+                .findFirst();
+    }
+}
@@ -0,0 +1,175 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.SkillAnalyticsDTO;
+import com.cp.workskillai.models.UserSkill;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * ML feature vectors of users' skills, one user at a time or every user as
+ * NDJSON. The export walks user_skills with a cursor sorted by userId (the
+ * user_normalized_name_idx prefix) and writes each user's line as soon as
+ * their skills are read, so memory stays at one user plus one cursor batch
+ * however many users there are. An incremental export first lists the users
+ * with a skill changed after the watermark, then reads their skills in
+ * chunks of ml.export.batch-size users.
+ */
+@Slf4j
+@Service
+public class MlFeatureExportService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final MongoTemplate mongoTemplate;
+    private final SkillAnalyticsService skillAnalyticsService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public MlFeatureExportService(MongoTemplate mongoTemplate,
+                                  SkillAnalyticsService skillAnalyticsService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${ml.export.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.skillAnalyticsService = skillAnalyticsService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /** The /ml-ready document for one user's active skills. */
+    public Map<String, Object> userFeatures(String userId, List<UserSkill> skills) {
+        SkillAnalyticsDTO summary = skillAnalyticsService.summarize(skills);
+        Map<String, Object> mlData = new LinkedHashMap<>();
+        mlData.put("userId", userId);
+        mlData.put("skills", skills.stream().map(this::skillFeatures).toList());
+        mlData.put("totalVerifiedSkills", summary.getVerifiedSkills());
+        mlData.put("averageConfidence", summary.getAverageConfidence());
+        return mlData;
+    }
+
+    /**
+     * Writes one NDJSON line per user with skills, in userId order. With a
+     * {@code since} watermark only users with a skill created, changed or
+     * deactivated after it are written. Returns the number of users written.
+     */
+    public long exportAll(LocalDateTime since, OutputStream out) throws IOException {
+        long users;
+        if (since == null) {
+            Query all = new Query().with(Sort.by("userId")).cursorBatchSize(batchSize);
+            try (Stream<UserSkill> skills = mongoTemplate.stream(all, UserSkill.class)) {
+                users = writeGroupedByUser(skills.iterator(), out);
+            }
+        } else {
+            users = 0;
+            List<String> chunk = new ArrayList<>(batchSize);
+            try (Stream<Document> changed = changedUserIds(since)) {
+                for (Iterator<Document> ids = changed.iterator(); ids.hasNext(); ) {
+                    chunk.add(ids.next().getString("_id"));
+                    if (chunk.size() == batchSize || !ids.hasNext()) {
+                        users += writeChunk(chunk, out);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        out.flush();
+        log.info("Exported ML skill features of {} users{}", users, since != null ? " changed since " + since : "");
+        return users;
+    }
+
+    private Stream<Document> changedUserIds(LocalDateTime since) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().orOperator(
+                        Criteria.where("updatedAt").gt(since),
+                        Criteria.where("createdAt").gt(since))),
+                Aggregation.group("userId"),
+                Aggregation.sort(Sort.Direction.ASC, "_id"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).cursorBatchSize(batchSize).build());
+        return mongoTemplate.aggregateStream(aggregation, mongoTemplate.getCollectionName(UserSkill.class),
+                Document.class);
+    }
+
+    private long writeChunk(List<String> userIds, OutputStream out) throws IOException {
+        Query chunk = Query.query(Criteria.where("userId").in(userIds))
+                .with(Sort.by("userId"))
+                .cursorBatchSize(batchSize);
+        try (Stream<UserSkill> skills = mongoTemplate.stream(chunk, UserSkill.class)) {
+            return writeGroupedByUser(skills.iterator(), out);
+        }
+    }
+
+    // Skills arrive sorted by userId, so each user's skills are one contiguous run
+    private long writeGroupedByUser(Iterator<UserSkill> skills, OutputStream out) throws IOException {
+        long users = 0;
+        String userId = null;
+        List<UserSkill> userSkills = new ArrayList<>();
+        LocalDateTime lastChange = null;
+        while (skills.hasNext()) {
+            UserSkill skill = skills.next();
+            if (userId != null && !userId.equals(skill.getUserId())) {
+                writeLine(userId, userSkills, lastChange, out);
+                users++;
+                userSkills.clear();
+                lastChange = null;
+            }
+            userId = skill.getUserId();
+            lastChange = latest(lastChange, latest(skill.getCreatedAt(), skill.getUpdatedAt()));
+            if (!Boolean.FALSE.equals(skill.getActive())) {
+                userSkills.add(skill);
+            }
+        }
+        if (userId != null) {
+            writeLine(userId, userSkills, lastChange, out);
+            users++;
+        }
+        return users;
+    }
+
+    // A user whose skills were all deactivated still gets a line, with no skills
+    private void writeLine(String userId, List<UserSkill> skills, LocalDateTime lastChange, OutputStream out)
+            throws IOException {
+        Map<String, Object> line = userFeatures(userId, skills);
+        line.put("updatedAt", lastChange);
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write(NEWLINE);
+    }
+
+    private Map<String, Object> skillFeatures(UserSkill skill) {
+        Map<String, Object> mlSkill = new HashMap<>();
+        mlSkill.put("name", skill.getName());
+        mlSkill.put("category", skill.getCategory());
+        mlSkill.put("proficiency", skill.getProficiency());
+        mlSkill.put("level", skill.getLevel() != null ? skill.getLevel().toLowerCase(Locale.ROOT) : null);
+        mlSkill.put("verified", skill.getVerified());
+        mlSkill.put("confidence", SkillAnalyticsService.confidenceOf(skill.getConfidenceLevel()));
+        mlSkill.put("experience_months", skill.getExperienceMonths());
+        mlSkill.put("last_verified", skill.getLastVerified());
+        return mlSkill;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,216 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.MlServiceProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sits in front of {@link PythonServiceClient} and coalesces concurrent calls
+ * to the same endpoint into one batch request. A batch is sent when the window
+ * (python.ml.batch.window) elapses after its first request, or as soon as it
+ * reaches python.ml.batch.max-size.
+ *
+ * <p>Batch contract: POST {@code <path>/batch} with {@code {"requests": [body, ...]}};
+ * the service answers {@code {"responses": [{"status": 200, "body": {...}}, ...]}}
+ * in request order, with {@code {"status": 5xx, "error": "..."}} for items that
+ * failed. If the service has no batch route (404) the endpoint falls back to
+ * single calls for the rest of the process lifetime.
+ */
+@Service
+@Slf4j
+public class MlRequestCoalescer {
+
+    private final PythonServiceClient pythonServiceClient;
+    private final MlServiceProperties properties;
+    private final ObjectMapper objectMapper;
+    private final DistributionSummary batchSizes;
+
+    private final Map<MlEndpoint, Batcher> batchers = new EnumMap<>(MlEndpoint.class);
+    private final Set<MlEndpoint> batchUnsupported = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flushTimer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ml-batch-timer").daemon().factory());
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public MlRequestCoalescer(PythonServiceClient pythonServiceClient,
+                              MlServiceProperties properties,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.pythonServiceClient = pythonServiceClient;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.batchSizes = DistributionSummary.builder("ml.coalescer.batch.size")
+                .description("Requests per batch sent to the ML service")
+                .register(meterRegistry);
+        for (MlEndpoint endpoint : MlEndpoint.values()) {
+            batchers.put(endpoint, new Batcher(endpoint));
+        }
+    }
+
+    /**
+     * Same contract as {@link PythonServiceClient#post}: blocks until this
+     * request's response is available and returns it as the requested type.
+     */
+    public <T> T call(MlEndpoint endpoint, Object body, Class<T> responseType) {
+        if (!properties.getBatch().isEnabled() || batchUnsupported.contains(endpoint)) {
+            return pythonServiceClient.post(endpoint, body, responseType);
+        }
+
+        try {
+            JsonNode response = batchers.get(endpoint).add(body).join();
+            if (responseType == String.class) {
+                return responseType.cast(response.toString());
+            }
+            return objectMapper.treeToValue(response, responseType);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("ML call failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read ML response: " + e.getMessage(), e);
+        }
+    }
+
+    private void send(MlEndpoint endpoint, List<Pending> batch) {
+        batchSizes.record(batch.size());
+        if (batch.size() == 1 || batchUnsupported.contains(endpoint)) {
+            batch.forEach(item -> senders.execute(() -> sendSingle(endpoint, item)));
+            return;
+        }
+
+        try {
+            List<Object> bodies = batch.stream().map(Pending::body).toList();
+            JsonNode result = pythonServiceClient.postBatch(endpoint, Map.of("requests", bodies), JsonNode.class);
+            JsonNode responses = result.path("responses");
+            if (!responses.isArray() || responses.size() != batch.size()) {
+                throw new IllegalStateException("Batch response has " + responses.size()
+                        + " items for " + batch.size() + " requests");
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                JsonNode item = responses.get(i);
+                int status = item.path("status").asInt(200);
+                if (status >= 200 && status < 300) {
+                    batch.get(i).future().complete(item.path("body"));
+                } else {
+                    batch.get(i).future().completeExceptionally(new RuntimeException(
+                            "ML service returned " + status + ": " + item.path("error").asText("")));
+                }
+            }
+        } catch (HttpClientErrorException.NotFound e) {
+            if (batchUnsupported.add(endpoint)) {
+                log.warn("ML service has no {} route; sending {} requests individually",
+                        endpoint.getBatchPath(), endpoint.getKey());
+            }
+            batch.forEach(item -> senders.execute(() -> sendSingle(endpoint, item)));
+        } catch (Exception e) {
+            log.error("ML batch call to {} failed for {} requests: {}", endpoint.getBatchPath(), batch.size(), e.getMessage());
+            batch.forEach(item -> item.future().completeExceptionally(e));
+        }
+    }
+
+    private void sendSingle(MlEndpoint endpoint, Pending item) {
+        try {
+            item.future().complete(pythonServiceClient.post(endpoint, item.body(), JsonNode.class));
+        } catch (Exception e) {
+            item.future().completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushTimer.shutdownNow();
+        batchers.values().forEach(Batcher::flush);
+        senders.shutdown();
+    }
+
+    private record Pending(Object body, CompletableFuture<JsonNode> future) {
+    }
+
+    /**
+     * Collects requests for one endpoint. The first request of a batch arms the
+     * flush timer; filling the batch flushes it straight away.
+     */
+    private final class Batcher {
+
+        private final MlEndpoint endpoint;
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<Pending> pending = new ArrayList<>();
+        private ScheduledFuture<?> scheduledFlush;
+
+        private Batcher(MlEndpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        CompletableFuture<JsonNode> add(Object body) {
+            Pending item = new Pending(body, new CompletableFuture<>());
+            List<Pending> ready = null;
+            lock.lock();
+            try {
+                pending.add(item);
+                if (pending.size() >= properties.getBatch().getMaxSize()) {
+                    ready = drain();
+                } else if (pending.size() == 1) {
+                    scheduledFlush = flushTimer.schedule(this::flush,
+                            properties.getBatch().getWindow().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (ready != null) {
+                dispatch(ready);
+            }
+            return item.future();
+        }
+
+        void flush() {
+            List<Pending> ready;
+            lock.lock();
+            try {
+                ready = drain();
+            } finally {
+                lock.unlock();
+            }
+            if (!ready.isEmpty()) {
+                dispatch(ready);
+            }
+        }
+
+        private List<Pending> drain() {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            List<Pending> drained = pending;
+            pending = new ArrayList<>();
+            return drained;
+        }
+
+        private void dispatch(List<Pending> batch) {
+            senders.execute(() -> send(endpoint, batch));
+        }
+    }
+}
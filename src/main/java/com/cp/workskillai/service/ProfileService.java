@@ -16,6 +16,8 @@ public interface ProfileService {
     
     // Profile Management
     UserProfile getProfile(String userId);
+    // The profile's updatedAt, read without loading the profile; null if there is none
+    String getProfileVersion(String userId);
     UserProfile updateProfile(String userId, ProfileUpdateRequest request);
     UserProfile createProfile(String userId, ProfileUpdateRequest request);
     
@@ -0,0 +1,135 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.MonthlyProgressDTO;
+import com.cp.workskillai.events.TrainingCompletedEvent;
+import com.cp.workskillai.models.Progress;
+import com.cp.workskillai.models.ProgressBucket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records learning progress into monthly {@link ProgressBucket}s and serves
+ * it as a month-by-month series. Writers add to the bucket of the month the
+ * event happened in with a single $inc upsert; readers fetch one bucket per
+ * month of the requested range.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgressService {
+
+    public static final String STATUS_NOT_STARTED = "Not Started";
+    public static final String STATUS_IN_PROGRESS = "In Progress";
+    public static final String STATUS_COMPLETED = "Completed";
+
+    // Longest series one request may ask for
+    private static final int MAX_MONTHS = 120;
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Counts one exam in the month it was taken. skillsVerified counts skills,
+     * not passes, so only the exam that first verifies a skill adds to it.
+     */
+    public void recordExamResult(String userId, Integer score, boolean firstVerification, LocalDateTime at) {
+        Update update = new Update().inc("examsTaken", 1);
+        if (score != null) {
+            update.inc("examScoreTotal", score);
+        }
+        if (firstVerification) {
+            update.inc("skillsVerified", 1);
+        }
+        increment(userId, YearMonth.from(at), update);
+    }
+
+    /**
+     * Sets the completion of one training. The first time it reaches 100% the
+     * month's completed-trainings counter goes up and a {@link TrainingCompletedEvent}
+     * is published; repeated completions do not count again.
+     */
+    public Progress updateTrainingProgress(String userId, String trainingId, int completionPercentage) {
+        if (completionPercentage < 0 || completionPercentage > 100) {
+            throw new IllegalArgumentException("Completion percentage must be between 0 and 100");
+        }
+        String status = completionPercentage == 100 ? STATUS_COMPLETED
+                : completionPercentage > 0 ? STATUS_IN_PROGRESS : STATUS_NOT_STARTED;
+
+        Query query = Query.query(Criteria.where("studentId").is(userId).and("trainingId").is(trainingId));
+        Update update = new Update()
+                .set("completionPercentage", completionPercentage)
+                .set("status", status);
+        // Returns the previous state, which tells whether this call completed the training
+        Progress previous = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(false), Progress.class);
+
+        if (STATUS_COMPLETED.equals(status) && (previous == null || !STATUS_COMPLETED.equals(previous.getStatus()))) {
+            LocalDateTime now = LocalDateTime.now();
+            increment(userId, YearMonth.from(now), new Update().inc("trainingsCompleted", 1));
+            eventPublisher.publishEvent(new TrainingCompletedEvent(userId, trainingId, now));
+            log.info("User {} completed training {}", userId, trainingId);
+        }
+        return mongoTemplate.findOne(query, Progress.class);
+    }
+
+    /**
+     * Month-by-month progress from {@code from} to {@code to}, both inclusive,
+     * oldest first.
+     */
+    public List<MonthlyProgressDTO> getMonthlyProgress(String userId, YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end " + to + " is before its start " + from);
+        }
+        if (from.plusMonths(MAX_MONTHS).isBefore(to)) {
+            throw new IllegalArgumentException("Range may span at most " + MAX_MONTHS + " months");
+        }
+
+        Query query = Query.query(Criteria.where("_id")
+                        .gte(ProgressBucket.idOf(userId, from))
+                        .lte(ProgressBucket.idOf(userId, to))
+                        .and("userId").is(userId))
+                .with(Sort.by("_id"));
+        Map<String, ProgressBucket> buckets = mongoTemplate.find(query, ProgressBucket.class).stream()
+                .collect(Collectors.toMap(ProgressBucket::getMonth, Function.identity()));
+
+        List<MonthlyProgressDTO> series = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            ProgressBucket bucket = buckets.get(month.toString());
+            series.add(bucket == null
+                    ? MonthlyProgressDTO.builder().month(month.toString()).build()
+                    : MonthlyProgressDTO.builder()
+                            .month(bucket.getMonth())
+                            .examsTaken(bucket.getExamsTaken())
+                            .averageExamScore(bucket.getExamsTaken() > 0
+                                    ? (double) bucket.getExamScoreTotal() / bucket.getExamsTaken() : null)
+                            .skillsVerified(bucket.getSkillsVerified())
+                            .trainingsCompleted(bucket.getTrainingsCompleted())
+                            .build());
+        }
+        return series;
+    }
+
+    private void increment(String userId, YearMonth month, Update update) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(ProgressBucket.idOf(userId, month))),
+                update.setOnInsert("userId", userId)
+                        .setOnInsert("month", month.toString())
+                        .set("updatedAt", LocalDateTime.now()),
+                ProgressBucket.class);
+    }
+}
@@ -1,22 +1,100 @@
 // PythonServiceClient.java
 package com.cp.workskillai.service;
 
+import com.cp.workskillai.config.MlServiceProperties;
 import com.cp.workskillai.dto.SkillGapAnalysisResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+
+import java.net.SocketTimeoutException;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Client for the Python ML service. Idempotent calls that fail to connect or
+ * hit a 502/503/504 are retried with jittered exponential backoff. Response
+ * timeouts are not retried: a hung worker should fail the request, not
+ * multiply the wait.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PythonServiceClient {
     
-    private final RestTemplate restTemplate;
-    private final String PYTHON_SERVICE_URL = "http://localhost:8000";
-    
+    private final RestTemplate mlRestTemplate;
+    private final MlServiceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public PythonServiceClient(@Qualifier("mlRestTemplate") RestTemplate mlRestTemplate,
+                               MlServiceProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.mlRestTemplate = mlRestTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * POSTs the body as JSON to the endpoint and returns the response body.
+     * Throws the underlying RestClientException once retries are exhausted.
+     */
+    public <T> T post(MlEndpoint endpoint, Object body, Class<T> responseType) {
+        return execute(endpoint, endpoint.getPath(), body, responseType);
+    }
+
+    /**
+     * POSTs a batch envelope to the endpoint's /batch variant. Same timeouts
+     * and retry policy as the single call.
+     */
+    public <T> T postBatch(MlEndpoint endpoint, Object batchBody, Class<T> responseType) {
+        return execute(endpoint, endpoint.getBatchPath(), batchBody, responseType);
+    }
+
+    private <T> T execute(MlEndpoint endpoint, String path, Object body, Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        String metricKey = path.endsWith(MlEndpoint.BATCH_SUFFIX) ? endpoint.getKey() + "-batch" : endpoint.getKey();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    ResponseEntity<T> response = mlRestTemplate.exchange(
+                            path, HttpMethod.POST, requestEntity, responseType);
+                    if (response.getBody() == null) {
+                        throw new RestClientException("Empty response from " + path);
+                    }
+                    outcome = "success";
+                    return response.getBody();
+                } catch (RestClientException e) {
+                    if (!endpoint.isIdempotent() || attempt >= properties.getMaxAttempts() || !isRetryable(e)) {
+                        throw e;
+                    }
+                    long delay = backoffMillis(attempt);
+                    log.warn("ML call {} failed (attempt {}/{}): {}. Retrying in {} ms",
+                            path, attempt, properties.getMaxAttempts(), e.getMessage(), delay);
+                    meterRegistry.counter("ml.client.retries", "endpoint", metricKey).increment();
+                    sleep(delay);
+                }
+            }
+        } finally {
+            sample.stop(Timer.builder("ml.client.requests")
+                    .description("Python ML service calls, including retries")
+                    .tag("endpoint", metricKey)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
     public SkillGapAnalysisResponse analyzeSkillGap(Map<String, Object> userData, String jobRole) {
         try {
             // Prepare request for Python service
@@ -27,30 +105,43 @@ public class PythonServiceClient {
                 "skills_data", userData.get("skills")
             );
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
-            
             log.info("Calling Python service for skill gap analysis...");
-            
-            ResponseEntity<SkillGapAnalysisResponse> response = restTemplate.exchange(
-                PYTHON_SERVICE_URL + "/internal-analyze",
-                HttpMethod.POST,
-                requestEntity,
-                SkillGapAnalysisResponse.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                log.info("Successfully received analysis from Python service");
-                return response.getBody();
-            } else {
-                throw new RuntimeException("Python service returned error: " + response.getStatusCode());
-            }
+            SkillGapAnalysisResponse response = post(MlEndpoint.ANALYZE, requestBody, SkillGapAnalysisResponse.class);
+            log.info("Successfully received analysis from Python service");
+            return response;
             
         } catch (Exception e) {
             log.error("Error calling Python service: {}", e.getMessage());
             throw new RuntimeException("Failed to analyze skill gap: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private boolean isRetryable(RestClientException e) {
+        if (e instanceof HttpServerErrorException serverError) {
+            int status = serverError.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        if (e instanceof ResourceAccessException) {
+            // Connection refused/reset or pool exhaustion are worth another try; a read timeout is not
+            return !(e.getMostSpecificCause() instanceof SocketTimeoutException);
+        }
+        return false;
+    }
+
+    // Equal jitter: half the exponential delay fixed, half random, to spread out retry storms
+    private long backoffMillis(int attempt) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long cap = Math.min(properties.getMaxBackoff().toMillis(), initial << Math.min(attempt - 1, 20));
+        long half = Math.max(cap / 2, 1);
+        return half + ThreadLocalRandom.current().nextLong(half);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting to retry ML call");
+        }
+    }
+}
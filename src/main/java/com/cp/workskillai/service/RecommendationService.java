@@ -1,17 +1,35 @@
 // RecommendationService.java
 package com.cp.workskillai.service;
 
+import com.cp.workskillai.config.StaleWhileRevalidateCacheFactory;
+import com.cp.workskillai.dto.UserSkillAnalysis;
+import com.cp.workskillai.events.SkillGapAnalysisCompletedEvent;
 import com.cp.workskillai.models.*;
+import com.cp.workskillai.repository.CourseRecommendationRepository;
 import com.cp.workskillai.repository.SkillGapAnalysisRepository;
 import com.cp.workskillai.repository.StudentRepository;
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.service.catalog.CourseCatalogService;
+import com.cp.workskillai.service.catalog.LearningPathPlanner;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,105 +39,270 @@ public class RecommendationService {
     
     private final SkillGapAnalysisRepository skillGapAnalysisRepository;
     private final StudentRepository studentRepository;
-    private final RestTemplate restTemplate;
+    private final CourseRecommendationRepository courseRecommendationRepository;
+    private final MlRequestCoalescer mlRequestCoalescer;
+    private final MongoTemplate mongoTemplate;
+    private final CourseCatalogService courseCatalogService;
+    private final LearningPathPlanner learningPathPlanner;
+    private final StaleWhileRevalidateCacheFactory cacheFactory;
     
-    @Value("${python.ml.service.url:http://localhost:8000}")
-    private String pythonMlServiceUrl;
+    private LoadingCache<String, RecommendationResponse> recommendationCache;
     
+    // Courses served from the local catalog when the ML service is unavailable
+    private static final int CATALOG_COURSE_LIMIT = 10;
+    private static final String RECOMMENDATION_CACHE = "recommendations";
+    
+    @PostConstruct
+    void initCache() {
+        recommendationCache = cacheFactory.create(RECOMMENDATION_CACHE, this::loadRecommendations);
+    }
+    
+    /**
+     * Returns the user's recommendations from a stale-while-revalidate cache,
+     * so a slow ML tier only delays background refreshes, not this call.
+     */
     public RecommendationResponse generateRecommendations(String userId) {
         try {
-            log.info("Generating recommendations for user: {}", userId);
-            
-            // Get latest skill gap analysis
-            Optional<SkillGapAnalysis> latestAnalysis = skillGapAnalysisRepository
-                    .findTopByUserIdOrderByAnalyzedAtDesc(userId);
+            return recommendationCache.get(userId);
+        } catch (CatalogFallbackException e) {
+            // ML is down and nothing was cached: serve the catalog answer without caching it
+            return e.getFallback();
+        } catch (Exception e) {
+            log.error("❌ Error generating recommendations for user {}: {}", userId, e.getMessage(), e);
+            return createFallbackRecommendations(userId);
+        }
+    }
+    
+    // Cache loader: ML failures propagate as CatalogFallbackException, so a
+    // background refresh keeps the previous value instead of caching the fallback
+    private RecommendationResponse loadRecommendations(String userId) {
+        log.info("Generating recommendations for user: {}", userId);
+        
+        // Get latest skill gap analysis
+        Optional<SkillGapAnalysis> latestAnalysis = skillGapAnalysisRepository
+                .findTopByUserIdOrderByAnalyzedAtDesc(userId);
+        
+        if (latestAnalysis.isEmpty()) {
+            log.warn("No skill gap analysis found for user: {}", userId);
+            return createFallbackRecommendations(userId);
+        }
+        
+        SkillGapAnalysis analysis = latestAnalysis.get();
+        
+        // Recommendations already generated for this analysis: serve them from Mongo
+        if (analysis.getRecommendationsGeneratedAt() != null) {
+            log.info("Serving stored recommendations for user: {}, analysis: {}", userId, analysis.getId());
+            return buildStoredRecommendations(analysis);
+        }
+        
+        return refreshRecommendations(analysis);
+    }
+    
+    /**
+     * Regenerates recommendations in the background as soon as a new analysis
+     * is stored, so the next page load is a plain read.
+     */
+    @Async
+    @EventListener
+    public void onAnalysisCompleted(SkillGapAnalysisCompletedEvent event) {
+        try {
+            skillGapAnalysisRepository.findById(event.analysisId())
+                    .map(this::refreshRecommendations)
+                    .ifPresent(response -> recommendationCache.put(event.userId(), response));
+        } catch (CatalogFallbackException e) {
+            // The cached value belongs to the previous analysis; the next read retries the ML service
+            recommendationCache.invalidate(event.userId());
+            log.warn("ML service unavailable while precomputing recommendations for user {}, analysis {}",
+                    event.userId(), event.analysisId());
+        } catch (Exception e) {
+            log.error("Failed to precompute recommendations for user {}, analysis {}: {}",
+                    event.userId(), event.analysisId(), e.getMessage(), e);
+        }
+    }
+    
+    public void saveEnrollment(String userId, String courseId, String courseTitle) {
+        LocalDateTime now = LocalDateTime.now();
+        updateCourseState(userId, courseId, courseTitle,
+                new Update().set("enrolled", true).set("enrolledAt", now),
+                course -> course.enrolled(true).enrolledAt(now));
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().addToSet("enrolledCourses", courseId), Student.class);
+        recommendationCache.invalidate(userId);
+        log.info("User {} enrolled in course: {}", userId, courseTitle);
+    }
+    
+    public void saveCourseForLater(String userId, String courseId, String courseTitle) {
+        LocalDateTime now = LocalDateTime.now();
+        updateCourseState(userId, courseId, courseTitle,
+                new Update().set("savedForLater", true).set("savedAt", now),
+                course -> course.savedForLater(true).savedAt(now));
+        recommendationCache.invalidate(userId);
+        log.info("User {} saved course for later: {}", userId, courseTitle);
+    }
+    
+    /**
+     * Applies the state change to every stored recommendation of the course.
+     * Courses that were never stored for the user (e.g. frontend fallback
+     * courses) get a standalone document so the state is not lost.
+     */
+    private void updateCourseState(String userId, String courseId, String courseTitle, Update update,
+                                   Function<CourseRecommendation.CourseRecommendationBuilder,
+                                           CourseRecommendation.CourseRecommendationBuilder> standalone) {
+        Query query = Query.query(Criteria.where("userId").is(userId)
+                .orOperator(Criteria.where("courseId").is(courseId), Criteria.where("_id").is(courseId)));
+        UpdateResult result = mongoTemplate.updateMulti(query, update, CourseRecommendation.class);
+        if (result.getMatchedCount() == 0) {
+            courseRecommendationRepository.save(standalone.apply(CourseRecommendation.builder()
+                    .userId(userId)
+                    .courseId(courseId)
+                    .title(courseTitle)
+                    .createdAt(LocalDateTime.now()))
+                    .build());
+        }
+    }
+    
+    private RecommendationResponse buildStoredRecommendations(SkillGapAnalysis analysis) {
+        return RecommendationResponse.builder()
+                .missingSkills(extractMissingSkillsWithDetails(analysis))
+                .courseRecommendations(courseRecommendationRepository
+                        .findByUserIdAndAnalysisIdOrderByRankAsc(analysis.getUserId(), analysis.getId()))
+                .learningPathway(analysis.getLearningPathway())
+                .insights(analysis.getRecommendationInsights())
+                .progressPercentage(calculateProgressPercentage(analysis))
+                .currentJobRole(getCurrentJobRole(analysis.getUserId()))
+                .targetJobRole(analysis.getJobRole())
+                .build();
+    }
+    
+    private RecommendationResponse refreshRecommendations(SkillGapAnalysis analysis) {
+        String userId = analysis.getUserId();
+        
+        // Get user profile for additional context
+        Optional<Student> student = studentRepository.findById(userId);
+        String currentJobRole = student.map(Student::getCurrentJobRole).orElse("Software Engineer");
+        
+        // Prepare REAL profile data
+        Map<String, Object> profileData = new HashMap<>();
+        if (student.isPresent()) {
+            Student studentData = student.get();
+            profileData.put("firstName", studentData.getFirstName());
+            profileData.put("lastName", studentData.getLastName());
+            profileData.put("email", studentData.getEmail());
+            profileData.put("currentJobRole", studentData.getCurrentJobRole());
+            profileData.put("yearsOfExperience", studentData.getYearsOfExperience());
+            profileData.put("department", studentData.getDepartment());
+            profileData.put("company", studentData.getCompanyName() != null ? studentData.getCompanyName() : "Not specified");
             
-            if (latestAnalysis.isEmpty()) {
-                log.warn("No skill gap analysis found for user: {}", userId);
-                return createFallbackRecommendations(userId);
+            // Add education if available
+            if (studentData.getEducation() != null && !studentData.getEducation().isEmpty()) {
+                profileData.put("education", studentData.getEducation());
             }
             
-            SkillGapAnalysis analysis = latestAnalysis.get();
+            // Add experience if available
+            if (studentData.getExperience() != null && !studentData.getExperience().isEmpty()) {
+                profileData.put("experience", studentData.getExperience());
+            }
             
-            // Get user profile for additional context
-            Optional<Student> student = studentRepository.findById(userId);
-            String currentJobRole = student.map(Student::getCurrentJobRole).orElse("Software Engineer");
+            log.info("✅ Loaded real profile data for user: {}", studentData.getEmail());
+        } else {
+            // Fallback profile data
+            profileData.put("currentJobRole", currentJobRole);
+            profileData.put("yearsOfExperience", 0);
+            profileData.put("department", "Not specified");
+            log.info("⚠️ Using fallback profile data for user: {}", userId);
+        }
+        
+        // Prepare skills data - use the current skills from analysis
+        List<UserSkillAnalysis> skillsData = analysis.getCurrentSkills();
+        
+        // Prepare request for Python ML service with REAL DATA
+        Map<String, Object> mlRequest = new HashMap<>();
+        mlRequest.put("user_id", userId);
+        mlRequest.put("job_role", analysis.getJobRole());
+        mlRequest.put("current_job_role", currentJobRole);
+        mlRequest.put("missing_skills", extractMissingSkills(analysis));
+        mlRequest.put("current_skills", analysis.getCurrentSkills());
+        
+        // Add the REAL profile and skills data
+        mlRequest.put("profile_data", profileData);
+        mlRequest.put("skills_data", skillsData);
+        
+        log.info("📤 Sending request to Python ML service with REAL user data");
+        log.info("👤 Profile data: {}", profileData.keySet());
+        log.info("🛠️ Skills data count: {}", skillsData.size());
+        
+        // Call Python ML service for course recommendations
+        try {
+            Map mlResponse = mlRequestCoalescer.call(MlEndpoint.RECOMMENDATIONS, mlRequest, Map.class);
+            log.info("✅ Python ML service responded successfully with real data");
+            RecommendationResponse response = mapMlResponseToRecommendationResponse(mlResponse, analysis, currentJobRole);
+            storeRecommendations(analysis, response);
+            return response;
+        } catch (Exception e) {
+            log.error("❌ Failed to call Python ML service: {}", e.getMessage());
+        }
+        
+        // Fallback to catalog recommendations if ML service fails; neither stored nor cached, so the next load retries
+        log.info("🔄 Using local catalog recommendations");
+        throw new CatalogFallbackException(createBasicRecommendations(analysis, currentJobRole));
+    }
+    
+    /**
+     * Stores ML recommendations for the analysis: courses as one bulk upsert keyed
+     * by analysis and course id, pathway and insights on the analysis document.
+     * Enrollment state from earlier recommendations is carried over. A failed
+     * write only costs a regeneration on the next load.
+     */
+    private void storeRecommendations(SkillGapAnalysis analysis, RecommendationResponse response) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, CourseRecommendation> previousState = new HashMap<>();
+            for (CourseRecommendation state : courseRecommendationRepository.findCourseStateByUserId(analysis.getUserId())) {
+                previousState.merge(state.getCourseId(), state, (first, second) -> first);
+            }
             
-            // Prepare REAL profile data
-            Map<String, Object> profileData = new HashMap<>();
-            if (student.isPresent()) {
-                Student studentData = student.get();
-                profileData.put("firstName", studentData.getFirstName());
-                profileData.put("lastName", studentData.getLastName());
-                profileData.put("email", studentData.getEmail());
-                profileData.put("currentJobRole", studentData.getCurrentJobRole());
-                profileData.put("yearsOfExperience", studentData.getYearsOfExperience());
-                profileData.put("department", studentData.getDepartment());
-                profileData.put("company", studentData.getCompanyName() != null ? studentData.getCompanyName() : "Not specified");
-                
-                // Add education if available
-                if (studentData.getEducation() != null && !studentData.getEducation().isEmpty()) {
-                    profileData.put("education", studentData.getEducation());
+            List<CourseRecommendation> courses = response.getCourseRecommendations();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CourseRecommendation.class);
+            for (int rank = 0; rank < courses.size(); rank++) {
+                CourseRecommendation course = courses.get(rank);
+                if (course.getCourseId() == null) {
+                    course.setCourseId("rank-" + rank);
                 }
-                
-                // Add experience if available
-                if (studentData.getExperience() != null && !studentData.getExperience().isEmpty()) {
-                    profileData.put("experience", studentData.getExperience());
+                course.setId(analysis.getId() + ":" + course.getCourseId());
+                course.setUserId(analysis.getUserId());
+                course.setAnalysisId(analysis.getId());
+                course.setRank(rank);
+                course.setCreatedAt(now);
+                CourseRecommendation state = previousState.get(course.getCourseId());
+                if (state != null) {
+                    course.setEnrolled(state.getEnrolled());
+                    course.setEnrolledAt(state.getEnrolledAt());
+                    course.setSavedForLater(state.getSavedForLater());
+                    course.setSavedAt(state.getSavedAt());
                 }
-                
-                log.info("✅ Loaded real profile data for user: {}", studentData.getEmail());
-            } else {
-                // Fallback profile data
-                profileData.put("currentJobRole", currentJobRole);
-                profileData.put("yearsOfExperience", 0);
-                profileData.put("department", "Not specified");
-                log.info("⚠️ Using fallback profile data for user: {}", userId);
+                bulk.replaceOne(Query.query(Criteria.where("_id").is(course.getId())), course,
+                        FindAndReplaceOptions.options().upsert());
             }
-            
-            // Prepare skills data - use the current skills from analysis
-            List<Map<String, Object>> skillsData = analysis.getCurrentSkills();
-            
-            // Prepare request for Python ML service with REAL DATA
-            Map<String, Object> mlRequest = new HashMap<>();
-            mlRequest.put("user_id", userId);
-            mlRequest.put("job_role", analysis.getJobRole());
-            mlRequest.put("current_job_role", currentJobRole);
-            mlRequest.put("missing_skills", extractMissingSkills(analysis));
-            mlRequest.put("current_skills", analysis.getCurrentSkills());
-            
-            // Add the REAL profile and skills data
-            mlRequest.put("profile_data", profileData);
-            mlRequest.put("skills_data", skillsData);
-            
-            log.info("📤 Sending request to Python ML service with REAL user data");
-            log.info("👤 Profile data: {}", profileData.keySet());
-            log.info("🛠️ Skills data count: {}", skillsData.size());
-            
-            // Call Python ML service for course recommendations
-            try {
-                ResponseEntity<Map> mlResponse = restTemplate.postForEntity(
-                    pythonMlServiceUrl + "/api/recommendations/generate",
-                    mlRequest,
-                    Map.class
-                );
-                
-                if (mlResponse.getStatusCode().is2xxSuccessful() && mlResponse.getBody() != null) {
-                    log.info("✅ Python ML service responded successfully with real data");
-                    return mapMlResponseToRecommendationResponse(mlResponse.getBody(), analysis);
-                } else {
-                    log.warn("⚠️ Python ML service returned non-200 status: {}", mlResponse.getStatusCode());
-                }
-            } catch (Exception e) {
-                log.error("❌ Failed to call Python ML service: {}", e.getMessage());
+            if (!courses.isEmpty()) {
+                bulk.execute();
             }
             
-            // Fallback to basic recommendations if ML service fails
-            log.info("🔄 Using fallback recommendations");
-            return createBasicRecommendations(analysis, currentJobRole);
+            // Recommendations of older analyses are no longer served; keep only those carrying state
+            mongoTemplate.remove(Query.query(Criteria.where("userId").is(analysis.getUserId())
+                    .and("analysisId").nin(analysis.getId(), null)
+                    .and("enrolled").ne(true)
+                    .and("savedForLater").ne(true)), CourseRecommendation.class);
             
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(analysis.getId())),
+                    new Update()
+                            .set("learning_pathway", response.getLearningPathway())
+                            .set("recommendation_insights", response.getInsights())
+                            .set("recommendations_generated_at", now),
+                    SkillGapAnalysis.class);
+            log.info("Stored {} course recommendations for user: {}, analysis: {}",
+                    courses.size(), analysis.getUserId(), analysis.getId());
         } catch (Exception e) {
-            log.error("❌ Error generating recommendations for user {}: {}", userId, e.getMessage(), e);
-            return createFallbackRecommendations(userId);
+            log.error("Failed to store recommendations for analysis {}: {}", analysis.getId(), e.getMessage());
         }
     }
     
@@ -127,10 +310,10 @@ public class RecommendationService {
         return analysis.getMissingSkills().stream()
                 .map(skill -> {
                     Map<String, Object> skillMap = new HashMap<>();
-                    skillMap.put("name", skill.get("name"));
-                    skillMap.put("importance", skill.get("importance"));
-                    skillMap.put("category", skill.get("category"));
-                    skillMap.put("priority", getPriorityFromImportance((Double) skill.get("importance")));
+                    skillMap.put("name", skill.getName());
+                    skillMap.put("importance", skill.getImportance());
+                    skillMap.put("category", skill.getCategory());
+                    skillMap.put("priority", getPriorityFromImportance(skill.getImportance()));
                     return skillMap;
                 })
                 .collect(Collectors.toList());
@@ -143,31 +326,21 @@ public class RecommendationService {
     }
     
     private RecommendationResponse mapMlResponseToRecommendationResponse(Map<String, Object> mlResponse, 
-            SkillGapAnalysis analysis) {
+            SkillGapAnalysis analysis, String currentJobRole) {
 try {
 // Extract missing skills with enhanced data
-List<Map<String, Object>> missingSkills = analysis.getMissingSkills().stream()
-.map(skill -> {
-Map<String, Object> enhancedSkill = new HashMap<>();
-enhancedSkill.put("name", skill.get("name"));
-enhancedSkill.put("description", getSkillDescription((String) skill.get("name")));
-enhancedSkill.put("importance", skill.get("importance"));
-enhancedSkill.put("category", skill.get("category"));
-enhancedSkill.put("priority", getPriorityFromImportance((Double) skill.get("importance")));
-return enhancedSkill;
-})
-.collect(Collectors.toList());
+List<Map<String, Object>> missingSkills = extractMissingSkillsWithDetails(analysis);
 
 // Calculate progress
 double progressPercentage = calculateProgressPercentage(analysis);
 
-// Get current job role from student profile
-String currentJobRole = getCurrentJobRole(analysis.getUserId());
+// Plan the pathway locally when the ML service does not return one
+List<LearningPathStep> learningPathway = extractLearningPathwayFromMlResponse(mlResponse);
 
 return RecommendationResponse.builder()
 .missingSkills(missingSkills)
 .courseRecommendations(extractCoursesFromMlResponse(mlResponse))
-.learningPathway(extractLearningPathwayFromMlResponse(mlResponse))
+.learningPathway(learningPathway.isEmpty() ? generateBasicLearningPathway(analysis) : learningPathway)
 .insights(extractInsightsFromMlResponse(mlResponse, analysis))
 .progressPercentage(progressPercentage)
 .currentJobRole(currentJobRole)
@@ -176,10 +349,24 @@ return RecommendationResponse.builder()
 
 } catch (Exception e) {
 log.error("Error mapping ML response: {}", e.getMessage());
-return createBasicRecommendations(analysis, "Software Engineer");
+return createBasicRecommendations(analysis, currentJobRole);
 }
 }
 
+    private List<Map<String, Object>> extractMissingSkillsWithDetails(SkillGapAnalysis analysis) {
+        return analysis.getMissingSkills().stream()
+                .map(skill -> {
+                    Map<String, Object> enhancedSkill = new HashMap<>();
+                    enhancedSkill.put("name", skill.getName());
+                    enhancedSkill.put("description", getSkillDescription(skill.getName()));
+                    enhancedSkill.put("importance", skill.getImportance());
+                    enhancedSkill.put("category", skill.getCategory());
+                    enhancedSkill.put("priority", getPriorityFromImportance(skill.getImportance()));
+                    return enhancedSkill;
+                })
+                .collect(Collectors.toList());
+    }
+    
 private String getCurrentJobRole(String userId) {
 try {
 Optional<Student> student = studentRepository.findById(userId);
@@ -197,7 +384,7 @@ return "Software Engineer";
             
             return courseData.stream()
                     .map(course -> CourseRecommendation.builder()
-                            .id((String) course.get("id"))
+                            .courseId((String) course.get("id"))
                             .skillId((String) course.get("skillId"))
                             .skillName((String) course.get("skillName"))
                             .platform((String) course.get("platform"))
@@ -298,7 +485,7 @@ return "Software Engineer";
         
         // Add skill-specific insights
         if (analysis.getMissingSkills().stream().anyMatch(skill -> 
-            ((String) skill.get("name")).toLowerCase().contains("cloud"))) {
+            skill.getName().toLowerCase().contains("cloud"))) {
             insights.add("☁️ Cloud skills are in high demand and can significantly increase your market value.");
         }
         
@@ -314,10 +501,13 @@ return "Software Engineer";
         
         return RecommendationResponse.builder()
                 .missingSkills(missingSkills)
-                .courseRecommendations(new ArrayList<>()) // Will be populated by frontend fallback
+                .courseRecommendations(new ArrayList<>(
+                        courseCatalogService.recommend(analysis.getMissingSkills(), CATALOG_COURSE_LIMIT)))
                 .learningPathway(generateBasicLearningPathway(analysis))
                 .insights(generateFallbackInsights(analysis))
                 .progressPercentage(progressPercentage)
+                .currentJobRole(currentJobRole)
+                .targetJobRole(analysis.getJobRole())
                 .build();
     }
     
@@ -342,71 +532,33 @@ return "Software Engineer";
     }
     
     private List<LearningPathStep> generateBasicLearningPathway(SkillGapAnalysis analysis) {
-        List<LearningPathStep> pathway = new ArrayList<>();
-        
-        // Group skills by importance
-        List<String> highPrioritySkills = analysis.getMissingSkills().stream()
-                .filter(skill -> ((Double) skill.get("importance")) > 0.1)
-                .map(skill -> (String) skill.get("name"))
-                .limit(3)
-                .collect(Collectors.toList());
-        
-        List<String> mediumPrioritySkills = analysis.getMissingSkills().stream()
-                .filter(skill -> ((Double) skill.get("importance")) <= 0.1 && 
-                                ((Double) skill.get("importance")) > 0.05)
-                .map(skill -> (String) skill.get("name"))
-                .limit(3)
-                .collect(Collectors.toList());
-        
-        int step = 1;
-        
-        if (!highPrioritySkills.isEmpty()) {
-            pathway.add(LearningPathStep.builder()
-                    .step(step++)
-                    .title("Master " + String.join(", ", highPrioritySkills.subList(0, Math.min(2, highPrioritySkills.size()))))
-                    .description("Build strong foundation in high-priority technologies")
-                    .duration("3 weeks")
-                    .skills(highPrioritySkills)
-                    .status("current")
-                    .courses(List.of("course_1", "course_2"))
-                    .build());
-        }
-        
-        if (!mediumPrioritySkills.isEmpty()) {
-            pathway.add(LearningPathStep.builder()
-                    .step(step)
-                    .title("Learn Additional Core Technologies")
-                    .description("Expand your skill set with important supporting technologies")
-                    .duration("2 weeks")
-                    .skills(mediumPrioritySkills)
-                    .status("upcoming")
-                    .courses(List.of("course_3", "course_4"))
-                    .build());
-        }
-        
-        return pathway;
+        List<String> currentSkills = analysis.getCurrentSkills() == null ? List.of()
+                : analysis.getCurrentSkills().stream().map(UserSkillAnalysis::getName).toList();
+        return learningPathPlanner.plan(analysis.getMissingSkills(), currentSkills);
     }
     
     private List<LearningPathStep> generateFallbackLearningPathway() {
-        return List.of(
-            LearningPathStep.builder()
-                    .step(1)
-                    .title("Master Node.js & MongoDB Fundamentals")
-                    .description("Build strong foundation in backend technologies")
-                    .duration("2 weeks")
-                    .skills(List.of("Node.js", "MongoDB"))
-                    .status("current")
-                    .courses(List.of("course_1", "course_2"))
-                    .build(),
-            LearningPathStep.builder()
-                    .step(2)
-                    .title("Learn Git & Collaboration")
-                    .description("Master version control and team workflows")
-                    .duration("1 week")
-                    .skills(List.of("Git"))
-                    .status("upcoming")
-                    .courses(List.of("course_3"))
-                    .build()
-        );
+        return learningPathPlanner.plan(List.of(
+                fallbackSkill("Node.js", 0.8),
+                fallbackSkill("MongoDB", 0.7),
+                fallbackSkill("Git", 0.6)), List.of());
+    }
+    
+    private SkillAnalysis fallbackSkill(String name, double importance) {
+        SkillAnalysis skill = new SkillAnalysis();
+        skill.setName(name);
+        skill.setImportance(importance);
+        return skill;
     }
-}
\ No newline at end of file
+
+    /** The ML service failed; carries the catalog recommendations to serve instead, uncached. */
+    @Getter
+    static class CatalogFallbackException extends RuntimeException {
+        private final RecommendationResponse fallback;
+
+        CatalogFallbackException(RecommendationResponse fallback) {
+            super("ML recommendations unavailable", null, false, false);
+            this.fallback = fallback;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.SkillAnalyticsDTO;
+import com.cp.workskillai.models.UserSkill;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-user skill statistics. {@link #getAnalytics} computes everything in one
+ * $facet aggregation, so only the numbers leave the database however many
+ * skills a user has; {@link #summarize} computes the same figures in a single
+ * pass over skills a caller has already loaded.
+ */
+@Service
+@RequiredArgsConstructor
+public class SkillAnalyticsService {
+
+    static final List<String> STATUSES = List.of("verified", "pending", "unverified", "needs_improvement");
+    static final List<String> LEVELS = List.of("Expert", "Advanced", "Intermediate", "Beginner", "Pending");
+    static final String UNCATEGORIZED = "Other";
+    private static final double DEFAULT_CONFIDENCE = 0.5;
+
+    private final MongoTemplate mongoTemplate;
+
+    public SkillAnalyticsDTO getAnalytics(String userId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId).and("active").ne(false)),
+                Aggregation.facet(Aggregation.group()
+                                .count().as("skills")
+                                .sum(isVerified()).as("verified")
+                                .avg("proficiency").as("averageProficiency")
+                                .avg(confidence()).as("averageConfidence"))
+                        .as("totals")
+                        .and(Aggregation.group("status").count().as("skills")).as("byStatus")
+                        .and(Aggregation.group("level").count().as("skills")).as("byLevel")
+                        .and(Aggregation.project("verified", "proficiency")
+                                        .and(ConditionalOperators.ifNull("category").then(UNCATEGORIZED)).as("category"),
+                                Aggregation.group("category")
+                                        .count().as("skills")
+                                        .sum(isVerified()).as("verified")
+                                        .avg("proficiency").as("averageProficiency"))
+                        .as("byCategory"));
+
+        Document facets = mongoTemplate.aggregate(aggregation, UserSkill.class, Document.class)
+                .getUniqueMappedResult();
+        Summary summary = new Summary();
+        if (facets != null) {
+            for (Document totals : facets.getList("totals", Document.class)) {
+                summary.skills = totals.getInteger("skills", 0);
+                summary.verified = totals.getInteger("verified", 0);
+                summary.proficiencyAverage = totals.get("averageProficiency", Number.class);
+                summary.confidenceAverage = totals.get("averageConfidence", Number.class);
+            }
+            facets.getList("byStatus", Document.class)
+                    .forEach(group -> summary.statuses.merge(group.getString("_id"), count(group), Long::sum));
+            facets.getList("byLevel", Document.class)
+                    .forEach(group -> summary.levels.merge(group.getString("_id"), count(group), Long::sum));
+            for (Document group : facets.getList("byCategory", Document.class)) {
+                CategoryTotals category = summary.category(group.getString("_id"));
+                category.skills = group.getInteger("skills", 0);
+                category.verified = group.getInteger("verified", 0);
+                Number average = group.get("averageProficiency", Number.class);
+                category.proficiencyAverage = average != null ? average.doubleValue() : null;
+            }
+        }
+        return summary.toDTO();
+    }
+
+    /** Same figures as {@link #getAnalytics} for an already loaded list, in one pass. */
+    public SkillAnalyticsDTO summarize(Collection<UserSkill> skills) {
+        Summary summary = new Summary();
+        long proficiencyTotal = 0;
+        int proficiencyCount = 0;
+        double confidenceTotal = 0;
+        for (UserSkill skill : skills) {
+            boolean verified = Boolean.TRUE.equals(skill.getVerified());
+            summary.skills++;
+            summary.verified += verified ? 1 : 0;
+            confidenceTotal += confidenceOf(skill.getConfidenceLevel());
+            summary.statuses.merge(skill.getStatus(), 1L, Long::sum);
+            summary.levels.merge(skill.getLevel(), 1L, Long::sum);
+
+            CategoryTotals category = summary.category(skill.getCategory());
+            category.skills++;
+            category.verified += verified ? 1 : 0;
+            if (skill.getProficiency() != null) {
+                proficiencyTotal += skill.getProficiency();
+                proficiencyCount++;
+                category.proficiencyTotal += skill.getProficiency();
+                category.proficiencyCount++;
+            }
+        }
+        summary.proficiencyAverage = proficiencyCount > 0 ? (double) proficiencyTotal / proficiencyCount : null;
+        summary.confidenceAverage = summary.skills > 0 ? confidenceTotal / summary.skills : null;
+        return summary.toDTO();
+    }
+
+    public static double confidenceOf(String confidenceLevel) {
+        if (confidenceLevel == null) return DEFAULT_CONFIDENCE;
+        return switch (confidenceLevel.toLowerCase(Locale.ROOT)) {
+            case "high" -> 0.9;
+            case "medium" -> 0.7;
+            case "low" -> 0.3;
+            default -> DEFAULT_CONFIDENCE;
+        };
+    }
+
+    private static AggregationExpression isVerified() {
+        return ConditionalOperators.when(Criteria.where("verified").is(true)).then(1).otherwise(0);
+    }
+
+    // Server-side twin of confidenceOf
+    private static AggregationExpression confidence() {
+        StringOperators.ToLower level = StringOperators.valueOf("confidenceLevel").toLower();
+        return ConditionalOperators.when(ComparisonOperators.valueOf(level).equalToValue("high")).then(0.9)
+                .otherwiseValueOf(ConditionalOperators.when(ComparisonOperators.valueOf(level).equalToValue("medium")).then(0.7)
+                        .otherwiseValueOf(ConditionalOperators.when(ComparisonOperators.valueOf(level).equalToValue("low")).then(0.3)
+                                .otherwise(DEFAULT_CONFIDENCE)));
+    }
+
+    private static long count(Document group) {
+        return group.getInteger("skills", 0);
+    }
+
+    // Running totals shared by both paths, so they shape the result the same way
+    private static final class Summary {
+        int skills;
+        int verified;
+        Number proficiencyAverage;
+        Number confidenceAverage;
+        final Map<String, Long> statuses = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        final Map<String, Long> levels = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        final Map<String, CategoryTotals> categories = new LinkedHashMap<>();
+
+        CategoryTotals category(String name) {
+            return categories.computeIfAbsent(name != null ? name : UNCATEGORIZED, CategoryTotals::new);
+        }
+
+        SkillAnalyticsDTO toDTO() {
+            Map<String, Long> skillDistribution = new LinkedHashMap<>();
+            STATUSES.forEach(status -> skillDistribution.put(status, statuses.getOrDefault(status, 0L)));
+            Map<String, Long> levelDistribution = new LinkedHashMap<>();
+            LEVELS.forEach(level -> levelDistribution.put(level.toLowerCase(Locale.ROOT), levels.getOrDefault(level, 0L)));
+
+            List<SkillAnalyticsDTO.CategoryStat> breakdown = new ArrayList<>();
+            for (CategoryTotals category : categories.values()) {
+                breakdown.add(new SkillAnalyticsDTO.CategoryStat(category.name, category.skills, category.verified,
+                        category.average()));
+            }
+            breakdown.sort(Comparator.comparing(SkillAnalyticsDTO.CategoryStat::getSkills).reversed()
+                    .thenComparing(SkillAnalyticsDTO.CategoryStat::getCategory));
+
+            return SkillAnalyticsDTO.builder()
+                    .totalSkills(skills)
+                    .verifiedSkills((long) verified)
+                    .averageProficiency(proficiencyAverage != null ? proficiencyAverage.doubleValue() : 0.0)
+                    .averageConfidence(confidenceAverage != null ? confidenceAverage.doubleValue() : DEFAULT_CONFIDENCE)
+                    .skillDistribution(skillDistribution)
+                    .levelDistribution(levelDistribution)
+                    .categoryBreakdown(breakdown)
+                    .build();
+        }
+    }
+
+    private static final class CategoryTotals {
+        final String name;
+        int skills;
+        int verified;
+        long proficiencyTotal;
+        int proficiencyCount;
+        Double proficiencyAverage; // set directly by the aggregation path
+
+        CategoryTotals(String name) {
+            this.name = name;
+        }
+
+        double average() {
+            if (proficiencyAverage != null) {
+                return proficiencyAverage;
+            }
+            return proficiencyCount > 0 ? (double) proficiencyTotal / proficiencyCount : 0.0;
+        }
+    }
+}
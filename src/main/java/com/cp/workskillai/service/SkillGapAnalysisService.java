@@ -1,19 +1,35 @@
 // SkillGapAnalysisService.java (MongoDB version)
 package com.cp.workskillai.service;
 
+import com.cp.workskillai.config.StaleWhileRevalidateCacheFactory;
 import com.cp.workskillai.dto.*;
+import com.cp.workskillai.events.SkillGapAnalysisCompletedEvent;
+import com.cp.workskillai.models.CurrentRolePointer;
 import com.cp.workskillai.models.SkillGapAnalysis;
+import com.cp.workskillai.repository.CurrentRolePointerRepository;
 import com.cp.workskillai.repository.SkillGapAnalysisRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @Service
@@ -21,12 +37,26 @@ import java.util.*;
 @Slf4j
 public class SkillGapAnalysisService {
 
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_FLAG_SYNC_ATTEMPTS = 5;
+    private static final String CURRENT_ROLE_CACHE = "current-role";
+
     private final SkillGapAnalysisRepository analysisRepository;
+    private final CurrentRolePointerRepository currentRolePointerRepository;
+    private final MongoTemplate mongoTemplate;
     private final RestTemplate restTemplate;
+    private final MlRequestCoalescer mlRequestCoalescer;
     private final ObjectMapper objectMapper;
-    
-    @Value("${python.service.url:http://localhost:8000}")
-    private String pythonServiceUrl;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StaleWhileRevalidateCacheFactory cacheFactory;
+
+    private LoadingCache<String, CurrentRoleResponseDTO> currentRoleCache;
+
+    @PostConstruct
+    void initCache() {
+        currentRoleCache = cacheFactory.create(CURRENT_ROLE_CACHE, this::loadCurrentRoleAnalysis);
+    }
 
     public SkillGapAnalysisResponse analyzeSkillGap(SkillGapAnalysisRequest request) {
         try {
@@ -46,7 +76,9 @@ public class SkillGapAnalysisService {
             SkillGapAnalysisResponse analysisResult = callPythonService(pythonRequest);
             
             // Save analysis to MongoDB and set as current role
-            saveAnalysisToDatabase(request.getUserId(), request.getJobRole(), analysisResult, true);
+            SkillGapAnalysis saved = saveAnalysisToDatabase(request.getUserId(), request.getJobRole(), analysisResult, true);
+            eventPublisher.publishEvent(new SkillGapAnalysisCompletedEvent(
+                    saved.getUserId(), saved.getId(), saved.getJobRole(), saved.getMatchScore(), saved.getAnalyzedAt()));
             
             log.info("Skill gap analysis completed successfully for user: {}", request.getUserId());
             return analysisResult;
@@ -184,62 +216,92 @@ public class SkillGapAnalysisService {
     }
     public CurrentRoleResponseDTO getCurrentRoleAnalysis(String userId) {
         try {
-            Optional<SkillGapAnalysis> currentAnalysis = analysisRepository.findCurrentRoleAnalysis(userId);
-            
-            CurrentRoleResponseDTO response = new CurrentRoleResponseDTO();
-            
-            if (currentAnalysis.isPresent()) {
-                SkillGapAnalysis analysis = currentAnalysis.get();
-                response.setCurrentRole(analysis.getJobRole());
-                response.setMatchScore(analysis.getMatchScore());
-                response.setHasAnalysis(true);
-                
-                // Convert MongoDB document to DTO
-                response.setRequiredSkills(convertToSkillAnalysisList(analysis.getRequiredSkills()));
-                response.setCurrentSkills(convertToUserSkillAnalysisList(analysis.getCurrentSkills()));
-                response.setMissingSkills(convertToSkillAnalysisList(analysis.getMissingSkills()));
-                response.setPartialMatchSkills(convertToSkillAnalysisList(analysis.getPartialMatchSkills()));
-                response.setGapAnalysis(analysis.getGapAnalysis());
-                response.setRecommendations(analysis.getRecommendations());
-                response.setTimeToCloseGap(analysis.getTimeToCloseGap());
-                response.setSalaryImpact(analysis.getSalaryImpact());
-            } else {
-                response.setHasAnalysis(false);
-                response.setCurrentRole("Not set");
-            }
-            
-            return response;
-            
+            return currentRoleCache.get(userId);
         } catch (Exception e) {
             log.error("Error fetching current role analysis: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch current role analysis");
         }
     }
 
-    public List<SkillGapAnalysisHistoryDTO> getAnalysisHistory(String userId) {
-        List<SkillGapAnalysis> analyses = analysisRepository.findByUserIdOrderByAnalyzedAtDesc(userId);
-        List<SkillGapAnalysisHistoryDTO> history = new ArrayList<>();
+    private CurrentRoleResponseDTO loadCurrentRoleAnalysis(String userId) {
+        Optional<SkillGapAnalysis> currentAnalysis = findCurrentRole(userId);
+        
+        CurrentRoleResponseDTO response = new CurrentRoleResponseDTO();
         
-        for (SkillGapAnalysis analysis : analyses) {
-            SkillGapAnalysisHistoryDTO dto = new SkillGapAnalysisHistoryDTO();
-            dto.setId(analysis.getId());
-            dto.setJobRole(analysis.getJobRole());
-            dto.setMatchScore(analysis.getMatchScore());
-            dto.setRequiredSkills(convertToSkillAnalysisList(analysis.getRequiredSkills()));
-            dto.setCurrentSkills(convertToUserSkillAnalysisList(analysis.getCurrentSkills()));
-            dto.setMissingSkills(convertToSkillAnalysisList(analysis.getMissingSkills()));
-            dto.setPartialMatchSkills(convertToSkillAnalysisList(analysis.getPartialMatchSkills()));
-            dto.setGapAnalysis(analysis.getGapAnalysis());
-            dto.setRecommendations(analysis.getRecommendations());
-            dto.setTimeToCloseGap(analysis.getTimeToCloseGap());
-            dto.setSalaryImpact(analysis.getSalaryImpact());
-            dto.setIsCurrentRole(analysis.getIsCurrentRole());
-            dto.setAnalyzedAt(analysis.getAnalyzedAt());
+        if (currentAnalysis.isPresent()) {
+            SkillGapAnalysis analysis = currentAnalysis.get();
+            response.setCurrentRole(analysis.getJobRole());
+            response.setMatchScore(analysis.getMatchScore());
+            response.setHasAnalysis(true);
             
-            history.add(dto);
+            response.setRequiredSkills(analysis.getRequiredSkills());
+            response.setCurrentSkills(analysis.getCurrentSkills());
+            response.setMissingSkills(analysis.getMissingSkills());
+            response.setPartialMatchSkills(analysis.getPartialMatchSkills());
+            response.setGapAnalysis(analysis.getGapAnalysis());
+            response.setRecommendations(analysis.getRecommendations());
+            response.setTimeToCloseGap(analysis.getTimeToCloseGap());
+            response.setSalaryImpact(analysis.getSalaryImpact());
+        } else {
+            response.setHasAnalysis(false);
+            response.setCurrentRole("Not set");
         }
         
-        return history;
+        return response;
+    }
+
+    /**
+     * Keyset-paginated history metadata. Each page is a bounded index range scan on
+     * (user_id, analyzed_at, _id), so page cost does not grow with the user's history.
+     */
+    public CursorPage<SkillGapAnalysisSummaryDTO> getAnalysisHistoryPage(String userId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_HISTORY_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+
+        List<SkillGapAnalysisSummaryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = analysisRepository.findAnalysisMetadataByUserId(userId, pageRequest);
+        } else {
+            String[] position = decodeHistoryCursor(cursor);
+            rows = analysisRepository.findAnalysisMetadataByUserIdAfter(
+                    userId, LocalDateTime.parse(position[0]), new ObjectId(position[1]), pageRequest);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<SkillGapAnalysisSummaryDTO> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = hasMore ? encodeHistoryCursor(items.get(items.size() - 1)) : null;
+
+        return CursorPage.<SkillGapAnalysisSummaryDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public SkillGapAnalysisHistoryDTO getAnalysisDetail(String userId, String analysisId) {
+        return analysisRepository.findHistoryByIdAndUserId(analysisId, userId)
+                .orElseThrow(() -> new NoSuchElementException("Analysis not found: " + analysisId));
+    }
+
+    private String encodeHistoryCursor(SkillGapAnalysisSummaryDTO last) {
+        String position = last.getAnalyzedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeHistoryCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2 || !ObjectId.isValid(parts[1])) {
+                throw new IllegalArgumentException("Invalid history cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid history cursor", e);
+        }
     }
 
     private Map<String, Object> preparePythonRequest(SkillGapAnalysisRequest request, Map<String, Object> userData) {
@@ -253,26 +315,12 @@ public class SkillGapAnalysisService {
 
     private SkillGapAnalysisResponse callPythonService(Map<String, Object> request) {
         try {
-            String url = pythonServiceUrl + "/internal-analyze";
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
-            
             // Use String.class to get the raw response first
-            ResponseEntity<String> response = restTemplate.exchange(
-                url, HttpMethod.POST, entity, String.class);
+            String responseBody = mlRequestCoalescer.call(MlEndpoint.ANALYZE, request, String.class);
+            log.info("Python service response received: {}", responseBody);
             
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                log.info("Python service response received: {}", response.getBody());
-                
-                // Parse the response manually to handle field mapping
-                return parsePythonResponse(response.getBody());
-            } else {
-                log.error("Python service returned error: {}", response.getStatusCode());
-                throw new RuntimeException("Python service returned error: " + response.getStatusCode());
-            }
+            // Parse the response manually to handle field mapping
+            return parsePythonResponse(responseBody);
         } catch (Exception e) {
             log.error("Error calling Python service: {}", e.getMessage(), e);
             throw new RuntimeException("Python service unavailable: " + e.getMessage());
@@ -349,33 +397,32 @@ public class SkillGapAnalysisService {
         return skills;
     }
 
-    private void saveAnalysisToDatabase(String userId, String jobRole, 
+    private SkillGapAnalysis saveAnalysisToDatabase(String userId, String jobRole,
                                       SkillGapAnalysisResponse analysis, boolean setAsCurrent) {
         try {
-            if (setAsCurrent) {
-                // Clear previous current role flag
-                analysisRepository.clearCurrentRoleFlag(userId);
-            }
-            
             SkillGapAnalysis entity = new SkillGapAnalysis();
             entity.setUserId(userId);
             entity.setJobRole(jobRole);
             entity.setMatchScore(analysis.getMatchScore());
             entity.setAnalyzedAt(LocalDateTime.now());
-            entity.setIsCurrentRole(setAsCurrent);
+            // Flagged by switchCurrentRole once the pointer has moved
+            entity.setIsCurrentRole(false);
             
-            // Convert DTOs to MongoDB-compatible maps
-            entity.setRequiredSkills(convertSkillAnalysisToMap(analysis.getRequiredSkills()));
-            entity.setCurrentSkills(convertUserSkillAnalysisToMap(analysis.getCurrentSkills()));
-            entity.setMissingSkills(convertSkillAnalysisToMap(analysis.getMissingSkills()));
-            entity.setPartialMatchSkills(convertSkillAnalysisToMap(analysis.getPartialMatchSkills()));
+            entity.setRequiredSkills(analysis.getRequiredSkills());
+            entity.setCurrentSkills(analysis.getCurrentSkills());
+            entity.setMissingSkills(analysis.getMissingSkills());
+            entity.setPartialMatchSkills(analysis.getPartialMatchSkills());
             entity.setGapAnalysis(analysis.getGapAnalysis());
             entity.setRecommendations(analysis.getRecommendations());
             entity.setTimeToCloseGap(analysis.getTimeToCloseGap());
             entity.setSalaryImpact(analysis.getSalaryImpact());
             
-            analysisRepository.save(entity);
+            SkillGapAnalysis saved = analysisRepository.save(entity);
+            if (setAsCurrent) {
+                switchCurrentRole(saved);
+            }
             log.info("Analysis saved to MongoDB for user: {}, role: {}", userId, jobRole);
+            return saved;
             
         } catch (Exception e) {
             log.error("Error saving analysis to database: {}", e.getMessage(), e);
@@ -383,77 +430,71 @@ public class SkillGapAnalysisService {
         }
     }
 
-    // Helper methods for conversion between DTO and MongoDB document
-    private List<Map<String, Object>> convertSkillAnalysisToMap(List<SkillAnalysis> skills) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        if (skills == null) return result;
-        
-        for (SkillAnalysis skill : skills) {
-            Map<String, Object> skillMap = new HashMap<>();
-            skillMap.put("name", skill.getName());
-            skillMap.put("importance", skill.getImportance());
-            skillMap.put("requiredProficiency", skill.getRequiredProficiency());
-            skillMap.put("category", skill.getCategory());
-            skillMap.put("probability", skill.getProbability());
-            skillMap.put("userProficiency", skill.getUserProficiency());
-            skillMap.put("gap", skill.getGap());
-            skillMap.put("status", skill.getStatus());
-            skillMap.put("userConfidence", skill.getUserConfidence());
-            result.add(skillMap);
+    /**
+     * Returns the user's current-role analysis. The pointer document is
+     * authoritative; users whose current role predates it fall back to the flag.
+     */
+    public Optional<SkillGapAnalysis> findCurrentRole(String userId) {
+        Optional<CurrentRolePointer> pointer = currentRolePointerRepository.findById(userId);
+        if (pointer.isPresent()) {
+            return analysisRepository.findById(pointer.get().getAnalysisId());
         }
-        return result;
+        return analysisRepository.findCurrentRoleAnalysis(userId);
     }
 
-    private List<Map<String, Object>> convertUserSkillAnalysisToMap(List<UserSkillAnalysis> skills) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        if (skills == null) return result;
-        
-        for (UserSkillAnalysis skill : skills) {
-            Map<String, Object> skillMap = new HashMap<>();
-            skillMap.put("name", skill.getName());
-            skillMap.put("proficiency", skill.getProficiency());
-            skillMap.put("level", skill.getLevel());
-            skillMap.put("verified", skill.getVerified());
-            skillMap.put("confidence", skill.getConfidence());
-            result.add(skillMap);
-        }
-        return result;
-    }
+    /**
+     * Moves the user's current-role pointer to the given analysis in a single
+     * findAndModify, so readers never see zero or two current roles.
+     */
+    private void switchCurrentRole(SkillGapAnalysis analysis) {
+        Update update = new Update()
+                .set("analysis_id", analysis.getId())
+                .set("job_role", analysis.getJobRole())
+                .set("updated_at", LocalDateTime.now());
 
-    private List<SkillAnalysis> convertToSkillAnalysisList(List<Map<String, Object>> skillMaps) {
-        List<SkillAnalysis> result = new ArrayList<>();
-        if (skillMaps == null) return result;
-        
-        for (Map<String, Object> skillMap : skillMaps) {
-            SkillAnalysis skill = new SkillAnalysis();
-            skill.setName((String) skillMap.get("name"));
-            skill.setImportance(convertToDouble(skillMap.get("importance")));
-            skill.setRequiredProficiency(convertToInteger(skillMap.get("requiredProficiency")));
-            skill.setCategory((String) skillMap.get("category"));
-            skill.setProbability(convertToDouble(skillMap.get("probability")));
-            skill.setUserProficiency(convertToInteger(skillMap.get("userProficiency")));
-            skill.setGap(convertToInteger(skillMap.get("gap")));
-            skill.setStatus((String) skillMap.get("status"));
-            skill.setUserConfidence((String) skillMap.get("userConfidence"));
-            result.add(skill);
-        }
-        return result;
+        CurrentRolePointer pointer = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(analysis.getUserId())),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                CurrentRolePointer.class);
+
+        syncCurrentRoleFlags(analysis.getUserId(), pointer.getAnalysisId());
+        currentRoleCache.invalidate(analysis.getUserId());
     }
 
-    private List<UserSkillAnalysis> convertToUserSkillAnalysisList(List<Map<String, Object>> skillMaps) {
-        List<UserSkillAnalysis> result = new ArrayList<>();
-        if (skillMaps == null) return result;
-        
-        for (Map<String, Object> skillMap : skillMaps) {
-            UserSkillAnalysis skill = new UserSkillAnalysis();
-            skill.setName((String) skillMap.get("name"));
-            skill.setProficiency(convertToInteger(skillMap.get("proficiency")));
-            skill.setLevel((String) skillMap.get("level"));
-            skill.setVerified(convertToBoolean(skillMap.get("verified")));
-            skill.setConfidence((String) skillMap.get("confidence"));
-            result.add(skill);
+    /**
+     * Brings the denormalised is_current_role flags in line with the pointer.
+     * A concurrent switch may move the pointer while we write, so re-read it
+     * afterwards and repeat until the flags match what the pointer says.
+     */
+    private void syncCurrentRoleFlags(String userId, String currentId) {
+        for (int attempt = 0; attempt < MAX_FLAG_SYNC_ATTEMPTS; attempt++) {
+            ObjectId currentObjectId = new ObjectId(currentId);
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("user_id").is(userId)
+                            .and("is_current_role").is(true)
+                            .and("_id").ne(currentObjectId)),
+                    new Update().set("is_current_role", false),
+                    SkillGapAnalysis.class);
+            try {
+                mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(currentObjectId)),
+                        new Update().set("is_current_role", true),
+                        SkillGapAnalysis.class);
+            } catch (DuplicateKeyException e) {
+                // Another switch flagged its analysis in between; the pointer decides below
+                log.debug("Current-role flag conflict for user {}, retrying", userId);
+            }
+
+            String latestId = currentRolePointerRepository.findById(userId)
+                    .map(CurrentRolePointer::getAnalysisId)
+                    .orElse(currentId);
+            if (latestId.equals(currentId)) {
+                return;
+            }
+            currentId = latestId;
         }
-        return result;
+        log.warn("Current-role flags for user {} still settling after {} attempts", userId, MAX_FLAG_SYNC_ATTEMPTS);
     }
 
     // Utility conversion methods
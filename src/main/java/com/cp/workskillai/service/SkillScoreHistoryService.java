@@ -0,0 +1,166 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.SkillScoreTrendDTO;
+import com.cp.workskillai.models.SkillScoreBucket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only history of skill scores in monthly {@link SkillScoreBucket}s.
+ * Recording is one upsert into the user's current, not yet full bucket for
+ * the month: the event is $push-ed and the skill's running totals bumped
+ * with $inc/$max. Trend reads fetch only the totals of the buckets in range,
+ * never the events, so they cost one small document per month.
+ *
+ * <p>Skill ids become field names in the totals map, so only ObjectId-shaped
+ * ids are accepted; anything else could reach into other fields.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillScoreHistoryService {
+
+    // Keeps a bucket well inside the document size limit however busy a month is
+    public static final int MAX_EVENTS_PER_BUCKET = 200;
+
+    // Longest range one request may ask for
+    private static final int MAX_MONTHS = 120;
+
+    private final MongoTemplate mongoTemplate;
+
+    public void record(String userId, String skillId, String skillName, Integer score, String status,
+                       LocalDateTime at) {
+        if (userId == null || skillId == null) {
+            return;
+        }
+        if (!ObjectId.isValid(skillId)) {
+            log.warn("Not recording score history for malformed skill id {}", skillId);
+            return;
+        }
+        String totals = "skills." + skillId;
+        Update update = new Update()
+                .push("events", SkillScoreBucket.ScoreEvent.builder()
+                        .skillId(skillId).score(score).status(status).at(at).build())
+                .inc("count", 1)
+                .inc(totals + ".attempts", 1)
+                .set("updatedAt", LocalDateTime.now());
+        if (score != null) {
+            update.inc(totals + ".scoreTotal", score).max(totals + ".best", score);
+        }
+        // A full bucket no longer matches, so the upsert starts the month's next one
+        Query bucketQuery = Query.query(Criteria.where("userId").is(userId)
+                .and("month").is(YearMonth.from(at).toString())
+                .and("count").lt(MAX_EVENTS_PER_BUCKET));
+        bucketQuery.fields().include("_id");
+        SkillScoreBucket bucket = mongoTemplate.findAndModify(bucketQuery, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), SkillScoreBucket.class);
+
+        // The skill's first and last score in the bucket. The guards keep the
+        // earliest and the latest one when records land out of order
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(bucket.getId())
+                        .orOperator(Criteria.where(totals + ".firstAt").exists(false),
+                                Criteria.where(totals + ".firstAt").gt(at))),
+                new Update().set(totals + ".first", score).set(totals + ".firstAt", at),
+                SkillScoreBucket.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(bucket.getId())
+                        .orOperator(Criteria.where(totals + ".lastAt").exists(false),
+                                Criteria.where(totals + ".lastAt").lte(at))),
+                new Update().set(totals + ".name", skillName).set(totals + ".last", score).set(totals + ".lastAt", at),
+                SkillScoreBucket.class);
+    }
+
+    /**
+     * Per-skill monthly score trends from {@code from} to {@code to}, both
+     * inclusive, for every skill or only {@code skillId} when given. Trends
+     * are ordered by skill name.
+     */
+    public List<SkillScoreTrendDTO> getTrends(String userId, YearMonth from, YearMonth to, String skillId) {
+        if (skillId != null && !ObjectId.isValid(skillId)) {
+            throw new IllegalArgumentException("Invalid skill id " + skillId);
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end " + to + " is before its start " + from);
+        }
+        if (from.plusMonths(MAX_MONTHS).isBefore(to)) {
+            throw new IllegalArgumentException("Range may span at most " + MAX_MONTHS + " months");
+        }
+
+        Query query = Query.query(Criteria.where("userId").is(userId)
+                        .and("month").gte(from.toString()).lte(to.toString()))
+                .with(Sort.by("month"));
+        query.fields().include("month").include(skillId != null ? "skills." + skillId : "skills");
+
+        // skill id -> month -> totals, merging a month's overflow buckets
+        Map<String, TreeMap<String, SkillScoreBucket.SkillTotals>> bySkill = new LinkedHashMap<>();
+        for (SkillScoreBucket bucket : mongoTemplate.find(query, SkillScoreBucket.class)) {
+            if (bucket.getSkills() == null) {
+                continue;
+            }
+            bucket.getSkills().forEach((id, totals) -> bySkill
+                    .computeIfAbsent(id, key -> new TreeMap<>())
+                    .merge(bucket.getMonth(), totals, SkillScoreHistoryService::merge));
+        }
+
+        List<SkillScoreTrendDTO> trends = new ArrayList<>();
+        bySkill.forEach((id, months) -> trends.add(toTrend(id, months)));
+        trends.sort(Comparator.comparing(SkillScoreTrendDTO::getSkill, Comparator.nullsLast(String::compareToIgnoreCase)));
+        return trends;
+    }
+
+    private SkillScoreTrendDTO toTrend(String skillId, TreeMap<String, SkillScoreBucket.SkillTotals> months) {
+        List<SkillScoreTrendDTO.MonthPoint> points = new ArrayList<>(months.size());
+        months.forEach((month, totals) -> points.add(SkillScoreTrendDTO.MonthPoint.builder()
+                .month(month)
+                .attempts(totals.getAttempts())
+                .averageScore(totals.getBest() != null && totals.getAttempts() > 0
+                        ? (double) totals.getScoreTotal() / totals.getAttempts() : null)
+                .bestScore(totals.getBest())
+                .lastScore(totals.getLast())
+                .build()));
+
+        // Buckets written before first scores were tracked fall back to their month's last score
+        SkillScoreBucket.SkillTotals earliest = months.firstEntry().getValue();
+        Integer first = earliest.getFirstAt() != null ? earliest.getFirst() : earliest.getLast();
+        Integer last = points.get(points.size() - 1).getLastScore();
+        return SkillScoreTrendDTO.builder()
+                .skillId(skillId)
+                .skill(months.lastEntry().getValue().getName())
+                .points(points)
+                .change(first != null && last != null ? last - first : null)
+                .build();
+    }
+
+    private static SkillScoreBucket.SkillTotals merge(SkillScoreBucket.SkillTotals a, SkillScoreBucket.SkillTotals b) {
+        boolean bIsLater = a.getLastAt() == null || (b.getLastAt() != null && b.getLastAt().isAfter(a.getLastAt()));
+        SkillScoreBucket.SkillTotals later = bIsLater ? b : a;
+        boolean bIsEarlier = a.getFirstAt() == null || (b.getFirstAt() != null && b.getFirstAt().isBefore(a.getFirstAt()));
+        SkillScoreBucket.SkillTotals earlier = bIsEarlier ? b : a;
+        return SkillScoreBucket.SkillTotals.builder()
+                .name(later.getName())
+                .attempts(a.getAttempts() + b.getAttempts())
+                .scoreTotal(a.getScoreTotal() + b.getScoreTotal())
+                .best(a.getBest() == null ? b.getBest() : b.getBest() == null ? a.getBest() : Math.max(a.getBest(), b.getBest()))
+                .first(earlier.getFirst())
+                .firstAt(earlier.getFirstAt())
+                .last(later.getLast())
+                .lastAt(later.getLastAt())
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.util.SkillNames;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings a user's user_skills in line with their profile's skill list in one
+ * unordered bulk write. Each listed skill is an upsert keyed on (userId,
+ * normalizedName), which the unique user_normalized_name_idx index makes safe
+ * under concurrent syncs: a skill is created once, and existing skills keep
+ * their scores. Profile skills no longer listed are soft-deactivated in the
+ * same batch, and reactivated with their history if they come back.
+ * Re-running a sync with the same list changes nothing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillSyncEngine {
+
+    public static final String SOURCE_PROFILE = "profile";
+
+    private final MongoTemplate mongoTemplate;
+
+    /** Syncs the user's profile skills to this list; returns how many skills were newly created. */
+    public int sync(String userId, List<String> skillNames) {
+        if (skillNames == null) {
+            return 0;
+        }
+        // First spelling of each skill wins, as the display name
+        Map<String, String> skills = new LinkedHashMap<>();
+        for (String skillName : skillNames) {
+            String normalized = SkillNames.normalize(skillName);
+            if (!normalized.isEmpty()) {
+                skills.putIfAbsent(normalized, skillName.trim());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserSkill.class);
+        skills.forEach((normalized, name) -> bulk.upsert(
+                Query.query(Criteria.where("userId").is(userId).and("normalizedName").is(normalized)),
+                new Update()
+                        .set("active", true)
+                        // Only skills the sync creates are its own; a hand-added one stays hand-added
+                        .setOnInsert("source", SOURCE_PROFILE)
+                        .setOnInsert("name", name)
+                        .setOnInsert("category", categoryOf(name))
+                        .setOnInsert("proficiency", 0)
+                        .setOnInsert("score", 0)
+                        .setOnInsert("status", "pending")
+                        .setOnInsert("level", "Pending")
+                        .setOnInsert("verified", false)
+                        .setOnInsert("experienceMonths", 0)
+                        .setOnInsert("confidenceLevel", "low")
+                        .setOnInsert("createdAt", now)
+                        .setOnInsert("updatedAt", now)));
+        // Only skills the profile put there; skills added by hand are left alone
+        bulk.updateMulti(
+                Query.query(Criteria.where("userId").is(userId)
+                        .and("source").is(SOURCE_PROFILE)
+                        .and("active").ne(false)
+                        .and("normalizedName").nin(skills.keySet())),
+                new Update().set("active", false).set("updatedAt", now));
+
+        BulkWriteResult result = bulk.execute();
+        int created = result.getUpserts().size();
+        log.info("Synced {} profile skills for user {}: {} created, {} updated",
+                skills.size(), userId, created, result.getModifiedCount());
+        return created;
+    }
+
+    static String categoryOf(String skillName) {
+        if (skillName == null) {
+            return "Other";
+        }
+
+        String lowerSkill = skillName.toLowerCase();
+
+        // Programming Languages
+        if (lowerSkill.matches(".*\\b(java|python|javascript|typescript|c\\+\\+|c#|go|rust|kotlin|swift|php|ruby|scala|r|matlab|perl|haskell|elixir|clojure|dart)\\b.*")) {
+            return "Programming";
+        }
+        // Frontend Technologies
+        else if (lowerSkill.matches(".*\\b(react|angular|vue|svelte|ember|backbone|jquery|html|css|sass|less|bootstrap|tailwind|webpack|vite|babel|redux|mobx|next\\.?js|nuxt\\.?js|gatsby)\\b.*")) {
+            return "Frontend";
+        }
+        // Backend Technologies
+        else if (lowerSkill.matches(".*\\b(node\\.?js|express|spring|django|flask|fastapi|laravel|ruby on rails|asp\\.net|nestjs|koa|hapi|micronaut|quarkus|graphql|rest api|microservices|serverless)\\b.*")) {
+            return "Backend";
+        }
+        // Database Technologies
+        else if (lowerSkill.matches(".*\\b(mysql|postgresql|mongodb|redis|elasticsearch|cassandra|oracle|sql server|sqlite|dynamodb|cosmosdb|firebase|realm|hbase|couchbase|neo4j|arangodb)\\b.*")) {
+            return "Database";
+        }
+        // Cloud Technologies
+        else if (lowerSkill.matches(".*\\b(aws|azure|gcp|google cloud|amazon web services|docker|kubernetes|terraform|ansible|jenkins|gitlab|github actions|circleci|travis ci|helm|istio|linkerd|openshift)\\b.*")) {
+            return "Cloud & DevOps";
+        }
+        // Mobile Development
+        else if (lowerSkill.matches(".*\\b(android|ios|react native|flutter|xamarin|ionic|cordova|phonegap|swiftui|jetpack compose|kotlin multiplatform)\\b.*")) {
+            return "Mobile";
+        }
+        // Data Science & AI/ML
+        else if (lowerSkill.matches(".*\\b(tensorflow|pytorch|keras|scikit-learn|pandas|numpy|matplotlib|seaborn|jupyter|tableau|power bi|apache spark|hadoop|kafka|airflow|mlflow|kubeflow|hugging face|openai)\\b.*")) {
+            return "Data Science & AI";
+        }
+        // Testing
+        else if (lowerSkill.matches(".*\\b(junit|testng|jest|mocha|chai|cypress|selenium|playwright|pytest|rspec|cucumber|jmeter|postman|soapui)\\b.*")) {
+            return "Testing";
+        }
+        // Tools & Methodologies
+        else if (lowerSkill.matches(".*\\b(git|svn|mercurial|jira|confluence|slack|teams|zoom|agile|scrum|kanban|waterfall|devops|ci/cd|tdd|bdd|domain driven design|clean architecture)\\b.*")) {
+            return "Tools & Methodologies";
+        }
+        // Soft Skills
+        else if (lowerSkill.matches(".*\\b(communication|leadership|teamwork|problem solving|critical thinking|adaptability|time management|creativity|collaboration|presentation|negotiation|conflict resolution|emotional intelligence)\\b.*")) {
+            return "Soft Skills";
+        }
+        else {
+            return "Other";
+        }
+    }
+}
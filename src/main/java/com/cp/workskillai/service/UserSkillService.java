@@ -1,12 +1,25 @@
 package com.cp.workskillai.service;
 
+import com.cp.workskillai.events.SkillVerifiedEvent;
 import com.cp.workskillai.models.UserSkill;
 import com.cp.workskillai.repository.UserSkillRepository;
+import com.cp.workskillai.util.SkillNames;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,28 +30,105 @@ public class UserSkillService {
     
     private final UserSkillRepository userSkillRepository;
     private final GeminiExamService geminiExamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProgressService progressService;
+    private final MongoTemplate mongoTemplate;
+    private final SkillSyncEngine skillSyncEngine;
+    private final SkillScoreHistoryService skillScoreHistoryService;
     
     public List<UserSkill> getUserSkills(String userId) {
         return userSkillRepository.findByUserId(userId);
     }
     
+    /**
+     * Version of the user's skill list: the skill count plus the latest
+     * change, so additions, edits and removals all produce a new value.
+     */
+    public String getSkillsVersion(String userId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId).and("active").ne(false)),
+                Aggregation.group()
+                        .count().as("count")
+                        .max("updatedAt").as("updatedAt")
+                        .max("createdAt").as("createdAt"));
+        Document version = mongoTemplate.aggregate(aggregation, UserSkill.class, Document.class)
+                .getUniqueMappedResult();
+        if (version == null) {
+            return "0";
+        }
+        long latest = Math.max(millis(version.getDate("updatedAt")), millis(version.getDate("createdAt")));
+        return version.get("count") + "." + latest;
+    }
+
+    /** The same version as {@link #getSkillsVersion}, computed from an already loaded skill list. */
+    public String skillsVersionOf(List<UserSkill> skills) {
+        long count = 0;
+        long latest = 0;
+        for (UserSkill skill : skills) {
+            if (Boolean.FALSE.equals(skill.getActive())) {
+                continue;
+            }
+            count++;
+            latest = Math.max(latest, Math.max(millis(skill.getUpdatedAt()), millis(skill.getCreatedAt())));
+        }
+        return count == 0 ? "0" : count + "." + latest;
+    }
+
+    private long millis(Date date) {
+        return date != null ? date.getTime() : 0;
+    }
+
+    // Mongo stores LocalDateTime as a Date in the default zone, truncated to millis
+    private long millis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    /**
+     * Saves a skill the user edits by hand. Adding a skill the user already has
+     * returns the existing one with its scores, reactivated and taken over from
+     * the profile sync; renaming a skill onto another of the user's skills is
+     * refused with an IllegalArgumentException.
+     */
     public UserSkill saveUserSkill(UserSkill userSkill) {
+        userSkill.setNormalizedName(SkillNames.normalize(userSkill.getName()));
         if (userSkill.getId() == null) {
             userSkill.setCreatedAt(LocalDateTime.now());
         }
         userSkill.setUpdatedAt(LocalDateTime.now());
-        return userSkillRepository.save(userSkill);
+        try {
+            return userSkillRepository.save(userSkill);
+        } catch (DuplicateKeyException e) {
+            if (userSkill.getId() != null) {
+                throw new IllegalArgumentException("User already has the skill " + userSkill.getName(), e);
+            }
+            return mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("userId").is(userSkill.getUserId())
+                            .and("normalizedName").is(userSkill.getNormalizedName())),
+                    new Update().set("active", true).unset("source").set("updatedAt", userSkill.getUpdatedAt()),
+                    FindAndModifyOptions.options().returnNew(true),
+                    UserSkill.class);
+        }
     }
     
     public UserSkill updateSkillProficiency(String skillId, Integer score, String status) {
         Optional<UserSkill> optionalSkill = userSkillRepository.findById(skillId);
         if (optionalSkill.isPresent()) {
             UserSkill skill = optionalSkill.get();
+            if (skill.getFirstVerifiedAt() == null && Boolean.TRUE.equals(skill.getVerified())) {
+                // Verified before firstVerifiedAt was tracked
+                skill.setFirstVerifiedAt(skill.getLastVerified());
+            }
+            boolean wasVerifiedBefore = skill.getFirstVerifiedAt() != null;
             skill.setScore(score);
             skill.setProficiency(score);
             skill.setStatus(status);
             skill.setVerified("verified".equals(status));
             skill.setLastVerified(LocalDateTime.now());
+            skill.setUpdatedAt(skill.getLastVerified());
+            boolean firstVerification = skill.getVerified() && !wasVerifiedBefore;
+            if (firstVerification) {
+                skill.setFirstVerifiedAt(skill.getLastVerified());
+            }
             
             // Determine level based on score
             if (score >= 80) skill.setLevel("Expert");
@@ -46,49 +136,18 @@ public class UserSkillService {
             else if (score >= 40) skill.setLevel("Intermediate");
             else skill.setLevel("Beginner");
             
-            return userSkillRepository.save(skill);
+            UserSkill saved = userSkillRepository.save(skill);
+            progressService.recordExamResult(saved.getUserId(), score, firstVerification, saved.getLastVerified());
+            skillScoreHistoryService.record(saved.getUserId(), saved.getId(), saved.getName(), score, status,
+                    saved.getLastVerified());
+            eventPublisher.publishEvent(new SkillVerifiedEvent(saved.getUserId(), saved.getId(), saved.getName(),
+                    saved.getScore(), Boolean.TRUE.equals(saved.getVerified()), saved.getLastVerified()));
+            return saved;
         }
         return null;
     }
     
     public void syncSkillsFromProfile(String userId, List<String> technicalSkills) {
-        List<UserSkill> existingSkills = getUserSkills(userId);
-        
-        for (String skillName : technicalSkills) {
-            boolean exists = existingSkills.stream()
-                .anyMatch(skill -> skill.getName().equalsIgnoreCase(skillName));
-            
-            if (!exists) {
-                UserSkill newSkill = UserSkill.builder()
-                    .userId(userId)
-                    .name(skillName)
-                    .category(determineCategory(skillName))
-                    .proficiency(0)
-                    .score(0)
-                    .status("pending")
-                    .level("Pending")
-                    .verified(false)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-                
-                userSkillRepository.save(newSkill);
-            }
-        }
-    }
-    
-    private String determineCategory(String skillName) {
-        // Simple categorization logic
-        String lowerSkill = skillName.toLowerCase();
-        if (lowerSkill.contains("react") || lowerSkill.contains("angular") || lowerSkill.contains("vue")) {
-            return "Frontend";
-        } else if (lowerSkill.contains("node") || lowerSkill.contains("spring") || lowerSkill.contains("django")) {
-            return "Backend";
-        } else if (lowerSkill.contains("aws") || lowerSkill.contains("azure") || lowerSkill.contains("gcp")) {
-            return "Cloud";
-        } else if (lowerSkill.contains("python") || lowerSkill.contains("java") || lowerSkill.contains("javascript")) {
-            return "Programming";
-        } else {
-            return "Other";
-        }
+        skillSyncEngine.sync(userId, technicalSkills);
     }
 }
\ No newline at end of file
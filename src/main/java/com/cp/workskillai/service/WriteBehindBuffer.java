@@ -0,0 +1,113 @@
+package com.cp.workskillai.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects low-value bookkeeping fields (last login and the like) and writes
+ * them in the background instead of on the request path. Sets for the same
+ * document merge, the latest value of a field winning, and every
+ * writebehind.flush-interval the pending documents go out as one unordered
+ * bulk of $set updates per collection. Pending writes are flushed on
+ * shutdown; a crash loses at most one interval of them, which is the
+ * trade-off that makes these fields cheap.
+ */
+@Slf4j
+@Service
+public class WriteBehindBuffer {
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxPending;
+    private final Map<PendingKey, Map<String, Object>> pending = new ConcurrentHashMap<>();
+
+    public WriteBehindBuffer(MongoTemplate mongoTemplate,
+                             @Value("${writebehind.max-pending:10000}") int maxPending,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxPending = maxPending;
+        Gauge.builder("writebehind.pending", pending, Map::size)
+                .description("Documents with bookkeeping writes waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /** Queues {@code $set field=value} on the entity's document with this id. */
+    public void set(Class<?> entityClass, String id, String field, Object value) {
+        pending.compute(new PendingKey(entityClass, id), (key, fields) -> {
+            Map<String, Object> merged = fields != null ? fields : new LinkedHashMap<>();
+            merged.put(field, value);
+            return merged;
+        });
+        // Backstop for a stalled scheduler; normally the periodic flush keeps this small
+        if (pending.size() > maxPending) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${writebehind.flush-interval:5s}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Class<?>, Map<String, Map<String, Object>>> byEntity = new HashMap<>();
+        for (PendingKey key : List.copyOf(pending.keySet())) {
+            // remove() hands each entry to exactly one flush; later sets start a new entry
+            Map<String, Object> fields = pending.remove(key);
+            if (fields != null) {
+                byEntity.computeIfAbsent(key.entityClass(), c -> new LinkedHashMap<>()).put(key.id(), fields);
+            }
+        }
+        byEntity.forEach(this::write);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        log.info("Write-behind buffer flushed on shutdown");
+    }
+
+    private void write(Class<?> entityClass, Map<String, Map<String, Object>> documents) {
+        List<Pair<Query, UpdateDefinition>> updates = new ArrayList<>(documents.size());
+        documents.forEach((id, fields) -> {
+            Update update = new Update();
+            fields.forEach(update::set);
+            updates.add(Pair.of(Query.query(Criteria.where("_id").is(id)), update));
+        });
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass)
+                    .updateOne(updates)
+                    .execute();
+            log.debug("Flushed {} write-behind updates to {}", updates.size(), entityClass.getSimpleName());
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush of {} {} updates failed, retrying next interval: {}",
+                    updates.size(), entityClass.getSimpleName(), e.getMessage());
+            // Put them back without overwriting anything set since
+            documents.forEach((id, fields) -> pending.merge(new PendingKey(entityClass, id), fields, (newer, older) -> {
+                Map<String, Object> merged = new LinkedHashMap<>(older);
+                merged.putAll(newer);
+                return merged;
+            }));
+        }
+    }
+
+    private record PendingKey(Class<?> entityClass, String id) {
+    }
+}
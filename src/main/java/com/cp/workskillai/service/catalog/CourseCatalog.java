@@ -0,0 +1,173 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.models.CatalogCourse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable in-memory course index: for every skill id a posting list of
+ * (course index, weight) pairs stored as parallel arrays. Ranking only walks
+ * the postings of the requested skills, so its cost depends on how many
+ * courses teach those skills rather than on the catalog size.
+ */
+public final class CourseCatalog {
+
+    // Importance used for skills the analysis did not weigh
+    private static final double DEFAULT_IMPORTANCE = 0.05;
+    private static final double DEFAULT_RATING = 4.0;
+    // Hours at which the duration factor halves a course's score
+    private static final double DURATION_HALF_LIFE_HOURS = 40.0;
+
+    private static final CourseCatalog EMPTY = build(List.of());
+
+    private final SkillDictionary dictionary;
+    private final CatalogCourse[] courses;
+    private final double[] quality;
+    private final int[][] postingCourses;
+    private final float[][] postingWeights;
+
+    private CourseCatalog(SkillDictionary dictionary, CatalogCourse[] courses, double[] quality,
+                          int[][] postingCourses, float[][] postingWeights) {
+        this.dictionary = dictionary;
+        this.courses = courses;
+        this.quality = quality;
+        this.postingCourses = postingCourses;
+        this.postingWeights = postingWeights;
+    }
+
+    public static CourseCatalog empty() {
+        return EMPTY;
+    }
+
+    public static CourseCatalog build(List<CatalogCourse> source) {
+        SkillDictionary dictionary = new SkillDictionary();
+        CatalogCourse[] courses = source.toArray(new CatalogCourse[0]);
+        double[] quality = new double[courses.length];
+
+        // First pass: intern skills and count postings per skill
+        int[] counts = new int[16];
+        for (int c = 0; c < courses.length; c++) {
+            quality[c] = qualityOf(courses[c]);
+            for (CatalogCourse.SkillWeight skill : skillsOf(courses[c])) {
+                int id = dictionary.intern(skill.getName());
+                if (id >= counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+                counts[id]++;
+            }
+        }
+
+        int[][] postingCourses = new int[dictionary.size()][];
+        float[][] postingWeights = new float[dictionary.size()][];
+        for (int id = 0; id < dictionary.size(); id++) {
+            postingCourses[id] = new int[counts[id]];
+            postingWeights[id] = new float[counts[id]];
+        }
+
+        // Second pass: fill postings in course order
+        int[] fill = new int[dictionary.size()];
+        for (int c = 0; c < courses.length; c++) {
+            for (CatalogCourse.SkillWeight skill : skillsOf(courses[c])) {
+                int id = dictionary.idOf(skill.getName());
+                int slot = fill[id]++;
+                postingCourses[id][slot] = c;
+                postingWeights[id][slot] = skill.getWeight() != null ? skill.getWeight().floatValue() : 1f;
+            }
+        }
+        return new CourseCatalog(dictionary, courses, quality, postingCourses, postingWeights);
+    }
+
+    /**
+     * Ranks courses for the missing skills. A course scores the sum of
+     * importance x weight over the skills it covers, scaled by its rating and
+     * a duration factor that favours shorter courses.
+     */
+    public List<RankedCourse> rank(List<SkillAnalysis> missingSkills, int limit) {
+        if (missingSkills == null || missingSkills.isEmpty() || courses.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        double[] scores = new double[courses.length];
+        double[] bestContribution = new double[courses.length];
+        int[] bestSkill = new int[courses.length];
+        boolean[] seen = new boolean[courses.length];
+        int[] touched = new int[courses.length];
+        int touchedCount = 0;
+
+        for (SkillAnalysis skill : missingSkills) {
+            int id = skill.getName() != null ? dictionary.idOf(skill.getName()) : SkillDictionary.UNKNOWN;
+            if (id == SkillDictionary.UNKNOWN) {
+                continue;
+            }
+            double importance = skill.getImportance() != null && skill.getImportance() > 0
+                    ? skill.getImportance() : DEFAULT_IMPORTANCE;
+            int[] postings = postingCourses[id];
+            float[] weights = postingWeights[id];
+            for (int p = 0; p < postings.length; p++) {
+                int c = postings[p];
+                double contribution = importance * weights[p];
+                if (!seen[c]) {
+                    seen[c] = true;
+                    touched[touchedCount++] = c;
+                }
+                scores[c] += contribution;
+                if (contribution > bestContribution[c]) {
+                    bestContribution[c] = contribution;
+                    bestSkill[c] = id;
+                }
+            }
+        }
+
+        // Min-heap of the best `limit` courses; ties go to the earlier catalog entry
+        PriorityQueue<int[]> top = new PriorityQueue<>(limit + 1, (a, b) -> {
+            int byScore = Double.compare(scores[a[0]] * quality[a[0]], scores[b[0]] * quality[b[0]]);
+            return byScore != 0 ? byScore : Integer.compare(b[0], a[0]);
+        });
+        for (int t = 0; t < touchedCount; t++) {
+            top.offer(new int[]{touched[t]});
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<RankedCourse> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int c = top.poll()[0];
+            ranked.add(new RankedCourse(courses[c], scores[c] * quality[c], dictionary.nameOf(bestSkill[c])));
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    public int size() {
+        return courses.length;
+    }
+
+    public int skillCount() {
+        return dictionary.size();
+    }
+
+    private static List<CatalogCourse.SkillWeight> skillsOf(CatalogCourse course) {
+        if (course.getSkills() == null) {
+            return List.of();
+        }
+        return course.getSkills().stream()
+                .filter(skill -> skill.getName() != null && !skill.getName().isBlank())
+                .toList();
+    }
+
+    private static double qualityOf(CatalogCourse course) {
+        double rating = course.getRating() != null ? course.getRating() : DEFAULT_RATING;
+        double hours = course.getDurationHours() != null ? course.getDurationHours() : DURATION_HALF_LIFE_HOURS;
+        return (0.5 + 0.5 * Math.min(rating, 5.0) / 5.0) / (1.0 + hours / DURATION_HALF_LIFE_HOURS);
+    }
+
+    /** A ranked course and the missing skill it contributes most to. */
+    public record RankedCourse(CatalogCourse course, double score, String primarySkill) {
+    }
+}
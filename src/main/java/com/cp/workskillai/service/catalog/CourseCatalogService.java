@@ -0,0 +1,129 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.models.CatalogCourse;
+import com.cp.workskillai.models.CourseRecommendation;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Serves course recommendations from the local catalog, independent of the
+ * Python ML service. The catalog comes from the course_catalog collection
+ * ("mongo" source) or from a JSON resource ("classpath" source, also the
+ * fallback while the collection is empty). The index is rebuilt off to the
+ * side and swapped in, so readers never see a half-built catalog.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseCatalogService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+
+    @Value("${course.catalog.source:classpath}")
+    private String source;
+
+    @Value("${course.catalog.resource:classpath:catalog/courses.json}")
+    private String resourceLocation;
+
+    private volatile CourseCatalog catalog = CourseCatalog.empty();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofVirtual().name("course-catalog-load").start(this::reload);
+    }
+
+    /** Reloads the catalog from its source; keeps the current one if loading fails. */
+    public void reload() {
+        try {
+            List<CatalogCourse> courses = "mongo".equalsIgnoreCase(source) ? loadFromMongo() : List.of();
+            if (courses.isEmpty()) {
+                courses = loadFromResource();
+            }
+            long start = System.nanoTime();
+            CourseCatalog built = CourseCatalog.build(courses);
+            catalog = built;
+            log.info("Course catalog loaded: {} courses, {} skills in {} ms",
+                    built.size(), built.skillCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to load course catalog: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Best catalog courses for the missing skills, mapped to recommendations. */
+    public List<CourseRecommendation> recommend(List<SkillAnalysis> missingSkills, int limit) {
+        return catalog.rank(missingSkills, limit).stream()
+                .map(this::toRecommendation)
+                .toList();
+    }
+
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    private List<CatalogCourse> loadFromMongo() {
+        List<CatalogCourse> courses = mongoTemplate.findAll(CatalogCourse.class);
+        if (courses.isEmpty()) {
+            log.warn("course_catalog collection is empty, falling back to {}", resourceLocation);
+        }
+        return courses;
+    }
+
+    private List<CatalogCourse> loadFromResource() throws Exception {
+        Resource resource = resourceLoader.getResource(resourceLocation);
+        try (InputStream in = resource.getInputStream()) {
+            return objectMapper.readValue(in, new TypeReference<List<CatalogCourse>>() {});
+        }
+    }
+
+    private CourseRecommendation toRecommendation(CourseCatalog.RankedCourse ranked) {
+        CatalogCourse course = ranked.course();
+        return CourseRecommendation.builder()
+                .courseId(course.getId())
+                .skillName(ranked.primarySkill())
+                .platform(course.getPlatform())
+                .title(course.getTitle())
+                .instructor(course.getInstructor())
+                .description(course.getDescription())
+                .url(course.getUrl())
+                .duration(formatDuration(course.getDurationHours()))
+                .durationCategory(durationCategory(course.getDurationHours()))
+                .difficulty(course.getDifficulty())
+                .rating(course.getRating())
+                .studentCount(course.getStudentCount())
+                .price(course.getPrice())
+                .originalPrice(course.getOriginalPrice())
+                .features(course.getFeatures())
+                .platformIcon(course.getPlatformIcon())
+                .relevanceScore(ranked.score())
+                .build();
+    }
+
+    private String formatDuration(Double hours) {
+        if (hours == null) {
+            return null;
+        }
+        return hours < 1 ? Math.round(hours * 60) + " minutes" : Math.round(hours) + " hours";
+    }
+
+    private String durationCategory(Double hours) {
+        if (hours == null) return null;
+        if (hours <= 5) return "short";
+        if (hours <= 20) return "medium";
+        return "long";
+    }
+}
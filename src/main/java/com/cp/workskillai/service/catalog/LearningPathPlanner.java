@@ -0,0 +1,241 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.models.CourseRecommendation;
+import com.cp.workskillai.models.LearningPathStep;
+import com.cp.workskillai.util.SkillNames;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Plans a learning path for missing skills from the skill prerequisite graph.
+ * Prerequisites the user lacks are pulled into the path, skills are layered
+ * by topological sort (Kahn) so each step only depends on earlier steps, and
+ * skills of the same layer are grouped into one step since they can be
+ * learned in parallel. Within a layer, skills with the highest importance per
+ * hour come first.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LearningPathPlanner {
+
+    private static final int MAX_SKILLS_PER_STEP = 3;
+    private static final int COURSES_PER_STEP = 2;
+    private static final double HOURS_PER_WEEK = 10.0;
+    private static final double DEFAULT_IMPORTANCE = 0.05;
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final CourseCatalogService courseCatalogService;
+
+    @Value("${skill.graph.resource:classpath:catalog/skill-prerequisites.json}")
+    private String resourceLocation;
+
+    private volatile SkillGraph graph = SkillGraph.empty();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofVirtual().name("skill-graph-load").start(this::reload);
+    }
+
+    /** Reloads the prerequisite graph; keeps the current one if loading fails. */
+    public void reload() {
+        try (InputStream in = resourceLoader.getResource(resourceLocation).getInputStream()) {
+            SkillGraph built = SkillGraph.build(objectMapper.readValue(in, new TypeReference<List<SkillGraph.Node>>() {}));
+            graph = built;
+            log.info("Skill prerequisite graph loaded: {} skills", built.size());
+        } catch (Exception e) {
+            log.error("Failed to load skill prerequisite graph: {}", e.getMessage(), e);
+        }
+    }
+
+    public SkillGraph getGraph() {
+        return graph;
+    }
+
+    public List<LearningPathStep> plan(List<SkillAnalysis> missingSkills, Collection<String> currentSkills) {
+        return plan(graph, missingSkills, currentSkills);
+    }
+
+    List<LearningPathStep> plan(SkillGraph graph, List<SkillAnalysis> missingSkills, Collection<String> currentSkills) {
+        if (missingSkills == null || missingSkills.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Path nodes: missing skills first, then prerequisites the user lacks
+        List<PathSkill> nodes = new ArrayList<>();
+        int[] nodeOfSkill = new int[graph.size()];
+        Arrays.fill(nodeOfSkill, -1);
+        boolean[] known = new boolean[graph.size()];
+        if (currentSkills != null) {
+            for (String skill : currentSkills) {
+                int id = skill != null ? graph.idOf(skill) : SkillDictionary.UNKNOWN;
+                if (id != SkillDictionary.UNKNOWN) {
+                    known[id] = true;
+                }
+            }
+        }
+        Set<String> unknownNames = new HashSet<>();
+        for (SkillAnalysis skill : missingSkills) {
+            if (skill.getName() == null || skill.getName().isBlank()) {
+                continue;
+            }
+            double importance = skill.getImportance() != null && skill.getImportance() > 0
+                    ? skill.getImportance() : DEFAULT_IMPORTANCE;
+            int id = graph.idOf(skill.getName());
+            if (id == SkillDictionary.UNKNOWN) {
+                if (unknownNames.add(SkillNames.normalize(skill.getName()))) {
+                    nodes.add(new PathSkill(id, skill.getName(), SkillGraph.DEFAULT_HOURS, importance));
+                }
+            } else if (nodeOfSkill[id] == -1) {
+                nodeOfSkill[id] = nodes.size();
+                nodes.add(new PathSkill(id, skill.getName(), graph.hoursOf(id), importance));
+            } else {
+                PathSkill existing = nodes.get(nodeOfSkill[id]);
+                existing.importance = Math.max(existing.importance, importance);
+            }
+        }
+        for (int n = 0; n < nodes.size(); n++) {
+            int id = nodes.get(n).skillId;
+            if (id == SkillDictionary.UNKNOWN) {
+                continue;
+            }
+            for (int p = graph.prerequisiteStart(id); p < graph.prerequisiteEnd(id); p++) {
+                int prerequisite = graph.prerequisiteAt(p);
+                if (!known[prerequisite] && nodeOfSkill[prerequisite] == -1) {
+                    nodeOfSkill[prerequisite] = nodes.size();
+                    nodes.add(new PathSkill(prerequisite, graph.nameOf(prerequisite), graph.hoursOf(prerequisite), 0));
+                }
+            }
+        }
+
+        // Kahn's algorithm restricted to the path nodes, one frontier per layer
+        int[] inDegree = new int[nodes.size()];
+        List<PathSkill> frontier = new ArrayList<>();
+        for (int n = 0; n < nodes.size(); n++) {
+            PathSkill node = nodes.get(n);
+            if (node.skillId != SkillDictionary.UNKNOWN) {
+                for (int p = graph.prerequisiteStart(node.skillId); p < graph.prerequisiteEnd(node.skillId); p++) {
+                    if (nodeOfSkill[graph.prerequisiteAt(p)] != -1) {
+                        inDegree[n]++;
+                    }
+                }
+            }
+            if (inDegree[n] == 0) {
+                frontier.add(node);
+            }
+        }
+        List<List<PathSkill>> layers = new ArrayList<>();
+        while (!frontier.isEmpty()) {
+            layers.add(frontier);
+            List<PathSkill> next = new ArrayList<>();
+            for (PathSkill node : frontier) {
+                if (node.skillId == SkillDictionary.UNKNOWN) {
+                    continue;
+                }
+                for (int d = graph.dependentStart(node.skillId); d < graph.dependentEnd(node.skillId); d++) {
+                    int dependent = nodeOfSkill[graph.dependentAt(d)];
+                    if (dependent != -1 && --inDegree[dependent] == 0) {
+                        next.add(nodes.get(dependent));
+                    }
+                }
+            }
+            frontier = next;
+        }
+
+        // A prerequisite matters as much as the most important skill it unlocks
+        for (int l = layers.size() - 1; l >= 0; l--) {
+            for (PathSkill node : layers.get(l)) {
+                if (node.skillId == SkillDictionary.UNKNOWN) {
+                    continue;
+                }
+                for (int p = graph.prerequisiteStart(node.skillId); p < graph.prerequisiteEnd(node.skillId); p++) {
+                    int prerequisite = nodeOfSkill[graph.prerequisiteAt(p)];
+                    if (prerequisite != -1) {
+                        PathSkill required = nodes.get(prerequisite);
+                        required.importance = Math.max(required.importance, node.importance);
+                    }
+                }
+            }
+        }
+
+        List<LearningPathStep> steps = new ArrayList<>();
+        for (int l = 0; l < layers.size(); l++) {
+            List<PathSkill> layer = layers.get(l);
+            layer.sort(Comparator.comparingDouble((PathSkill node) -> -node.importance / node.hours)
+                    .thenComparing(node -> node.name));
+            for (int from = 0; from < layer.size(); from += MAX_SKILLS_PER_STEP) {
+                List<PathSkill> group = layer.subList(from, Math.min(from + MAX_SKILLS_PER_STEP, layer.size()));
+                steps.add(toStep(steps.size() + 1, l, group, graph, nodeOfSkill, nodes));
+            }
+        }
+        return steps;
+    }
+
+    private LearningPathStep toStep(int number, int layer, List<PathSkill> group, SkillGraph graph,
+                                    int[] nodeOfSkill, List<PathSkill> nodes) {
+        List<String> skills = group.stream().map(node -> node.name).toList();
+        // Skills in one step are learned in parallel, so the step takes as long as its longest skill
+        double hours = group.stream().mapToDouble(node -> node.hours).max().orElse(0);
+        long weeks = Math.max(1, Math.round(Math.ceil(hours / HOURS_PER_WEEK)));
+
+        Set<String> buildsOn = new LinkedHashSet<>();
+        for (PathSkill node : group) {
+            if (node.skillId == SkillDictionary.UNKNOWN) {
+                continue;
+            }
+            for (int p = graph.prerequisiteStart(node.skillId); p < graph.prerequisiteEnd(node.skillId); p++) {
+                int prerequisite = nodeOfSkill[graph.prerequisiteAt(p)];
+                if (prerequisite != -1) {
+                    buildsOn.add(nodes.get(prerequisite).name);
+                }
+            }
+        }
+
+        List<SkillAnalysis> stepSkills = group.stream().map(node -> {
+            SkillAnalysis skill = new SkillAnalysis();
+            skill.setName(node.name);
+            skill.setImportance(node.importance);
+            return skill;
+        }).toList();
+
+        return LearningPathStep.builder()
+                .step(number)
+                .title((layer == 0 ? "Build foundations in " : "Learn ") + String.join(", ", skills))
+                .description(buildsOn.isEmpty()
+                        ? "Can be started right away; these skills can be learned in parallel"
+                        : "Builds on " + String.join(", ", buildsOn))
+                .duration(weeks + (weeks == 1 ? " week" : " weeks"))
+                .skills(skills)
+                .status(number == 1 ? "current" : "upcoming")
+                .courses(courseCatalogService.recommend(stepSkills, COURSES_PER_STEP).stream()
+                        .map(CourseRecommendation::getCourseId)
+                        .toList())
+                .build();
+    }
+
+    private static final class PathSkill {
+        private final int skillId;
+        private final String name;
+        private final double hours;
+        private double importance;
+
+        private PathSkill(int skillId, String name, double hours, double importance) {
+            this.skillId = skillId;
+            this.name = name;
+            this.hours = hours;
+            this.importance = importance;
+        }
+    }
+}
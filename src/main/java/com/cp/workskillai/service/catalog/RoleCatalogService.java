@@ -0,0 +1,100 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.events.RoleCatalogReloadedEvent;
+import com.cp.workskillai.models.CatalogRole;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Scores users against the role catalog. Roles come from the role_catalog
+ * collection ("mongo" source) or from a JSON resource ("classpath" source,
+ * also the fallback while the collection is empty); the fit index is rebuilt
+ * off to the side and swapped in. Every swap publishes a
+ * {@link RoleCatalogReloadedEvent} so views scored against the old catalog
+ * can be refreshed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoleCatalogService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${role.catalog.source:classpath}")
+    private String source;
+
+    @Value("${role.catalog.resource:classpath:catalog/roles.json}")
+    private String resourceLocation;
+
+    private volatile RoleFitEngine engine = RoleFitEngine.empty();
+
+    // Synchronous and first, so startup work that scores users (the dashboard
+    // backfill) never sees the empty catalog
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    /** Reloads the catalog from its source; keeps the current one if loading fails. */
+    public void reload() {
+        try {
+            List<CatalogRole> roles = "mongo".equalsIgnoreCase(source) ? loadFromMongo() : List.of();
+            if (roles.isEmpty()) {
+                roles = loadFromResource();
+            }
+            RoleFitEngine built = RoleFitEngine.build(roles);
+            engine = built;
+            log.info("Role catalog loaded: {} roles over {} skills", built.size(), built.skillCount());
+            eventPublisher.publishEvent(new RoleCatalogReloadedEvent(built.size(), LocalDateTime.now()));
+        } catch (Exception e) {
+            log.error("Failed to load role catalog: {}", e.getMessage(), e);
+        }
+    }
+
+    public List<RoleFitEngine.RoleFit> bestFits(Collection<String> skills, int limit) {
+        return engine.rank(skills, limit);
+    }
+
+    /** Fit with the named role, or null if the catalog does not know it. */
+    public RoleFitEngine.RoleFit fit(String roleName, Collection<String> skills) {
+        return engine.fit(roleName, skills);
+    }
+
+    public int countFits(Collection<String> skills) {
+        return engine.countFits(skills);
+    }
+
+    private List<CatalogRole> loadFromMongo() {
+        List<CatalogRole> roles = mongoTemplate.findAll(CatalogRole.class);
+        if (roles.isEmpty()) {
+            log.warn("role_catalog collection is empty, falling back to {}", resourceLocation);
+        }
+        return roles;
+    }
+
+    private List<CatalogRole> loadFromResource() throws Exception {
+        try (InputStream in = resourceLoader.getResource(resourceLocation).getInputStream()) {
+            return objectMapper.readValue(in, new TypeReference<List<CatalogRole>>() {});
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.models.CatalogRole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable role-fit index. Every role is stored as one bitset per weight
+ * tier over interned skill ids, laid out back to back in a long array. A
+ * user's skills are encoded the same way once, after which scoring a role is
+ * a handful of AND + popcount operations per tier.
+ *
+ * <p>A role's score is the weighted share of its skills the user has:
+ * {@code sum(w * |user & tier_w|) / sum(w * |tier_w|)}.
+ */
+public final class RoleFitEngine {
+
+    public static final int MAX_WEIGHT = 3;
+    // Share of a role's weighted skills a user needs to count as fitting it
+    public static final double FIT_THRESHOLD = 0.6;
+
+    private static final RoleFitEngine EMPTY = build(List.of());
+
+    private final SkillDictionary dictionary;
+    private final CatalogRole[] roles;
+    private final Map<String, Integer> roleIndex;
+    private final int words;
+    // tiers[w - 1][role * words + i] holds word i of the role's weight-w skills
+    private final long[][] tiers;
+    private final int[] totalWeight;
+
+    private RoleFitEngine(SkillDictionary dictionary, CatalogRole[] roles, Map<String, Integer> roleIndex,
+                          int words, long[][] tiers, int[] totalWeight) {
+        this.dictionary = dictionary;
+        this.roles = roles;
+        this.roleIndex = roleIndex;
+        this.words = words;
+        this.tiers = tiers;
+        this.totalWeight = totalWeight;
+    }
+
+    public static RoleFitEngine empty() {
+        return EMPTY;
+    }
+
+    public static RoleFitEngine build(List<CatalogRole> source) {
+        SkillDictionary dictionary = new SkillDictionary();
+        CatalogRole[] roles = source.toArray(new CatalogRole[0]);
+        for (CatalogRole role : roles) {
+            skillsOf(role).forEach(skill -> dictionary.intern(skill.getName()));
+        }
+
+        int words = Math.max(1, (dictionary.size() + 63) >>> 6);
+        long[][] tiers = new long[MAX_WEIGHT][roles.length * words];
+        int[] totalWeight = new int[roles.length];
+        Map<String, Integer> roleIndex = new HashMap<>();
+        for (int r = 0; r < roles.length; r++) {
+            roleIndex.putIfAbsent(roleKey(roles[r].getName()), r);
+            for (CatalogRole.RoleSkill skill : skillsOf(roles[r])) {
+                int id = dictionary.idOf(skill.getName());
+                long[] tier = tiers[weightOf(skill) - 1];
+                long bit = 1L << id;
+                // A skill listed twice for one role counts once, in its first tier
+                if (!hasSkill(tiers, r * words + (id >>> 6), bit)) {
+                    tier[r * words + (id >>> 6)] |= bit;
+                    totalWeight[r] += weightOf(skill);
+                }
+            }
+        }
+        return new RoleFitEngine(dictionary, roles, roleIndex, words, tiers, totalWeight);
+    }
+
+    /** The user's skills as a bitset over this catalog's skills; unknown skills are dropped. */
+    public long[] encode(Collection<String> skills) {
+        long[] bits = new long[words];
+        for (String skill : skills) {
+            if (skill == null || skill.isBlank()) {
+                continue;
+            }
+            int id = dictionary.idOf(skill);
+            if (id != SkillDictionary.UNKNOWN) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    /** Fit of the user with one role, or null if the catalog has no role by that name. */
+    public RoleFit fit(String roleName, Collection<String> skills) {
+        Integer role = roleName != null ? roleIndex.get(roleKey(roleName)) : null;
+        return role != null ? toFit(role, encode(skills)) : null;
+    }
+
+    /** The {@code limit} roles the user fits best, best first; ties go to the earlier catalog entry. */
+    public List<RoleFit> rank(Collection<String> skills, int limit) {
+        if (limit <= 0 || roles.length == 0) {
+            return List.of();
+        }
+        long[] user = encode(skills);
+        double[] scores = new double[roles.length];
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> {
+            int byScore = Double.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Integer.compare(b, a);
+        });
+        for (int r = 0; r < roles.length; r++) {
+            scores[r] = score(r, user);
+            top.offer(r);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<RoleFit> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(toFit(top.poll(), user));
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    /** Number of catalog roles the user reaches {@link #FIT_THRESHOLD} for. */
+    public int countFits(Collection<String> skills) {
+        long[] user = encode(skills);
+        int fits = 0;
+        for (int r = 0; r < roles.length; r++) {
+            if (score(r, user) >= FIT_THRESHOLD) {
+                fits++;
+            }
+        }
+        return fits;
+    }
+
+    public int size() {
+        return roles.length;
+    }
+
+    public int skillCount() {
+        return dictionary.size();
+    }
+
+    double score(int role, long[] user) {
+        if (totalWeight[role] == 0) {
+            return 0;
+        }
+        int base = role * words;
+        int matched = 0;
+        for (int w = 0; w < MAX_WEIGHT; w++) {
+            long[] tier = tiers[w];
+            int count = 0;
+            for (int i = 0; i < words; i++) {
+                count += Long.bitCount(tier[base + i] & user[i]);
+            }
+            matched += (w + 1) * count;
+        }
+        return (double) matched / totalWeight[role];
+    }
+
+    private RoleFit toFit(int role, long[] user) {
+        // Essential skills the user lacks, decoded from the top tier
+        List<String> missing = new ArrayList<>();
+        long[] essential = tiers[MAX_WEIGHT - 1];
+        int base = role * words;
+        for (int i = 0; i < words; i++) {
+            long lacking = essential[base + i] & ~user[i];
+            while (lacking != 0) {
+                missing.add(dictionary.nameOf((i << 6) + Long.numberOfTrailingZeros(lacking)));
+                lacking &= lacking - 1;
+            }
+        }
+        CatalogRole source = roles[role];
+        return new RoleFit(source.getId(), source.getName(), source.getCategory(), score(role, user), missing);
+    }
+
+    private static boolean hasSkill(long[][] tiers, int index, long bit) {
+        for (long[] tier : tiers) {
+            if ((tier[index] & bit) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int weightOf(CatalogRole.RoleSkill skill) {
+        Integer weight = skill.getWeight();
+        return weight == null ? 1 : Math.max(1, Math.min(MAX_WEIGHT, weight));
+    }
+
+    private static List<CatalogRole.RoleSkill> skillsOf(CatalogRole role) {
+        if (role.getSkills() == null) {
+            return List.of();
+        }
+        return role.getSkills().stream()
+                .filter(skill -> skill != null && skill.getName() != null && !skill.getName().isBlank())
+                .toList();
+    }
+
+    private static String roleKey(String roleName) {
+        return roleName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record RoleFit(String roleId, String name, String category, double score, List<String> missingEssentials) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.util.SkillNames;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns normalized skill names as dense int ids so indexes can be plain
+ * arrays. Ids are assigned in insertion order. Not thread-safe while being
+ * filled; read-only once the owning index is published.
+ */
+public class SkillDictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /** Returns the id of the skill, assigning the next free one for a new name. */
+    public int intern(String skillName) {
+        String key = SkillNames.normalize(skillName);
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = names.size();
+            ids.put(key, id);
+            names.add(skillName.trim());
+        }
+        return id;
+    }
+
+    /** Returns the id of the skill or {@link #UNKNOWN}. */
+    public int idOf(String skillName) {
+        Integer id = ids.get(SkillNames.normalize(skillName));
+        return id != null ? id : UNKNOWN;
+    }
+
+    /** Display name as first seen. */
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,167 @@
+package com.cp.workskillai.service.catalog;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable skill prerequisite DAG. Edges are stored in both directions as
+ * compressed sparse rows: the prerequisites of skill {@code i} are
+ * {@code prerequisites[prerequisiteOffsets[i] .. prerequisiteOffsets[i + 1])},
+ * and likewise for dependents. Cycles are rejected at build time.
+ */
+public final class SkillGraph {
+
+    // Estimate for skills whose node does not say how long they take
+    public static final double DEFAULT_HOURS = 20.0;
+
+    private static final SkillGraph EMPTY = build(List.of());
+
+    private final SkillDictionary dictionary;
+    private final double[] hours;
+    private final int[] prerequisiteOffsets;
+    private final int[] prerequisites;
+    private final int[] dependentOffsets;
+    private final int[] dependents;
+
+    private SkillGraph(SkillDictionary dictionary, double[] hours, int[] prerequisiteOffsets, int[] prerequisites,
+                       int[] dependentOffsets, int[] dependents) {
+        this.dictionary = dictionary;
+        this.hours = hours;
+        this.prerequisiteOffsets = prerequisiteOffsets;
+        this.prerequisites = prerequisites;
+        this.dependentOffsets = dependentOffsets;
+        this.dependents = dependents;
+    }
+
+    public static SkillGraph empty() {
+        return EMPTY;
+    }
+
+    public static SkillGraph build(List<Node> nodes) {
+        SkillDictionary dictionary = new SkillDictionary();
+        for (Node node : nodes) {
+            dictionary.intern(node.name());
+            prerequisitesOf(node).forEach(dictionary::intern);
+        }
+        int size = dictionary.size();
+
+        double[] hours = new double[size];
+        Arrays.fill(hours, DEFAULT_HOURS);
+        int[] prerequisiteOffsets = new int[size + 1];
+        int[] dependentOffsets = new int[size + 1];
+        for (Node node : nodes) {
+            int id = dictionary.idOf(node.name());
+            if (node.hours() != null && node.hours() > 0) {
+                hours[id] = node.hours();
+            }
+            for (String prerequisite : prerequisitesOf(node)) {
+                prerequisiteOffsets[id + 1]++;
+                dependentOffsets[dictionary.idOf(prerequisite) + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            prerequisiteOffsets[i + 1] += prerequisiteOffsets[i];
+            dependentOffsets[i + 1] += dependentOffsets[i];
+        }
+
+        int[] prerequisites = new int[prerequisiteOffsets[size]];
+        int[] dependents = new int[dependentOffsets[size]];
+        int[] prerequisiteFill = Arrays.copyOf(prerequisiteOffsets, size);
+        int[] dependentFill = Arrays.copyOf(dependentOffsets, size);
+        for (Node node : nodes) {
+            int id = dictionary.idOf(node.name());
+            for (String name : prerequisitesOf(node)) {
+                int prerequisite = dictionary.idOf(name);
+                prerequisites[prerequisiteFill[id]++] = prerequisite;
+                dependents[dependentFill[prerequisite]++] = id;
+            }
+        }
+
+        SkillGraph graph = new SkillGraph(dictionary, hours, prerequisiteOffsets, prerequisites,
+                dependentOffsets, dependents);
+        graph.requireAcyclic();
+        return graph;
+    }
+
+    public int idOf(String skillName) {
+        return dictionary.idOf(skillName);
+    }
+
+    public String nameOf(int id) {
+        return dictionary.nameOf(id);
+    }
+
+    public double hoursOf(int id) {
+        return hours[id];
+    }
+
+    public int size() {
+        return dictionary.size();
+    }
+
+    int prerequisiteStart(int id) {
+        return prerequisiteOffsets[id];
+    }
+
+    int prerequisiteEnd(int id) {
+        return prerequisiteOffsets[id + 1];
+    }
+
+    int prerequisiteAt(int index) {
+        return prerequisites[index];
+    }
+
+    int dependentStart(int id) {
+        return dependentOffsets[id];
+    }
+
+    int dependentEnd(int id) {
+        return dependentOffsets[id + 1];
+    }
+
+    int dependentAt(int index) {
+        return dependents[index];
+    }
+
+    private void requireAcyclic() {
+        int size = size();
+        int[] inDegree = new int[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int id = 0; id < size; id++) {
+            inDegree[id] = prerequisiteEnd(id) - prerequisiteStart(id);
+            if (inDegree[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+        while (head < tail) {
+            int id = queue[head++];
+            for (int d = dependentStart(id); d < dependentEnd(id); d++) {
+                if (--inDegree[dependentAt(d)] == 0) {
+                    queue[tail++] = dependentAt(d);
+                }
+            }
+        }
+        if (tail < size) {
+            for (int id = 0; id < size; id++) {
+                if (inDegree[id] > 0) {
+                    throw new IllegalArgumentException("Skill prerequisites contain a cycle involving " + nameOf(id));
+                }
+            }
+        }
+    }
+
+    private static List<String> prerequisitesOf(Node node) {
+        if (node.prerequisites() == null) {
+            return List.of();
+        }
+        return node.prerequisites().stream()
+                .filter(name -> name != null && !name.isBlank())
+                .toList();
+    }
+
+    /** A skill as declared in the prerequisites resource. */
+    public record Node(String name, Double hours, List<String> prerequisites) {
+    }
+}
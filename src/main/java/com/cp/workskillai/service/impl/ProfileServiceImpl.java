@@ -2,17 +2,23 @@ package com.cp.workskillai.service.impl;
 
 import com.cp.workskillai.dto.ProfileUpdateRequest;
 import com.cp.workskillai.dto.ResumeAnalysisResponse;
+import com.cp.workskillai.dto.SkillAnalyticsDTO;
+import com.cp.workskillai.events.ResumeDeletedEvent;
+import com.cp.workskillai.events.ResumeUploadedEvent;
+import com.cp.workskillai.events.UserProfileUpdatedEvent;
 import com.cp.workskillai.models.*;
 import com.cp.workskillai.repository.ResumeRepository;
 import com.cp.workskillai.repository.StudentRepository;
 import com.cp.workskillai.repository.UserProfileRepository;
-import com.cp.workskillai.repository.UserSkillRepository;
 import com.cp.workskillai.service.GeminiAIService;
 import com.cp.workskillai.service.ProfileService;
+import com.cp.workskillai.service.SkillAnalyticsService;
+import com.cp.workskillai.service.SkillSyncEngine;
 import com.cp.workskillai.service.UserSkillService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -30,10 +36,12 @@ import java.util.stream.Collectors;
 public class ProfileServiceImpl implements ProfileService {
 
     private final UserProfileRepository userProfileRepository;
-    private final UserSkillRepository userSkillRepository;
+    private final SkillSyncEngine skillSyncEngine;
+    private final SkillAnalyticsService skillAnalyticsService;
     private final ResumeRepository resumeRepository;
     private final StudentRepository studentRepository;
     private final GeminiAIService geminiAIService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserProfile getProfile(String userId) {
@@ -47,6 +55,13 @@ public class ProfileServiceImpl implements ProfileService {
         return profile;
     }
 
+    @Override
+    public String getProfileVersion(String userId) {
+        return userProfileRepository.findVersionByUserId(userId)
+                .map(UserProfile::getUpdatedAt)
+                .orElse(null);
+    }
+
     @Override
     public UserProfile updateProfile(String userId, ProfileUpdateRequest request) {
         log.info("Updating profile for user: {}", userId);
@@ -62,6 +77,7 @@ public class ProfileServiceImpl implements ProfileService {
         
         // Sync skills to UserSkill model
         syncSkillsFromProfile(userId, savedProfile.getTechnicalSkills());
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId));
         
         log.info("Profile updated successfully for user: {}", userId);
         
@@ -107,6 +123,7 @@ public class ProfileServiceImpl implements ProfileService {
         
         // Sync skills to UserSkill model
         syncSkillsFromProfile(userId, savedProfile.getTechnicalSkills());
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId));
         
         log.info("New profile created for user: {}", userId);
         
@@ -125,170 +142,12 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         try {
-            List<UserSkill> existingSkills = userSkillRepository.findByUserId(userId);
-            Map<String, UserSkill> existingSkillsMap = existingSkills.stream()
-                    .collect(Collectors.toMap(
-                            skill -> skill.getName().toLowerCase(),
-                            skill -> skill
-                    ));
-
-            List<UserSkill> skillsToSave = new ArrayList<>();
-            Set<String> processedSkills = new HashSet<>();
-
-            for (String skillName : technicalSkills) {
-                if (skillName == null || skillName.trim().isEmpty()) {
-                    continue;
-                }
-
-                String normalizedSkillName = skillName.trim();
-                String lowerCaseSkillName = normalizedSkillName.toLowerCase();
-
-                if (processedSkills.contains(lowerCaseSkillName)) {
-                    continue; // Skip duplicates
-                }
-
-                processedSkills.add(lowerCaseSkillName);
-
-                if (existingSkillsMap.containsKey(lowerCaseSkillName)) {
-                    // Skill exists, update if needed
-                    UserSkill existingSkill = existingSkillsMap.get(lowerCaseSkillName);
-                    boolean needsUpdate = updateExistingSkill(existingSkill, normalizedSkillName);
-                    if (needsUpdate) {
-                        skillsToSave.add(existingSkill);
-                    }
-                } else {
-                    // Create new skill
-                    UserSkill newSkill = createNewUserSkill(userId, normalizedSkillName);
-                    skillsToSave.add(newSkill);
-                }
-            }
-
-            // Save all skills
-            if (!skillsToSave.isEmpty()) {
-                userSkillRepository.saveAll(skillsToSave);
-                log.info("Synced {} skills for user: {}", skillsToSave.size(), userId);
-            }
-
-            // Handle skills that were removed from profile
-            handleRemovedSkills(userId, existingSkills, processedSkills);
-
+            skillSyncEngine.sync(userId, technicalSkills);
         } catch (Exception e) {
             log.error("Error syncing skills for user: {}", userId, e);
         }
     }
 
-    /**
-     * Update existing skill if needed
-     */
-    private boolean updateExistingSkill(UserSkill existingSkill, String skillName) {
-        boolean needsUpdate = false;
-
-        // Update category if it's different or empty
-        String newCategory = determineCategory(skillName);
-        if (!newCategory.equals(existingSkill.getCategory())) {
-            existingSkill.setCategory(newCategory);
-            needsUpdate = true;
-        }
-
-        // Update timestamp
-        existingSkill.setUpdatedAt(LocalDateTime.now());
-
-        return needsUpdate;
-    }
-
-    /**
-     * Create new UserSkill from profile skill
-     */
-    private UserSkill createNewUserSkill(String userId, String skillName) {
-        String category = determineCategory(skillName);
-        
-        return UserSkill.builder()
-                .userId(userId)
-                .name(skillName)
-                .category(category)
-                .proficiency(0)
-                .score(0)
-                .status("pending")
-                .level("Pending")
-                .verified(false)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .experienceMonths(0)
-                .confidenceLevel("low")
-                .build();
-    }
-
-    /**
-     * Handle skills that were removed from profile
-     */
-    private void handleRemovedSkills(String userId, List<UserSkill> existingSkills, Set<String> currentSkillNames) {
-        List<UserSkill> skillsToRemove = existingSkills.stream()
-                .filter(skill -> !currentSkillNames.contains(skill.getName().toLowerCase()))
-                .collect(Collectors.toList());
-
-        if (!skillsToRemove.isEmpty()) {
-            // Instead of deleting, mark them as inactive or keep for history
-            // userSkillRepository.deleteAll(skillsToRemove);
-            log.info("Found {} skills removed from profile for user: {}", skillsToRemove.size(), userId);
-            // You can choose to delete or just log the removed skills
-        }
-    }
-
-    /**
-     * Enhanced skill categorization
-     */
-    private String determineCategory(String skillName) {
-        if (skillName == null) {
-            return "Other";
-        }
-
-        String lowerSkill = skillName.toLowerCase();
-
-        // Programming Languages
-        if (lowerSkill.matches(".*\\b(java|python|javascript|typescript|c\\+\\+|c#|go|rust|kotlin|swift|php|ruby|scala|r|matlab|perl|haskell|elixir|clojure|dart)\\b.*")) {
-            return "Programming";
-        }
-        // Frontend Technologies
-        else if (lowerSkill.matches(".*\\b(react|angular|vue|svelte|ember|backbone|jquery|html|css|sass|less|bootstrap|tailwind|webpack|vite|babel|redux|mobx|next\\.?js|nuxt\\.?js|gatsby)\\b.*")) {
-            return "Frontend";
-        }
-        // Backend Technologies
-        else if (lowerSkill.matches(".*\\b(node\\.?js|express|spring|django|flask|fastapi|laravel|ruby on rails|asp\\.net|nestjs|koa|hapi|micronaut|quarkus|graphql|rest api|microservices|serverless)\\b.*")) {
-            return "Backend";
-        }
-        // Database Technologies
-        else if (lowerSkill.matches(".*\\b(mysql|postgresql|mongodb|redis|elasticsearch|cassandra|oracle|sql server|sqlite|dynamodb|cosmosdb|firebase|realm|hbase|couchbase|neo4j|arangodb)\\b.*")) {
-            return "Database";
-        }
-        // Cloud Technologies
-        else if (lowerSkill.matches(".*\\b(aws|azure|gcp|google cloud|amazon web services|docker|kubernetes|terraform|ansible|jenkins|gitlab|github actions|circleci|travis ci|helm|istio|linkerd|openshift)\\b.*")) {
-            return "Cloud & DevOps";
-        }
-        // Mobile Development
-        else if (lowerSkill.matches(".*\\b(android|ios|react native|flutter|xamarin|ionic|cordova|phonegap|swiftui|jetpack compose|kotlin multiplatform)\\b.*")) {
-            return "Mobile";
-        }
-        // Data Science & AI/ML
-        else if (lowerSkill.matches(".*\\b(tensorflow|pytorch|keras|scikit-learn|pandas|numpy|matplotlib|seaborn|jupyter|tableau|power bi|apache spark|hadoop|kafka|airflow|mlflow|kubeflow|hugging face|openai)\\b.*")) {
-            return "Data Science & AI";
-        }
-        // Testing
-        else if (lowerSkill.matches(".*\\b(junit|testng|jest|mocha|chai|cypress|selenium|playwright|pytest|rspec|cucumber|jmeter|postman|soapui)\\b.*")) {
-            return "Testing";
-        }
-        // Tools & Methodologies
-        else if (lowerSkill.matches(".*\\b(git|svn|mercurial|jira|confluence|slack|teams|zoom|agile|scrum|kanban|waterfall|devops|ci/cd|tdd|bdd|domain driven design|clean architecture)\\b.*")) {
-            return "Tools & Methodologies";
-        }
-        // Soft Skills
-        else if (lowerSkill.matches(".*\\b(communication|leadership|teamwork|problem solving|critical thinking|adaptability|time management|creativity|collaboration|presentation|negotiation|conflict resolution|emotional intelligence)\\b.*")) {
-            return "Soft Skills";
-        }
-        else {
-            return "Other";
-        }
-    }
-
     // ========== EXISTING METHODS (Keep all your existing methods) ==========
 
     @Override
@@ -319,11 +178,11 @@ public class ProfileServiceImpl implements ProfileService {
             // Set as active resume
             setActiveResume(savedResume.getId(), userId);
             
-            // Sync skills from the analyzed resume
-            if (savedResume.getTechnicalSkills() != null && !savedResume.getTechnicalSkills().isEmpty()) {
-                syncSkillsFromProfile(userId, savedResume.getTechnicalSkills());
-            }
+            // Sync skills from the profile, which now includes the resume's
+            syncSkillsFromProfile(userId, updatedProfile.getTechnicalSkills());
             
+            eventPublisher.publishEvent(new ResumeUploadedEvent(
+                    userId, savedResume.getId(), savedResume.getOriginalFileName(), savedResume.getUploadDate()));
             log.info("Resume analysis completed successfully for user: {}", userId);
             
             return new ResumeAnalysisResponse(
@@ -362,6 +221,7 @@ public class ProfileServiceImpl implements ProfileService {
                 .orElseThrow(() -> new RuntimeException("Resume not found or access denied"));
         
         resumeRepository.delete(resume);
+        eventPublisher.publishEvent(new ResumeDeletedEvent(userId, resumeId));
         
         // If this was the active resume, set another one as active
         if (resume.getIsActive()) {
@@ -372,6 +232,7 @@ public class ProfileServiceImpl implements ProfileService {
                 // No resumes left, clear currentResumeId from profile
                 UserProfile profile = getProfile(userId);
                 profile.setCurrentResumeId(null);
+                profile.setUpdatedAt(LocalDateTime.now().toString());
                 userProfileRepository.save(profile);
             }
         }
@@ -400,6 +261,7 @@ public class ProfileServiceImpl implements ProfileService {
         // Update user profile with current resume ID
         UserProfile profile = getProfile(userId);
         profile.setCurrentResumeId(resumeId);
+        profile.setUpdatedAt(LocalDateTime.now().toString());
         userProfileRepository.save(profile);
         
         return true;
@@ -428,10 +290,8 @@ public class ProfileServiceImpl implements ProfileService {
             // Update user profile with new analysis
             UserProfile updatedProfile = updateProfileFromResume(resume.getUserId(), resume);
             
-            // Sync skills from the re-analyzed resume
-            if (resume.getTechnicalSkills() != null && !resume.getTechnicalSkills().isEmpty()) {
-                syncSkillsFromProfile(resume.getUserId(), resume.getTechnicalSkills());
-            }
+            // Sync skills from the profile, which now includes the re-analyzed resume's
+            syncSkillsFromProfile(resume.getUserId(), updatedProfile.getTechnicalSkills());
             
             return new ResumeAnalysisResponse(
                 true,
@@ -472,7 +332,9 @@ public class ProfileServiceImpl implements ProfileService {
                 .updatedAt(LocalDateTime.now().toString())
                 .build();
         
-        return userProfileRepository.save(profile);
+        UserProfile savedProfile = userProfileRepository.save(profile);
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId));
+        return savedProfile;
     }
 
     private void validateFile(MultipartFile file) {
@@ -504,6 +366,7 @@ public class ProfileServiceImpl implements ProfileService {
             if (!userResumes.isEmpty()) {
                 ResumeDocument oldestResume = userResumes.get(userResumes.size() - 1);
                 resumeRepository.delete(oldestResume);
+                eventPublisher.publishEvent(new ResumeDeletedEvent(userId, oldestResume.getId()));
                 log.info("Deleted oldest resume to maintain limit: {}", oldestResume.getId());
             }
         }
@@ -648,7 +511,9 @@ public class ProfileServiceImpl implements ProfileService {
         
         profile.setUpdatedAt(LocalDateTime.now().toString());
         
-        return userProfileRepository.save(profile);
+        UserProfile savedProfile = userProfileRepository.save(profile);
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId));
+        return savedProfile;
     }
 
     // Conversion methods for analysis results
@@ -803,31 +668,18 @@ public class ProfileServiceImpl implements ProfileService {
     }
     
     public Map<String, Object> getSkillAnalytics(List<UserSkill> skills) {
+        SkillAnalyticsDTO summary = skillAnalyticsService.summarize(skills);
         Map<String, Object> analytics = new HashMap<>();
         
-        analytics.put("totalSkills", skills.size());
-        analytics.put("verifiedSkills", skills.stream().filter(UserSkill::getVerified).count());
-        analytics.put("averageProficiency", skills.stream()
-            .mapToInt(UserSkill::getProficiency)
-            .average()
-            .orElse(0.0));
-        
-        // Skill distribution by level
-        Map<String, Long> levelDistribution = new HashMap<>();
-        levelDistribution.put("expert", skills.stream().filter(s -> "Expert".equals(s.getLevel())).count());
-        levelDistribution.put("advanced", skills.stream().filter(s -> "Advanced".equals(s.getLevel())).count());
-        levelDistribution.put("intermediate", skills.stream().filter(s -> "Intermediate".equals(s.getLevel())).count());
-        levelDistribution.put("beginner", skills.stream().filter(s -> "Beginner".equals(s.getLevel())).count());
-        levelDistribution.put("pending", skills.stream().filter(s -> "Pending".equals(s.getLevel())).count());
-        
-        analytics.put("levelDistribution", levelDistribution);
+        analytics.put("totalSkills", summary.getTotalSkills());
+        analytics.put("verifiedSkills", summary.getVerifiedSkills());
+        analytics.put("averageProficiency", summary.getAverageProficiency());
+        analytics.put("levelDistribution", summary.getLevelDistribution());
         
         // Skill distribution by category
-        Map<String, Long> categoryDistribution = skills.stream()
-            .collect(HashMap::new, 
-                (map, skill) -> map.merge(skill.getCategory(), 1L, Long::sum),
-                HashMap::putAll);
-        
+        Map<String, Long> categoryDistribution = new HashMap<>();
+        summary.getCategoryBreakdown().forEach(category ->
+            categoryDistribution.put(category.getCategory(), category.getSkills().longValue()));
         analytics.put("categoryDistribution", categoryDistribution);
         
         return analytics;
@@ -5,6 +5,7 @@ import com.cp.workskillai.dto.SignUpResponse;
 import com.cp.workskillai.models.Student;
 import com.cp.workskillai.repository.StudentRepository;
 import com.cp.workskillai.service.StudentService;
+import com.cp.workskillai.service.WriteBehindBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +26,7 @@ public class StudentServiceImpl implements StudentService {
     private final StudentRepository studentRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final WriteBehindBuffer writeBehindBuffer;
 
     @Override
     public LoginResponse loginStudent(LoginRequest loginRequest) {
@@ -65,9 +67,14 @@ public class StudentServiceImpl implements StudentService {
                 return new LoginResponse(false, "Invalid role for this account", null, null, null, null, null, null);
             }
 
-            // Update last login
-            student.setLastLoginAt(LocalDateTime.now());
-            studentRepository.save(student);
+            // Rehash with the current strength if the stored hash predates it
+            if (passwordEncoder.upgradeEncoding(student.getPassword())) {
+                studentRepository.updatePassword(student.getId(), passwordEncoder.encode(loginRequest.getPassword()));
+                log.info("Rehashed password with the current BCrypt strength for email: {}", loginRequest.getEmail());
+            }
+
+            // Last login is bookkeeping: written in the background, not as a full document save
+            writeBehindBuffer.set(Student.class, student.getId(), "lastLoginAt", LocalDateTime.now());
 
             // Generate JWT token
             String token = jwtUtil.generateToken(student.getEmail(), student.getId(), student.getRole());
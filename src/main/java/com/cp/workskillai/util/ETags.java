@@ -0,0 +1,28 @@
+package com.cp.workskillai.util;
+
+import org.springframework.http.CacheControl;
+
+/**
+ * Strong ETags built from a resource's version (usually its updatedAt), so a
+ * conditional GET can be answered after reading only the version.
+ */
+public final class ETags {
+
+    // Clients may keep the body but must revalidate it before every use
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /** Quoted strong ETag, or null when the resource has no version yet. */
+    public static String strong(String resource, Object... versionParts) {
+        StringBuilder tag = new StringBuilder("\"").append(resource);
+        for (Object part : versionParts) {
+            if (part == null) {
+                return null;
+            }
+            tag.append('-').append(part);
+        }
+        return tag.append('"').toString();
+    }
+}
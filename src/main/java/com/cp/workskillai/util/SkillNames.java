@@ -0,0 +1,42 @@
+package com.cp.workskillai.util;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Canonical form of skill names, so "Node.js", "nodejs" and " NODE.JS " are
+ * the same skill wherever skills are matched.
+ */
+public final class SkillNames {
+
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("js", "javascript"),
+            Map.entry("ts", "typescript"),
+            Map.entry("nodejs", "node.js"),
+            Map.entry("node", "node.js"),
+            Map.entry("reactjs", "react"),
+            Map.entry("react.js", "react"),
+            Map.entry("golang", "go"),
+            Map.entry("k8s", "kubernetes"),
+            Map.entry("postgres", "postgresql"),
+            Map.entry("mongo", "mongodb"),
+            Map.entry("amazon web services", "aws"),
+            Map.entry("ci cd", "ci/cd"),
+            Map.entry("cicd", "ci/cd"),
+            Map.entry("ml", "machine learning"));
+
+    private SkillNames() {
+    }
+
+    /**
+     * Lower-cases, trims, collapses whitespace and resolves common aliases.
+     * Returns an empty string for null or blank input.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String normalized = name.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_-]+", " ");
+        return ALIASES.getOrDefault(normalized, normalized);
+    }
+}
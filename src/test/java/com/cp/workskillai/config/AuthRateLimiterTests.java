@@ -0,0 +1,118 @@
+package com.cp.workskillai.config;
+
+import com.cp.workskillai.models.RateLimitWindow;
+import com.cp.workskillai.stub.InMemoryMongo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong(600_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthRateLimiter limiter = new AuthRateLimiter(true, Duration.ofMinutes(1), 5, 3, 1_000,
+            false, null, meterRegistry, now::get);
+
+    @Test
+    void rejectsAnEmailPastItsLimitFromAnyAddress() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("10.0.0." + i, "Jane@Example.com").allowed()).isTrue();
+        }
+
+        AuthRateLimiter.Decision decision = limiter.tryAcquire("10.0.0.9", "jane@example.com");
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterSeconds()).isEqualTo(60);
+        assertThat(limiter.tryAcquire("10.0.0.9", "john@example.com").allowed()).isTrue();
+        assertThat(meterRegistry.get("auth.ratelimit.requests")
+                .tags("scope", "email", "outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAnAddressPastItsLimitAcrossEmails() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", "user" + i + "@example.com").allowed()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire("10.0.0.1", "other@example.com").allowed()).isFalse();
+        assertThat(limiter.tryAcquire("10.0.0.2", "other@example.com").allowed()).isTrue();
+    }
+
+    @Test
+    void previousWindowFadesOutAsTheWindowSlides() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1", "jane@example.com");
+        }
+
+        // A second into the next window the previous three still weigh 2.95: one more fits
+        now.addAndGet(61_000);
+        assertThat(limiter.tryAcquire("10.0.0.1", "jane@example.com").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("10.0.0.1", "jane@example.com").allowed()).isFalse();
+
+        // Two thirds in they weigh one, so a second attempt in this window fits
+        now.addAndGet(39_000);
+        assertThat(limiter.tryAcquire("10.0.0.1", "jane@example.com").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("10.0.0.1", "jane@example.com").allowed()).isFalse();
+    }
+
+    @Test
+    void sharedStoreEnforcesOneLimitAcrossNodes() {
+        try (InMemoryMongo mongo = new InMemoryMongo()) {
+            AuthRateLimiter nodeA = sharedLimiter(mongo);
+            AuthRateLimiter nodeB = sharedLimiter(mongo);
+
+            assertThat(nodeA.tryAcquire("10.0.0.1", "jane@example.com").allowed()).isTrue();
+            assertThat(nodeB.tryAcquire("10.0.0.2", "jane@example.com").allowed()).isTrue();
+            assertThat(nodeA.tryAcquire("10.0.0.3", "jane@example.com").allowed()).isTrue();
+            assertThat(nodeB.tryAcquire("10.0.0.4", "jane@example.com").allowed()).isFalse();
+            assertThat(nodeA.tryAcquire("10.0.0.5", "jane@example.com").allowed()).isFalse();
+
+            // Rejected attempts are taken back, so the window holds only the three that got through
+            RateLimitWindow window = mongo.template().findById(
+                    RateLimitWindow.idOf("email:jane@example.com", now.get() / 60_000), RateLimitWindow.class);
+            assertThat(window.getCount()).isEqualTo(3);
+
+            now.addAndGet(61_000);
+            assertThat(nodeB.tryAcquire("10.0.0.6", "jane@example.com").allowed()).isTrue();
+            assertThat(nodeA.tryAcquire("10.0.0.7", "jane@example.com").allowed()).isFalse();
+        }
+    }
+
+    @Test
+    void sharedStoreNeverLetsConcurrentAttemptsPastTheLimit() throws Exception {
+        try (InMemoryMongo mongo = new InMemoryMongo()) {
+            List<AuthRateLimiter> nodes = List.of(sharedLimiter(mongo), sharedLimiter(mongo), sharedLimiter(mongo));
+            ExecutorService pool = Executors.newFixedThreadPool(12);
+            try {
+                List<Callable<Boolean>> attempts = new ArrayList<>();
+                for (int i = 0; i < 24; i++) {
+                    AuthRateLimiter node = nodes.get(i % nodes.size());
+                    String ip = "10.0.1." + i;
+                    attempts.add(() -> node.tryAcquire(ip, "jane@example.com").allowed());
+                }
+                int allowed = 0;
+                for (Future<Boolean> result : pool.invokeAll(attempts)) {
+                    allowed += result.get() ? 1 : 0;
+                }
+                assertThat(allowed).isEqualTo(3);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private AuthRateLimiter sharedLimiter(InMemoryMongo mongo) {
+        return new AuthRateLimiter(true, Duration.ofMinutes(1), 5, 3, 1_000,
+                true, mongo.template(), new SimpleMeterRegistry(), now::get);
+    }
+}
@@ -0,0 +1,93 @@
+package com.cp.workskillai.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutExecutorTests {
+
+    private final FanOutExecutor fanOut = new FanOutExecutor(16, Duration.ofSeconds(2));
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    void independentTasksRunConcurrently() {
+        long start = System.nanoTime();
+        try (FanOutExecutor.Scope scope = fanOut.open()) {
+            FanOutExecutor.Task<String> first = scope.fork(() -> sleepThen(200, "first"));
+            FanOutExecutor.Task<String> second = scope.fork(() -> sleepThen(200, "second"));
+            FanOutExecutor.Task<String> third = scope.fork(() -> sleepThen(200, "third"));
+            scope.join();
+
+            assertThat(first.get()).isEqualTo("first");
+            assertThat(second.get()).isEqualTo("second");
+            assertThat(third.get()).isEqualTo("third");
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(450));
+    }
+
+    @Test
+    void firstFailureCancelsSiblingsAndIsRethrown() throws Exception {
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        long start = System.nanoTime();
+        try (FanOutExecutor.Scope scope = fanOut.open()) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    siblingInterrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("Student not found");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Student not found");
+        }
+        assertThat(siblingInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void sharedDeadlineBoundsTheWholeScope() {
+        try (FanOutExecutor.Scope scope = fanOut.open(Duration.ofMillis(100))) {
+            FanOutExecutor.Task<String> fast = scope.fork(() -> "fast");
+            scope.fork(() -> sleepThen(5_000, "slow"));
+
+            assertThatThrownBy(scope::join).isInstanceOf(FanOutExecutor.DeadlineExceededException.class);
+            assertThat(fast.get()).isEqualTo("fast");
+        }
+    }
+
+    @Test
+    void forksBeyondTheConcurrencyLimitRunOnTheCaller() {
+        FanOutExecutor single = new FanOutExecutor(1, Duration.ofSeconds(2));
+        try (FanOutExecutor.Scope scope = single.open()) {
+            FanOutExecutor.Task<String> pooled = scope.fork(() -> sleepThen(100, Thread.currentThread().getName()));
+            FanOutExecutor.Task<String> inline = scope.fork(() -> Thread.currentThread().getName());
+            scope.join();
+
+            assertThat(pooled.get()).startsWith("fan-out-");
+            assertThat(inline.get()).isEqualTo(Thread.currentThread().getName());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    private static String sleepThen(long millis, String value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+}
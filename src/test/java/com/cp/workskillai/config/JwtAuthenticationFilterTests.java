@@ -0,0 +1,80 @@
+package com.cp.workskillai.config;
+
+import com.cp.workskillai.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTests {
+
+    private final JwtUtil jwtUtil = spy(new JwtUtil("test-secret-0123456789-abcdefghijklmnopqrstuvwxyz", 60_000, 0));
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void publicRoutesStillSeeTheCaller() throws Exception {
+        MockHttpServletRequest request = request("/api/analyze/skill-gap");
+        AtomicReference<Object> userId = new AtomicReference<>();
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            // What @RequestAttribute("userId") reads, before anything touched the context
+            userId.set(req.getAttribute("userId"));
+            seen.set(SecurityContextHolder.getContext().getAuthentication());
+        });
+
+        assertThat(userId.get()).isEqualTo("hr1");
+        assertThat(seen.get().getName()).isEqualTo("hr@example.com");
+        verify(jwtUtil, times(1)).verify(anyString());
+    }
+
+    @Test
+    void requestsThatNeverAskNeverVerify() throws Exception {
+        MockHttpServletRequest request = request("/api/dashboard/u1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.getAttribute("other"));
+
+        assertThat(request.getAttribute("userId")).isNull();
+        verify(jwtUtil, never()).verify(anyString());
+    }
+
+    @Test
+    void protectedRoutesVerifyOnlyWhenTheContextIsRead() throws Exception {
+        MockHttpServletRequest request = request("/api/hr/analytics/cohort");
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            verify(jwtUtil, never()).verify(anyString());
+            seen.set(SecurityContextHolder.getContext().getAuthentication());
+            // Later reads reuse the resolved context
+            SecurityContextHolder.getContext();
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(seen.get().getName()).isEqualTo("hr@example.com");
+        assertThat(request.getAttribute("userId")).isEqualTo("hr1");
+        assertThat(request.getAttribute("userRole")).isEqualTo("hr");
+        verify(jwtUtil, times(1)).verify(anyString());
+    }
+
+    private MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setCookies(new Cookie("jwt", jwtUtil.generateToken("hr@example.com", "hr1", "hr")));
+        return request;
+    }
+}
@@ -0,0 +1,36 @@
+package com.cp.workskillai.config;
+
+import com.cp.workskillai.models.RateLimitWindow;
+import com.cp.workskillai.models.SkillGapAnalysis;
+import com.cp.workskillai.models.UserSkill;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MongoIndexConfigTests {
+
+    @Test
+    void oneFailingStepDoesNotSkipTheRest() {
+        MongoTemplate template = mock(MongoTemplate.class);
+        IndexOperations failing = mock(IndexOperations.class);
+        IndexOperations skills = mock(IndexOperations.class);
+        IndexOperations others = mock(IndexOperations.class);
+        when(failing.createIndex(any())).thenThrow(new IllegalStateException("index build failed"));
+        when(template.indexOps(any(Class.class))).thenReturn(others);
+        when(template.indexOps(SkillGapAnalysis.class)).thenReturn(failing);
+        when(template.indexOps(UserSkill.class)).thenReturn(skills);
+        // The dedupe passes fail too: the mocked aggregation has no results to iterate
+        when(template.aggregate(any(), any(String.class), any())).thenThrow(new IllegalStateException("aggregation failed"));
+
+        new MongoIndexConfig(template).ensureIndexes();
+
+        verify(failing, times(2)).createIndex(any(IndexDefinition.class));
+        verify(skills, times(3)).createIndex(any(IndexDefinition.class));
+        verify(template).indexOps(RateLimitWindow.class);
+        verify(others, times(6)).createIndex(any(IndexDefinition.class));
+    }
+}
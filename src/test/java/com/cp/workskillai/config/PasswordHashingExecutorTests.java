@@ -0,0 +1,54 @@
+package com.cp.workskillai.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor hashing = new PasswordHashingExecutor(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        hashing.shutdown();
+    }
+
+    @Test
+    void workRunsOffTheCallerThread() throws Exception {
+        String worker = hashing.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS);
+
+        assertThat(worker).startsWith("password-hash-");
+    }
+
+    @Test
+    void rejectsAtOnceWhenThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = hashing.submit(() -> awaitThen(release, "running"));
+        CompletableFuture<String> queued = hashing.submit(() -> "queued");
+
+        assertThatThrownBy(() -> hashing.submit(() -> "rejected"))
+                .isInstanceOf(PasswordHashingExecutor.SaturatedException.class);
+        assertThat(meterRegistry.counter("auth.password.hashing.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    private static String awaitThen(CountDownLatch latch, String value) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.config.FanOutExecutor;
+import com.cp.workskillai.dto.DashboardResponse;
+import com.cp.workskillai.service.DashboardService;
+import com.cp.workskillai.service.ProfileService;
+import com.cp.workskillai.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class DashboardControllerTests {
+
+    private final DashboardService dashboardService = mock(DashboardService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new DashboardController(dashboardService,
+            mock(ProfileService.class), mock(StudentService.class), mock(FanOutExecutor.class))).build();
+
+    @Test
+    void freshlyRebuiltViewRevalidatesAgainstTheStoredVersion() throws Exception {
+        LocalDateTime rebuiltAt = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_789);
+        when(dashboardService.getDashboardData("u1")).thenReturn(DashboardResponse.builder().updatedAt(rebuiltAt).build());
+        // Mongo hands back the millisecond value it stored
+        when(dashboardService.getDashboardVersion("u1")).thenReturn(rebuiltAt.truncatedTo(ChronoUnit.MILLIS));
+
+        // The tag also rolls over each minute, so a boundary between the two requests gets one retry
+        int status = 0;
+        for (int attempt = 0; attempt < 2 && status != 304; attempt++) {
+            String etag = mockMvc.perform(get("/api/dashboard/u1")).andReturn().getResponse().getHeader("ETag");
+            status = mockMvc.perform(get("/api/dashboard/u1").header("If-None-Match", etag))
+                    .andReturn().getResponse().getStatus();
+        }
+
+        assertThat(status).isEqualTo(304);
+    }
+}
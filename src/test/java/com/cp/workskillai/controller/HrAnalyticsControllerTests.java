@@ -0,0 +1,46 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO;
+import com.cp.workskillai.models.Student;
+import com.cp.workskillai.repository.StudentRepository;
+import com.cp.workskillai.service.HrAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class HrAnalyticsControllerTests {
+
+    private final HrAnalyticsService service = mock(HrAnalyticsService.class);
+    private final StudentRepository students = mock(StudentRepository.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new HrAnalyticsController(service, students)).build();
+
+    @Test
+    void reportIsForTheAssignedCompany() throws Exception {
+        when(students.findById("hr1")).thenReturn(Optional.of(
+                Student.builder().id("hr1").role("hr").companyName("Acme").companyId("acme").build()));
+        when(service.getCohortAnalytics("acme", "Acme")).thenReturn(new HrCohortAnalyticsDTO());
+
+        mockMvc.perform(get("/api/hr/analytics/cohort").requestAttr("userId", "hr1").requestAttr("userRole", "hr"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aSelfDeclaredCompanyNameGrantsNothing() throws Exception {
+        when(students.findById("hr1")).thenReturn(Optional.of(
+                Student.builder().id("hr1").role("hr").companyName("Acme").build()));
+
+        mockMvc.perform(get("/api/hr/analytics/cohort").requestAttr("userId", "hr1").requestAttr("userRole", "hr"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/hr/analytics/cohort").requestAttr("userId", "e1").requestAttr("userRole", "employee"))
+                .andExpect(status().isForbidden());
+
+        verify(service, never()).getCohortAnalytics(any(), any());
+    }
+}
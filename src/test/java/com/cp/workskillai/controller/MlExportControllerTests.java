@@ -0,0 +1,58 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.service.MlFeatureExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class MlExportControllerTests {
+
+    private final MlFeatureExportService exportService = mock(MlFeatureExportService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+            new MlExportController(exportService, Set.of("admin", "ml"), Duration.ofMinutes(30))).build();
+
+    @Test
+    void otherRolesAreForbidden() throws Exception {
+        mockMvc.perform(get("/api/ml/export/skills").requestAttr("userRole", "employee"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/ml/export/skills"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportStreamsWithItsOwnTimeout() throws Exception {
+        when(exportService.exportAll(any(), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"userId\":\"u1\"}\n".getBytes());
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/ml/export/skills").requestAttr("userRole", "ml")
+                        .param("since", "2026-06-01T08:00:00"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().exists(MlExportController.WATERMARK_HEADER))
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MlExportController.NDJSON))
+                .andExpect(content().string("{\"userId\":\"u1\"}\n"));
+        verify(exportService).exportAll(eq(LocalDateTime.of(2026, 6, 1, 8, 0)), any(OutputStream.class));
+    }
+}
@@ -0,0 +1,41 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.models.Progress;
+import com.cp.workskillai.service.ProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProgressControllerTests {
+
+    private final ProgressService progressService = mock(ProgressService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ProgressController(progressService)).build();
+
+    @Test
+    void callerUpdatesTheirOwnTraining() throws Exception {
+        when(progressService.updateTrainingProgress("u1", "t1", 100)).thenReturn(new Progress());
+
+        mockMvc.perform(put("/api/progress/u1/trainings/t1").requestAttr("userId", "u1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"completionPercentage\":100}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void anotherUsersTrainingIsForbidden() throws Exception {
+        mockMvc.perform(put("/api/progress/u2/trainings/t1").requestAttr("userId", "u1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"completionPercentage\":100}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/progress/u2/trainings/t1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"completionPercentage\":100}"))
+                .andExpect(status().isForbidden());
+
+        verify(progressService, never()).updateTrainingProgress(anyString(), anyString(), anyInt());
+    }
+}
@@ -0,0 +1,71 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.dto.CursorPage;
+import com.cp.workskillai.dto.SkillGapAnalysisRequest;
+import com.cp.workskillai.dto.SkillGapAnalysisResponse;
+import com.cp.workskillai.service.SkillGapAnalysisService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SkillGapAnalysisControllerTests {
+
+    private final SkillGapAnalysisService service = mock(SkillGapAnalysisService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SkillGapAnalysisController(service)).build();
+
+    @Test
+    void malformedHistoryCursorIsABadRequest() throws Exception {
+        when(service.getAnalysisHistoryPage("u1", "garbage", null))
+                .thenThrow(new IllegalArgumentException("Invalid history cursor"));
+
+        mockMvc.perform(get("/api/analyze/history/u1").param("cursor", "garbage").requestAttr("userId", "u1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void currentUserAnalysisRunsForTheAuthenticatedUser() throws Exception {
+        when(service.analyzeSkillGap(any())).thenReturn(new SkillGapAnalysisResponse());
+
+        mockMvc.perform(post("/api/analyze/skill-gap").param("jobRole", "Backend Developer").requestAttr("userId", "u1"))
+                .andExpect(status().isOk());
+
+        verify(service).analyzeSkillGap(argThat((SkillGapAnalysisRequest request) ->
+                "u1".equals(request.getUserId()) && "Backend Developer".equals(request.getJobRole())));
+    }
+
+    @Test
+    void currentUserAnalysisNeedsACaller() throws Exception {
+        mockMvc.perform(post("/api/analyze/skill-gap").param("jobRole", "Backend Developer"))
+                .andExpect(status().isUnauthorized());
+
+        verify(service, never()).analyzeSkillGap(any());
+    }
+
+    @Test
+    void historyIsOnlyForItsOwner() throws Exception {
+        when(service.getAnalysisHistoryPage("u1", null, null)).thenReturn(new CursorPage<>(List.of(), null, false));
+
+        mockMvc.perform(get("/api/analyze/history/u1").requestAttr("userId", "u1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/analyze/history/u1"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/analyze/history/u1").requestAttr("userId", "u2"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/analyze/history/u1/a1"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/analyze/history/u1/a1").requestAttr("userId", "u2"))
+                .andExpect(status().isForbidden());
+
+        verify(service, times(1)).getAnalysisHistoryPage(any(), any(), any());
+        verify(service, never()).getAnalysisDetail(any(), any());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cp.workskillai.controller;
+
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.service.MlFeatureExportService;
+import com.cp.workskillai.service.SkillAnalyticsService;
+import com.cp.workskillai.service.SkillScoreHistoryService;
+import com.cp.workskillai.service.UserSkillService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class UserSkillControllerTests {
+
+    private UserSkillService userSkillService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userSkillService = mock(UserSkillService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserSkillController(userSkillService,
+                mock(SkillAnalyticsService.class), mock(MlFeatureExportService.class), new SkillScoreHistoryService(mock(MongoTemplate.class)))).build();
+        List<UserSkill> skills = List.of(UserSkill.builder().id("s1").userId("u1").name("Java").proficiency(80).build());
+        when(userSkillService.getSkillsVersion("u1")).thenReturn("2.1760000000000");
+        when(userSkillService.getUserSkills("u1")).thenReturn(skills);
+        when(userSkillService.skillsVersionOf(skills)).thenReturn("2.1760000000000");
+    }
+
+    @Test
+    void matchingETagIsAnsweredWithoutLoadingTheSkills() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/skills/user/u1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$[0].name").value("Java"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        // An unconditional load tags the list it read without a separate version query
+        verify(userSkillService, never()).getSkillsVersion("u1");
+
+        mockMvc.perform(get("/api/skills/user/u1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(userSkillService, times(1)).getUserSkills("u1");
+    }
+
+    @Test
+    void changedVersionSendsTheNewList() throws Exception {
+        String etag = mockMvc.perform(get("/api/skills/user/u1")).andReturn().getResponse().getHeader("ETag");
+        when(userSkillService.getSkillsVersion("u1")).thenReturn("3.1760000000500");
+
+        mockMvc.perform(get("/api/skills/user/u1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"skills-3.1760000000500\""));
+    }
+
+    @Test
+    void historyForAMalformedSkillIdIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/skills/user/u1/history").param("skillId", "name.first"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/skills/user/u1/history").param("skillId", "$where"))
+                .andExpect(status().isBadRequest());
+    }
+}
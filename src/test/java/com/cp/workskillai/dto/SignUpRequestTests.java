@@ -0,0 +1,32 @@
+package com.cp.workskillai.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignUpRequestTests {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void onlyEmployeeAndHrAccountsCanBeSignedUpFor() {
+        assertThat(violationsFor("employee")).isEmpty();
+        assertThat(violationsFor("hr")).isEmpty();
+        for (String role : new String[] {"admin", "ml", "HR", "employee "}) {
+            assertThat(violationsFor(role)).extracting(ConstraintViolation::getMessage)
+                    .containsExactly("Role must be employee or hr");
+        }
+    }
+
+    private Set<ConstraintViolation<SignUpRequest>> violationsFor(String role) {
+        SignUpRequest request = new SignUpRequest("Ada", "Lovelace", "ada@example.com", "5550100",
+                LocalDate.of(1990, 1, 1), role, "Acme", "Developer", 3, "Passw0rd!", "Passw0rd!");
+        return validator.validate(request);
+    }
+}
@@ -0,0 +1,214 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.FanOutExecutor;
+import com.cp.workskillai.dto.MonthlyProgressDTO;
+import com.cp.workskillai.events.ResumeDeletedEvent;
+import com.cp.workskillai.events.RoleCatalogReloadedEvent;
+import com.cp.workskillai.events.ResumeUploadedEvent;
+import com.cp.workskillai.events.SkillGapAnalysisCompletedEvent;
+import com.cp.workskillai.events.SkillVerifiedEvent;
+import com.cp.workskillai.events.UserProfileUpdatedEvent;
+import com.cp.workskillai.models.DashboardView;
+import com.cp.workskillai.models.ResumeDocument;
+import com.cp.workskillai.models.Student;
+import com.cp.workskillai.models.UserProfile;
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.repository.*;
+import com.cp.workskillai.service.catalog.RoleCatalogService;
+import com.cp.workskillai.service.catalog.RoleFitEngine;
+import com.cp.workskillai.stub.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardViewProjectorTests {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 5, 1, 12, 0);
+
+    private final InMemoryMongo mongo = new InMemoryMongo();
+    private final DashboardViewRepository views = mongo.repository(DashboardViewRepository.class);
+    private final UserProfileRepository profiles = mongo.repository(UserProfileRepository.class);
+    private final StudentRepository students = mongo.repository(StudentRepository.class);
+    private final ResumeRepository resumes = mongo.repository(ResumeRepository.class);
+    private final FanOutExecutor fanOutExecutor = new FanOutExecutor(8, Duration.ofSeconds(10));
+    private final ProgressService progressService = mock(ProgressService.class);
+    private final RoleCatalogService roleCatalogService = mock(RoleCatalogService.class);
+    private final DashboardViewProjector projector = new DashboardViewProjector(views, profiles, students, resumes,
+            mongo.repository(SkillGapAnalysisRepository.class), mongo.repository(UserSkillRepository.class),
+            mongo.template(), fanOutExecutor, progressService, roleCatalogService);
+
+    @BeforeEach
+    void setUp() {
+        students.save(Student.builder().id("u1").firstName("Ada").build());
+        profiles.save(UserProfile.builder().userId("u1").technicalSkills(new ArrayList<>(List.of("Java", "SQL")))
+                .updatedAt(T0.toString()).build());
+        when(progressService.getMonthlyProgress(eq("u1"), any(), any())).thenReturn(List.of(
+                MonthlyProgressDTO.builder().month(YearMonth.now().toString()).examsTaken(1).averageExamScore(70.0).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOutExecutor.shutdown();
+        mongo.close();
+    }
+
+    @Test
+    void rebuildAssemblesEverySectionFromTheSources() {
+        resumes.save(ResumeDocument.builder().id("r1").userId("u1").originalFileName("cv.pdf")
+                .fileData(new byte[1024]).uploadDate(T0.minusDays(2)).build());
+        mongo.template().save(UserSkill.builder().id("s1").userId("u1").name("Java").proficiency(85).score(85)
+                .verified(true).lastVerified(T0.minusDays(1)).build());
+
+        DashboardView view = projector.rebuild("u1");
+
+        assertThat(view.getSkillCount()).isEqualTo(2);
+        assertThat(view.getProfileUpdatedAt()).isEqualTo(T0);
+        assertThat(view.getSkills()).extracting(skill -> skill.get("level")).containsExactly(85, 0);
+        assertThat(view.getProgress()).singleElement().satisfies(month -> assertThat(month.get("progress")).isEqualTo(70));
+        assertThat(view.getActivities()).extracting(DashboardView.Activity::getRefId).containsExactly("s1", "r1");
+        assertThat(views.findById("u1")).isPresent();
+    }
+
+    @Test
+    void statsAreDerivedFromTheSkillsAndThisMonthsProgress() {
+        students.save(Student.builder().id("u1").firstName("Ada").certifications(List.of("AWS", "CKA")).build());
+        mongo.template().save(UserSkill.builder().id("s1").userId("u1").name("Java").verified(true).build());
+        mongo.template().save(UserSkill.builder().id("s2").userId("u1").name("SQL").verified(false).build());
+        mongo.template().save(UserSkill.builder().id("s3").userId("u1").name("Perl").active(false).build());
+        when(progressService.getMonthlyProgress(eq("u1"), any(), any())).thenReturn(List.of(
+                MonthlyProgressDTO.builder().month(YearMonth.now().minusMonths(1).toString()).skillsVerified(4).build(),
+                MonthlyProgressDTO.builder().month(YearMonth.now().toString()).skillsVerified(1).trainingsCompleted(2).build()));
+
+        Map<String, Object> stats = projector.rebuild("u1").getStats();
+
+        assertThat(stats.get("totalSkills")).isEqualTo(Map.of("value", "2"));
+        assertThat(stats.get("pendingSkills")).isEqualTo(Map.of("value", "1", "change", "-1 this month", "trend", "down"));
+        assertThat(stats.get("completedTrainings"))
+                .isEqualTo(Map.of("value", "2", "change", "+2 this month", "trend", "up"));
+
+        mongo.template().save(UserSkill.builder().id("s2").userId("u1").name("SQL").verified(true).build());
+        projector.onSkillVerified(new SkillVerifiedEvent("u1", "s2", "SQL", 85, true, T0));
+
+        assertThat(views.findById("u1").orElseThrow().getStats().get("pendingSkills"))
+                .isEqualTo(Map.of("value", "0", "change", "-1 this month", "trend", "down"));
+    }
+
+    @Test
+    void eventForAUserWithoutAViewRebuildsIt() {
+        projector.onResumeUploaded(new ResumeUploadedEvent("u1", "r9", "new.pdf", T0));
+
+        DashboardView view = views.findById("u1").orElseThrow();
+        assertThat(view.getSkillCount()).isEqualTo(2);
+        assertThat(view.getStats()).containsKeys("totalSkills", "rolesFit", "pendingSkills", "completedTrainings");
+    }
+
+    @Test
+    void activitiesStayNewestFirstAndCapped() {
+        projector.rebuild("u1");
+        // Arrive out of order: the oldest event is handled last
+        for (int i = 1; i <= 25; i++) {
+            projector.onAnalysisCompleted(new SkillGapAnalysisCompletedEvent("u1", "a" + i, "Dev", 50.0, T0.plusMinutes(i)));
+        }
+        projector.onAnalysisCompleted(new SkillGapAnalysisCompletedEvent("u1", "a0", "Dev", 50.0, T0));
+
+        List<DashboardView.Activity> activities = views.findById("u1").orElseThrow().getActivities();
+        assertThat(activities).hasSize(20);
+        assertThat(activities.get(0).getRefId()).isEqualTo("a25");
+        assertThat(activities.get(19).getRefId()).isEqualTo("a6");
+        assertThat(activities).extracting(DashboardView.Activity::getAt).isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    void deletingAResumePullsOnlyItsActivity() {
+        projector.rebuild("u1");
+        projector.onResumeUploaded(new ResumeUploadedEvent("u1", "r1", "one.pdf", T0));
+        projector.onResumeUploaded(new ResumeUploadedEvent("u1", "r2", "two.pdf", T0.plusMinutes(1)));
+
+        projector.onResumeDeleted(new ResumeDeletedEvent("u1", "r1"));
+
+        assertThat(views.findById("u1").orElseThrow().getActivities())
+                .extracting(DashboardView.Activity::getRefId).containsExactly("r2");
+    }
+
+    @Test
+    void profileUpdateRewritesTheProfileSectionsButKeepsActivities() {
+        projector.rebuild("u1");
+        projector.onSkillVerified(new SkillVerifiedEvent("u1", "s1", "Java", 90, true, T0));
+        UserProfile profile = profiles.findByUserId("u1").orElseThrow();
+        profile.getTechnicalSkills().add("Docker");
+        profile.setUpdatedAt(T0.plusHours(1).toString());
+        profiles.save(profile);
+
+        projector.onProfileUpdated(new UserProfileUpdatedEvent("u1"));
+
+        DashboardView view = views.findById("u1").orElseThrow();
+        assertThat(view.getSkillCount()).isEqualTo(3);
+        assertThat(view.getProfileUpdatedAt()).isEqualTo(T0.plusHours(1));
+        assertThat(view.getActivities()).extracting(DashboardView.Activity::getRefId).containsExactly("s1");
+    }
+
+    @Test
+    void catalogReloadRescoresTheRoleSectionsOfExistingViews() {
+        projector.rebuild("u1");
+        projector.onResumeUploaded(new ResumeUploadedEvent("u1", "r1", "cv.pdf", T0));
+        students.save(Student.builder().id("u2").build());
+        profiles.save(UserProfile.builder().userId("u2").technicalSkills(List.of("Go")).build());
+        when(roleCatalogService.countFits(anyCollection())).thenReturn(3);
+        when(roleCatalogService.bestFits(anyCollection(), anyInt())).thenReturn(List.of(
+                new RoleFitEngine.RoleFit("backend", "Backend Developer", "Engineering", 0.75, List.of())));
+
+        projector.onRoleCatalogReloaded(new RoleCatalogReloadedEvent(12, T0));
+
+        DashboardView view = views.findById("u1").orElseThrow();
+        assertThat(view.getStats().get("rolesFit")).isEqualTo(Map.of("value", "3"));
+        assertThat(view.getStats()).containsKey("totalSkills");
+        assertThat(view.getRoleMatches()).singleElement()
+                .satisfies(match -> assertThat(match).containsEntry("name", "Backend Developer").containsEntry("value", 75));
+        assertThat(view.getActivities()).hasSize(1);
+        // Users without a view are the backfill's job
+        assertThat(views.existsById("u2")).isFalse();
+    }
+
+    @Test
+    void handlersOfTheSameUserRunOneAtATime() throws Exception {
+        projector.rebuild("u1");
+        CountDownLatch profileHandlerInside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(progressService.getMonthlyProgress(eq("u1"), any(), any())).thenAnswer(invocation -> {
+            profileHandlerInside.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        CompletableFuture<Void> profileUpdate = CompletableFuture.runAsync(
+                () -> projector.onProfileUpdated(new UserProfileUpdatedEvent("u1")));
+        assertThat(profileHandlerInside.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> upload = CompletableFuture.runAsync(
+                () -> projector.onResumeUploaded(new ResumeUploadedEvent("u1", "r1", "cv.pdf", T0)));
+
+        Thread.sleep(200);
+        assertThat(upload).isNotDone();
+        release.countDown();
+        CompletableFuture.allOf(profileUpdate, upload).get(5, TimeUnit.SECONDS);
+        assertThat(views.findById("u1").orElseThrow().getActivities()).extracting(DashboardView.Activity::getRefId)
+                .containsExactly("r1");
+    }
+}
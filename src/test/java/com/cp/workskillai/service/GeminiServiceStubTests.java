@@ -0,0 +1,73 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.stub.StubGeminiServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+
+class GeminiServiceStubTests {
+
+    private StubGeminiServer stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubGeminiServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void examQuestionsAreParsedFromGeneratedText() {
+        Map<String, Object> exam = examService().generateExamQuestions("Docker", "DevOps", "intermediate", 5);
+
+        assertThat((List<?>) exam.get("questions")).hasSize(5);
+        assertThat(stub.getGenerateCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void examFallsBackToRuleBasedQuestionsWhenRateLimited() {
+        stub.errorRate(1.0, 429);
+
+        Map<String, Object> exam = examService().generateExamQuestions("Docker", "DevOps", "intermediate", 5);
+
+        assertThat((List<?>) exam.get("questions")).isNotEmpty();
+        assertThat(stub.getInjectedErrors()).isPositive();
+    }
+
+    @Test
+    void resumeAnalysisIsParsedFromFencedJson() {
+        GeminiAIService service = new GeminiAIService(new ObjectMapper());
+        ReflectionTestUtils.setField(service, "geminiApiKey", "test-key");
+        ReflectionTestUtils.setField(service, "geminiApiUrl", stub.getApiUrl());
+        ReflectionTestUtils.setField(service, "geminiModel", "gemini-2.5-flash");
+        MockMultipartFile resume = new MockMultipartFile("file", "resume.txt", "text/plain",
+                "Alex Morgan - Backend Developer - Java, Spring Boot".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> result = service.analyzeResume(resume);
+
+        assertThat(result.get("fullName")).isEqualTo("Alex Morgan");
+        assertThat(result.get("skills")).asInstanceOf(LIST).contains("Java", "Spring Boot");
+    }
+
+    private GeminiExamService examService() {
+        GeminiExamService service = new GeminiExamService(new RestTemplate());
+        ReflectionTestUtils.setField(service, "geminiApiKeys", "test-key");
+        ReflectionTestUtils.setField(service, "geminiApiUrl", stub.getApiUrl());
+        service.init();
+        return service;
+    }
+}
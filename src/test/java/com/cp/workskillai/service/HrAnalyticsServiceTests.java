@@ -0,0 +1,104 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.FanOutExecutor;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO.MissingSkillStat;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO.RoleMatchStat;
+import com.cp.workskillai.dto.HrCohortAnalyticsDTO.SkillProficiencyStat;
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.models.SkillGapAnalysis;
+import com.cp.workskillai.models.Student;
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.repository.StudentRepository;
+import com.cp.workskillai.stub.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+class HrAnalyticsServiceTests {
+
+    private final InMemoryMongo mongo = new InMemoryMongo();
+    private final MongoTemplate template = mongo.template();
+    private final StudentRepository students = mongo.repository(StudentRepository.class);
+    private final FanOutExecutor fanOutExecutor = new FanOutExecutor(8, Duration.ofSeconds(10));
+    private final HrAnalyticsService service = new HrAnalyticsService(template, students, fanOutExecutor);
+
+    @AfterEach
+    void tearDown() {
+        fanOutExecutor.shutdown();
+        mongo.close();
+    }
+
+    @Test
+    void companyWithoutEmployeesGetsAnEmptyReport() {
+        students.save(Student.builder().email("hr@acme.com").role("hr").companyName("Acme").companyId("acme").build());
+        employee("other", "Dev", 70.0, 60, "Docker");
+
+        HrCohortAnalyticsDTO report = service.getCohortAnalytics("acme", "Acme");
+
+        assertThat(report.getCompanyName()).isEqualTo("Acme");
+        assertThat(report.getEmployeeCount()).isZero();
+        assertThat(report.getTopMissingSkills()).isEmpty();
+        assertThat(report.getMatchScoreByRole()).isEmpty();
+        assertThat(report.getProficiencyBySkill()).isEmpty();
+        assertThat(report.getGeneratedAt()).isNotNull();
+    }
+
+    @Test
+    void reportCoversOnlyTheCompanysEmployeesAndTheirCurrentAnalyses() {
+        students.save(Student.builder().email("hr@acme.com").role("hr").companyName("Acme").companyId("acme").build());
+        employee("acme", "Dev", 40.0, 20, "Docker");
+        employee("acme", "Dev", 60.0, 80, "Docker");
+        employee("acme", "Ops", 90.0, 55, "Kafka");
+        employee("other", "Dev", 10.0, 10, "Docker");
+        // Naming the company at signup is not membership
+        employee(null, "Dev", 10.0, 10, "Docker");
+
+        HrCohortAnalyticsDTO report = service.getCohortAnalytics("acme", "Acme");
+
+        assertThat(report.getEmployeeCount()).isEqualTo(3);
+        assertThat(report.getTopMissingSkills())
+                .extracting(MissingSkillStat::getSkill, MissingSkillStat::getEmployees)
+                .containsExactly(tuple("Docker", 2), tuple("Kafka", 1));
+        assertThat(report.getMatchScoreByRole())
+                .extracting(RoleMatchStat::getJobRole, RoleMatchStat::getEmployees, RoleMatchStat::getAverageMatchScore)
+                .containsExactly(tuple("Dev", 2, 50.0), tuple("Ops", 1, 90.0));
+        SkillProficiencyStat git = report.getProficiencyBySkill().get(0);
+        assertThat(git.getSkill()).isEqualTo("Git");
+        assertThat(git.getEmployees()).isEqualTo(3);
+        assertThat(git.getAverageProficiency()).isCloseTo(51.67, within(0.01));
+        assertThat(List.of(git.getBeginner(), git.getIntermediate(), git.getAdvanced(), git.getExpert()))
+                .containsExactly(1, 0, 1, 1);
+    }
+
+    private void employee(String companyId, String jobRole, double matchScore, int gitProficiency, String missing) {
+        Student student = students.save(Student.builder().role("employee").companyName("Acme").companyId(companyId).build());
+
+        // A superseded analysis that must not be counted
+        template.save(analysis(student.getId(), jobRole, 0.0, false, "COBOL"));
+        template.save(analysis(student.getId(), jobRole, matchScore, true, missing));
+        template.save(UserSkill.builder().userId(student.getId()).name("Git").proficiency(gitProficiency).build());
+        template.save(UserSkill.builder().userId(student.getId()).name("Perl").proficiency(90).active(false).build());
+    }
+
+    private static SkillGapAnalysis analysis(String userId, String jobRole, double matchScore, boolean current,
+                                             String missingSkill) {
+        SkillAnalysis skill = new SkillAnalysis();
+        skill.setName(missingSkill);
+        skill.setImportance(0.8);
+        SkillGapAnalysis analysis = new SkillGapAnalysis();
+        analysis.setUserId(userId);
+        analysis.setJobRole(jobRole);
+        analysis.setMatchScore(matchScore);
+        analysis.setIsCurrentRole(current);
+        analysis.setMissingSkills(List.of(skill));
+        return analysis;
+    }
+}
@@ -0,0 +1,115 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.stub.InMemoryMongo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MlFeatureExportServiceTests {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 8, 0);
+
+    private final InMemoryMongo mongo = new InMemoryMongo();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    // Chunks of two users, so incremental exports cross chunk boundaries
+    private final MlFeatureExportService service = new MlFeatureExportService(mongo.template(),
+            new SkillAnalyticsService(mongo.template()), objectMapper, 2);
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void fullExportWritesOneLinePerUserInUserIdOrder() throws Exception {
+        skill("u2", "Go", T0, null, true);
+        skill("u1", "Java", T0, null, true);
+        retiredSkill("u3", "Perl", T0, T0.plusDays(1));
+        skill("u1", "SQL", T0.plusHours(2), null, false);
+        retiredSkill("u1", "COBOL", T0, T0.plusHours(5));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long users = service.exportAll(null, out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(users).isEqualTo(3);
+        assertThat(lines).extracting(line -> line.get("userId").asText()).containsExactly("u1", "u2", "u3");
+        JsonNode u1 = lines.get(0);
+        assertThat(u1.get("skills")).extracting(skill -> skill.get("name").asText())
+                .containsExactlyInAnyOrder("Java", "SQL");
+        assertThat(u1.get("totalVerifiedSkills").asLong()).isEqualTo(1);
+        // The retired skill still moves the user's change time
+        assertThat(LocalDateTime.parse(u1.get("updatedAt").asText())).isEqualTo(T0.plusHours(5));
+        // A user whose only skill was retired keeps a line with no skills
+        assertThat(lines.get(2).get("skills")).isEmpty();
+    }
+
+    @Test
+    void linesAreNewlineTerminatedJsonObjects() throws Exception {
+        skill("u1", "Java", T0, null, true);
+        skill("u2", "Go", T0, null, true);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportAll(null, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("}\n").doesNotContain("\n\n");
+        for (String line : body.split("\n")) {
+            assertThat(objectMapper.readTree(line).isObject()).isTrue();
+        }
+    }
+
+    @Test
+    void incrementalExportWritesOnlyUsersChangedAfterTheWatermark() throws Exception {
+        LocalDateTime watermark = T0.plusDays(1);
+        skill("u1", "Java", T0, null, true);
+        skill("u2", "Go", T0, watermark.plusMinutes(1), true);
+        skill("u2", "Rust", T0, null, false);
+        skill("u3", "SQL", watermark.plusMinutes(2), null, false);
+        skill("u4", "Perl", T0, watermark, true);
+        retiredSkill("u5", "COBOL", T0, watermark.plusHours(1));
+        skill("u6", "Kafka", watermark.plusHours(2), null, true);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long users = service.exportAll(watermark, out);
+
+        List<JsonNode> lines = lines(out);
+        // Strictly after the watermark: u4, changed exactly at it, went out in the previous export
+        assertThat(users).isEqualTo(4);
+        assertThat(lines).extracting(line -> line.get("userId").asText()).containsExactly("u2", "u3", "u5", "u6");
+        // A changed user is written with all of their skills, not just the changed one
+        assertThat(lines.get(0).get("skills")).hasSize(2);
+        assertThat(lines.get(2).get("skills")).isEmpty();
+    }
+
+    private void skill(String userId, String name, LocalDateTime createdAt, LocalDateTime updatedAt,
+                       Boolean verified) {
+        mongo.template().save(UserSkill.builder().userId(userId).name(name).normalizedName(name.toLowerCase())
+                .verified(verified).proficiency(50).createdAt(createdAt).updatedAt(updatedAt).build());
+    }
+
+    private void retiredSkill(String userId, String name, LocalDateTime createdAt, LocalDateTime retiredAt) {
+        mongo.template().save(UserSkill.builder().userId(userId).name(name).normalizedName(name.toLowerCase())
+                .active(false).createdAt(createdAt).updatedAt(retiredAt).build());
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
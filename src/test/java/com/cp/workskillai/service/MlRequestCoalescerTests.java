@@ -0,0 +1,83 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.MlServiceProperties;
+import com.cp.workskillai.stub.StubMlServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MlRequestCoalescerTests {
+
+    private StubMlServer stub;
+    private MlRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubMlServer();
+
+        MlServiceProperties properties = stub.clientProperties();
+        properties.getBatch().setEnabled(true);
+        properties.getBatch().setWindow(Duration.ofMillis(50));
+        properties.getBatch().setMaxSize(10);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PythonServiceClient client = StubMlServer.newClient(properties, meterRegistry);
+        coalescer = new MlRequestCoalescer(client, properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+        stub.close();
+    }
+
+    @Test
+    void concurrentCallsAreBatchedAndDemultiplexed() throws Exception {
+        List<Map> responses = callConcurrently(20);
+
+        assertThat(stub.getBatchCalls()).isBetween(2, 4);
+        assertThat(stub.getSingleCalls()).isZero();
+        for (int i = 0; i < responses.size(); i++) {
+            assertThat(responses.get(i)).containsEntry("userId", "user-" + i);
+        }
+    }
+
+    @Test
+    void fallsBackToSingleCallsWhenBatchRouteIsMissing() throws Exception {
+        stub.batchEnabled(false);
+
+        List<Map> responses = callConcurrently(5);
+
+        assertThat(stub.getSingleCalls()).isEqualTo(5);
+        for (int i = 0; i < responses.size(); i++) {
+            assertThat(responses.get(i)).containsEntry("userId", "user-" + i);
+        }
+    }
+
+    private List<Map> callConcurrently(int count) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map>> futures = IntStream.range(0, count)
+                    .mapToObj(i -> executor.submit(() -> coalescer.call(MlEndpoint.ANALYZE,
+                            Map.of("user_id", "user-" + i, "job_role", "Backend Developer"), Map.class)))
+                    .toList();
+            List<Map> responses = new ArrayList<>();
+            for (Future<Map> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        }
+    }
+}
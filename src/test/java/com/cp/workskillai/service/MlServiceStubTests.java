@@ -0,0 +1,190 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.MlServiceProperties;
+import com.cp.workskillai.config.StaleWhileRevalidateCacheFactory;
+import com.cp.workskillai.config.StaleWhileRevalidateProperties;
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.models.CourseRecommendation;
+import com.cp.workskillai.models.RecommendationResponse;
+import com.cp.workskillai.models.SkillGapAnalysis;
+import com.cp.workskillai.repository.CourseRecommendationRepository;
+import com.cp.workskillai.repository.SkillGapAnalysisRepository;
+import com.cp.workskillai.repository.StudentRepository;
+import com.cp.workskillai.service.catalog.CourseCatalogService;
+import com.cp.workskillai.service.catalog.LearningPathPlanner;
+import com.cp.workskillai.stub.LatencyDistribution;
+import com.cp.workskillai.stub.StubMlServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MlServiceStubTests {
+
+    private StubMlServer stub;
+    private MlServiceProperties properties;
+    private PythonServiceClient client;
+    private MlRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubMlServer();
+        properties = stub.clientProperties();
+        client = StubMlServer.newClient(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+        stub.close();
+    }
+
+    @Test
+    void analysisReflectsSubmittedSkills() {
+        Map<String, Object> request = Map.of(
+                "user_id", "user-1",
+                "job_role", "Backend Developer",
+                "skills_data", List.of(Map.of("name", "Java", "proficiency", 90), Map.of("name", "SQL", "proficiency", 40)));
+
+        Map response = client.post(MlEndpoint.ANALYZE, request, Map.class);
+
+        assertThat(response.get("userId")).isEqualTo("user-1");
+        assertThat((List<Map<String, Object>>) response.get("missingSkills"))
+                .extracting(skill -> skill.get("name"))
+                .contains("Docker")
+                .doesNotContain("Java", "SQL");
+        assertThat((List<Map<String, Object>>) response.get("partialMatchSkills"))
+                .extracting(skill -> skill.get("name"))
+                .containsExactly("SQL");
+    }
+
+    @Test
+    void recommendationServiceUsesStubCourses() {
+        RecommendationService service = recommendationService(new StaleWhileRevalidateProperties());
+
+        RecommendationResponse response = service.generateRecommendations("user-1");
+
+        assertThat(response.getCourseRecommendations())
+                .extracting(course -> course.getCourseId())
+                .containsExactly("stub-docker");
+        assertThat(stub.getSingleCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void staleRecommendationsAreServedWhileRefreshing() throws Exception {
+        StaleWhileRevalidateProperties swr = new StaleWhileRevalidateProperties();
+        StaleWhileRevalidateProperties.Spec spec = new StaleWhileRevalidateProperties.Spec();
+        spec.setSoftTtl(Duration.ofMillis(50));
+        swr.getCaches().put("recommendations", spec);
+        RecommendationService service = recommendationService(swr);
+        RecommendationResponse first = service.generateRecommendations("user-1");
+
+        stub.latency(LatencyDistribution.fixed(Duration.ofMillis(500)));
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        RecommendationResponse stale = service.generateRecommendations("user-1");
+        // Concurrent readers of the stale entry must not trigger a second refresh
+        service.generateRecommendations("user-1");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(250));
+        assertThat(stale).isSameAs(first);
+        Thread.sleep(800);
+        assertThat(service.generateRecommendations("user-1")).isNotSameAs(first);
+        assertThat(stub.getSingleCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void failedRefreshKeepsTheCachedRecommendations() throws Exception {
+        StaleWhileRevalidateProperties swr = new StaleWhileRevalidateProperties();
+        StaleWhileRevalidateProperties.Spec spec = new StaleWhileRevalidateProperties.Spec();
+        spec.setSoftTtl(Duration.ofMillis(50));
+        swr.getCaches().put("recommendations", spec);
+        RecommendationService service = recommendationService(swr);
+        RecommendationResponse first = service.generateRecommendations("user-1");
+
+        stub.latency(LatencyDistribution.fixed(Duration.ofMillis(5)));
+        stub.errorRate(1.0, 503);
+        Thread.sleep(100);
+        assertThat(service.generateRecommendations("user-1")).isSameAs(first);
+        Thread.sleep(300);
+
+        assertThat(stub.getInjectedErrors()).isPositive();
+        assertThat(service.generateRecommendations("user-1")).isSameAs(first);
+    }
+
+    @Test
+    void catalogFallbackIsServedButNotCached() {
+        stub.latency(LatencyDistribution.fixed(Duration.ofMillis(5)));
+        stub.errorRate(1.0, 503);
+        RecommendationService service = recommendationService(new StaleWhileRevalidateProperties());
+
+        RecommendationResponse fallback = service.generateRecommendations("user-1");
+        assertThat(fallback.getCourseRecommendations())
+                .extracting(course -> course.getCourseId())
+                .doesNotContain("stub-docker");
+
+        stub.errorRate(0.0, 503);
+        assertThat(service.generateRecommendations("user-1").getCourseRecommendations())
+                .extracting(course -> course.getCourseId())
+                .containsExactly("stub-docker");
+    }
+
+    private RecommendationService recommendationService(StaleWhileRevalidateProperties swr) {
+        SkillGapAnalysis analysis = new SkillGapAnalysis();
+        analysis.setUserId("user-1");
+        analysis.setJobRole("Backend Developer");
+        analysis.setMatchScore(55.0);
+        SkillAnalysis docker = new SkillAnalysis();
+        docker.setName("Docker");
+        docker.setImportance(0.7);
+        docker.setCategory("DevOps");
+        analysis.setRequiredSkills(List.of(docker));
+        analysis.setMissingSkills(List.of(docker));
+        analysis.setCurrentSkills(List.of());
+
+        SkillGapAnalysisRepository analysisRepository = mock(SkillGapAnalysisRepository.class);
+        when(analysisRepository.findTopByUserIdOrderByAnalyzedAtDesc("user-1")).thenReturn(Optional.of(analysis));
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findById("user-1")).thenReturn(Optional.empty());
+        coalescer = new MlRequestCoalescer(client, properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        CourseRecommendationRepository courseRepository = mock(CourseRecommendationRepository.class);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CourseRecommendation.class))
+                .thenReturn(mock(BulkOperations.class, RETURNS_SELF));
+
+        RecommendationService service = new RecommendationService(
+                analysisRepository, studentRepository, courseRepository, coalescer, mongoTemplate,
+                mock(CourseCatalogService.class), mock(LearningPathPlanner.class),
+                new StaleWhileRevalidateCacheFactory(new SimpleMeterRegistry(), swr));
+        service.initCache();
+        return service;
+    }
+
+    @Test
+    void unavailableServiceIsRetriedThenFails() {
+        stub.latency(LatencyDistribution.fixed(Duration.ofMillis(5)));
+        stub.errorRate(1.0, 503);
+
+        assertThatThrownBy(() -> client.post(MlEndpoint.ANALYZE, Map.of("user_id", "user-1"), Map.class))
+                .isInstanceOf(HttpServerErrorException.ServiceUnavailable.class);
+        assertThat(stub.getRequests()).isEqualTo(properties.getMaxAttempts());
+    }
+}
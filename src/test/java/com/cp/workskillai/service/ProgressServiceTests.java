@@ -0,0 +1,83 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.MonthlyProgressDTO;
+import com.cp.workskillai.events.TrainingCompletedEvent;
+import com.cp.workskillai.models.ProgressBucket;
+import com.cp.workskillai.stub.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProgressServiceTests {
+
+    private final InMemoryMongo mongo = new InMemoryMongo();
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ProgressService service = new ProgressService(mongo.template(), eventPublisher);
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void examsOfAMonthAccumulateInOneBucket() {
+        service.recordExamResult("u1", 60, true, LocalDateTime.of(2026, 3, 2, 10, 0));
+        service.recordExamResult("u1", 90, false, LocalDateTime.of(2026, 3, 30, 23, 59));
+        service.recordExamResult("u1", 40, false, LocalDateTime.of(2026, 4, 1, 0, 0));
+
+        List<ProgressBucket> buckets = mongo.template().findAll(ProgressBucket.class);
+        assertThat(buckets).extracting(ProgressBucket::getId).containsExactlyInAnyOrder("u1:2026-03", "u1:2026-04");
+        ProgressBucket march = mongo.template().findById("u1:2026-03", ProgressBucket.class);
+        assertThat(march.getUserId()).isEqualTo("u1");
+        assertThat(march.getMonth()).isEqualTo("2026-03");
+        assertThat(march.getExamsTaken()).isEqualTo(2);
+        assertThat(march.getExamScoreTotal()).isEqualTo(150);
+        assertThat(march.getSkillsVerified()).isEqualTo(1);
+    }
+
+    @Test
+    void seriesCoversEveryMonthOfTheRangeAndNothingElse() {
+        service.recordExamResult("u1", 80, true, LocalDateTime.of(2025, 12, 5, 9, 0));
+        service.recordExamResult("u1", 50, false, LocalDateTime.of(2026, 2, 5, 9, 0));
+        // Outside the range, and another user whose ids sort right next to u1's
+        service.recordExamResult("u1", 10, false, LocalDateTime.of(2026, 4, 5, 9, 0));
+        service.recordExamResult("u10", 10, false, LocalDateTime.of(2026, 1, 5, 9, 0));
+
+        List<MonthlyProgressDTO> series = service.getMonthlyProgress("u1", YearMonth.of(2025, 11), YearMonth.of(2026, 3));
+
+        assertThat(series).extracting(MonthlyProgressDTO::getMonth)
+                .containsExactly("2025-11", "2025-12", "2026-01", "2026-02", "2026-03");
+        assertThat(series).extracting(MonthlyProgressDTO::getExamsTaken).containsExactly(0, 1, 0, 1, 0);
+        assertThat(series).extracting(MonthlyProgressDTO::getAverageExamScore)
+                .containsExactly(null, 80.0, null, 50.0, null);
+        assertThat(series).extracting(MonthlyProgressDTO::getSkillsVerified).containsExactly(0, 1, 0, 0, 0);
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        assertThatThrownBy(() -> service.getMonthlyProgress("u1", YearMonth.of(2026, 3), YearMonth.of(2026, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getMonthlyProgress("u1", YearMonth.of(2000, 1), YearMonth.of(2026, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void trainingCountsOnceNoMatterHowOftenItIsCompleted() {
+        service.updateTrainingProgress("u1", "t1", 40);
+        service.updateTrainingProgress("u1", "t1", 100);
+        service.updateTrainingProgress("u1", "t1", 100);
+
+        MonthlyProgressDTO thisMonth = service.getMonthlyProgress("u1", YearMonth.now(), YearMonth.now()).get(0);
+        assertThat(thisMonth.getTrainingsCompleted()).isEqualTo(1);
+        verify(eventPublisher, times(1)).publishEvent(any(TrainingCompletedEvent.class));
+    }
+}
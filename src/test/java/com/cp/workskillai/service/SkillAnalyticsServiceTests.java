@@ -0,0 +1,89 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.SkillAnalyticsDTO;
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.stub.InMemoryMongo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SkillAnalyticsServiceTests {
+
+    private final SkillAnalyticsService service = new SkillAnalyticsService(null);
+
+    @Test
+    void summarizesStatusLevelAndCategoryInOnePass() {
+        SkillAnalyticsDTO summary = service.summarize(List.of(
+                skill("Java", "Programming", 80, true, "verified", "Expert", "high"),
+                skill("Python", "Programming", null, false, "pending", "Pending", null),
+                skill("Docker", null, 40, false, "needs_improvement", "Intermediate", "low")));
+
+        assertThat(summary.getTotalSkills()).isEqualTo(3);
+        assertThat(summary.getVerifiedSkills()).isEqualTo(1);
+        assertThat(summary.getAverageProficiency()).isEqualTo(60.0);
+        assertThat(summary.getAverageConfidence()).isCloseTo(0.5667, offset(1e-4));
+        assertThat(summary.getSkillDistribution())
+                .containsEntry("verified", 1L).containsEntry("pending", 1L)
+                .containsEntry("unverified", 0L).containsEntry("needs_improvement", 1L);
+        assertThat(summary.getLevelDistribution()).containsEntry("expert", 1L).containsEntry("advanced", 0L);
+        assertThat(summary.getCategoryBreakdown())
+                .extracting(SkillAnalyticsDTO.CategoryStat::getCategory, SkillAnalyticsDTO.CategoryStat::getSkills,
+                        SkillAnalyticsDTO.CategoryStat::getAverageProficiency)
+                .containsExactly(
+                        tuple("Programming", 2, 80.0),
+                        tuple("Other", 1, 40.0));
+    }
+
+    @Test
+    void facetPipelineAgreesWithTheInMemorySummary() {
+        try (InMemoryMongo mongo = new InMemoryMongo()) {
+            SkillAnalyticsService pipeline = new SkillAnalyticsService(mongo.template());
+            List<UserSkill> active = List.of(
+                    skill("Java", "Programming", 80, true, "verified", "Expert", "high"),
+                    skill("Python", "Programming", null, false, "pending", "Pending", null),
+                    skill("Go", "Programming", 65, true, "verified", "Advanced", "Medium"),
+                    skill("Docker", null, 40, false, "needs_improvement", "Intermediate", "low"),
+                    skill("AWS", "Cloud", 20, false, "unverified", "Beginner", "medium"));
+            active.forEach(skill -> skill.setUserId("u1"));
+            active.forEach(mongo.template()::save);
+            // Neither a retired skill nor another user's skill counts
+            UserSkill retired = skill("Perl", "Programming", 99, true, "verified", "Expert", "high");
+            retired.setUserId("u1");
+            retired.setActive(false);
+            UserSkill otherUsers = skill("Rust", "Programming", 99, true, "verified", "Expert", "high");
+            otherUsers.setUserId("u2");
+            mongo.template().save(retired);
+            mongo.template().save(otherUsers);
+
+            SkillAnalyticsDTO analytics = pipeline.getAnalytics("u1");
+
+            assertThat(analytics).isEqualTo(service.summarize(active));
+            assertThat(analytics.getTotalSkills()).isEqualTo(5);
+            assertThat(analytics.getCategoryBreakdown())
+                    .extracting(SkillAnalyticsDTO.CategoryStat::getCategory, SkillAnalyticsDTO.CategoryStat::getSkills,
+                            SkillAnalyticsDTO.CategoryStat::getVerified)
+                    .containsExactly(tuple("Programming", 3, 2), tuple("Cloud", 1, 0), tuple("Other", 1, 0));
+        }
+    }
+
+    @Test
+    void facetPipelineOfAUserWithoutSkillsIsAllZeros() {
+        try (InMemoryMongo mongo = new InMemoryMongo()) {
+            SkillAnalyticsDTO analytics = new SkillAnalyticsService(mongo.template()).getAnalytics("u1");
+
+            assertThat(analytics).isEqualTo(service.summarize(List.of()));
+            assertThat(analytics.getTotalSkills()).isZero();
+            assertThat(analytics.getSkillDistribution()).containsEntry("verified", 0L);
+        }
+    }
+
+    private static UserSkill skill(String name, String category, Integer proficiency, boolean verified,
+                                   String status, String level, String confidence) {
+        return UserSkill.builder().name(name).category(category).proficiency(proficiency).verified(verified)
+                .status(status).level(level).confidenceLevel(confidence).build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.config.StaleWhileRevalidateCacheFactory;
+import com.cp.workskillai.dto.CursorPage;
+import com.cp.workskillai.dto.SkillGapAnalysisSummaryDTO;
+import com.cp.workskillai.repository.CurrentRolePointerRepository;
+import com.cp.workskillai.repository.SkillGapAnalysisRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SkillGapAnalysisServiceTests {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 3, 14, 9, 30, 15, 123_000_000);
+
+    private final SkillGapAnalysisRepository repository = mock(SkillGapAnalysisRepository.class);
+    private final SkillGapAnalysisService service = new SkillGapAnalysisService(repository,
+            mock(CurrentRolePointerRepository.class), mock(MongoTemplate.class), mock(RestTemplate.class),
+            mock(MlRequestCoalescer.class), new ObjectMapper(), mock(ApplicationEventPublisher.class),
+            mock(StaleWhileRevalidateCacheFactory.class));
+
+    @Test
+    void nextCursorPointsAtTheLastRowAndDecodesBackToIt() {
+        String lastId = new ObjectId().toHexString();
+        when(repository.findAnalysisMetadataByUserId(eq("u1"), any(Pageable.class)))
+                .thenReturn(List.of(row(new ObjectId().toHexString(), AT.plusMinutes(1)), row(lastId, AT),
+                        row(new ObjectId().toHexString(), AT.minusMinutes(1))));
+
+        CursorPage<SkillGapAnalysisSummaryDTO> first = service.getAnalysisHistoryPage("u1", null, 2);
+
+        assertThat(first.getItems()).hasSize(2);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(new String(Base64.getUrlDecoder().decode(first.getNextCursor()), StandardCharsets.UTF_8))
+                .isEqualTo(AT + "|" + lastId);
+
+        service.getAnalysisHistoryPage("u1", first.getNextCursor(), 2);
+
+        verify(repository).findAnalysisMetadataByUserIdAfter(eq("u1"), eq(AT), eq(new ObjectId(lastId)), any(Pageable.class));
+    }
+
+    @Test
+    void rowsSharingAnAnalyzedAtAreSplitByIdNotSkipped() {
+        // Two analyses saved in the same instant straddle the page boundary
+        String older = "650000000000000000000001";
+        String newer = "650000000000000000000002";
+        when(repository.findAnalysisMetadataByUserId(eq("u1"), any(Pageable.class)))
+                .thenReturn(List.of(row(newer, AT), row(older, AT)));
+
+        CursorPage<SkillGapAnalysisSummaryDTO> first = service.getAnalysisHistoryPage("u1", null, 1);
+        service.getAnalysisHistoryPage("u1", first.getNextCursor(), 1);
+
+        // The next page resumes below (AT, newer), which still includes (AT, older)
+        verify(repository).findAnalysisMetadataByUserIdAfter(eq("u1"), eq(AT), eq(new ObjectId(newer)), any(Pageable.class));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(repository.findAnalysisMetadataByUserId(eq("u1"), any(Pageable.class)))
+                .thenReturn(List.of(row(new ObjectId().toHexString(), AT)));
+
+        CursorPage<SkillGapAnalysisSummaryDTO> page = service.getAnalysisHistoryPage("u1", "", 5);
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String notBase64 = "%%%";
+        String noSeparator = encode(AT.toString());
+        String badDate = encode("yesterday|" + new ObjectId().toHexString());
+        String badId = encode(AT + "|not-an-object-id");
+
+        for (String cursor : List.of(notBase64, noSeparator, badDate, badId)) {
+            assertThatThrownBy(() -> service.getAnalysisHistoryPage("u1", cursor, 5))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid history cursor");
+        }
+        verify(repository, never()).findAnalysisMetadataByUserIdAfter(any(), any(), any(), any());
+    }
+
+    private static SkillGapAnalysisSummaryDTO row(String id, LocalDateTime analyzedAt) {
+        SkillGapAnalysisSummaryDTO row = new SkillGapAnalysisSummaryDTO();
+        row.setId(id);
+        row.setAnalyzedAt(analyzedAt);
+        return row;
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.SkillScoreTrendDTO;
+import com.cp.workskillai.models.SkillScoreBucket;
+import com.cp.workskillai.stub.InMemoryMongo;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkillScoreHistoryServiceTests {
+
+    private static final String JAVA = new ObjectId().toHexString();
+    private static final String DOCKER = new ObjectId().toHexString();
+
+    private final InMemoryMongo mongo = new InMemoryMongo();
+    private final MongoTemplate template = mongo.template();
+    private final SkillScoreHistoryService service = new SkillScoreHistoryService(template);
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void fullBucketRollsOverAndTheMonthIsMergedBack() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 9, 0);
+        int recorded = SkillScoreHistoryService.MAX_EVENTS_PER_BUCKET + 5;
+        for (int i = 0; i < recorded; i++) {
+            service.record("u1", JAVA, "Java", 40 + i % 50, "verified", start.plusMinutes(i));
+        }
+
+        List<SkillScoreBucket> buckets = template.find(new Query().with(Sort.by("count").descending()),
+                SkillScoreBucket.class);
+        assertThat(buckets).extracting(SkillScoreBucket::getCount)
+                .containsExactly(SkillScoreHistoryService.MAX_EVENTS_PER_BUCKET, 5);
+        assertThat(buckets.get(1).getEvents()).hasSize(5);
+
+        SkillScoreTrendDTO trend = service.getTrends("u1", YearMonth.of(2026, 3), YearMonth.of(2026, 3), null).get(0);
+        SkillScoreTrendDTO.MonthPoint march = trend.getPoints().get(0);
+        assertThat(trend.getPoints()).hasSize(1);
+        assertThat(march.getAttempts()).isEqualTo(recorded);
+        assertThat(march.getBestScore()).isEqualTo(89);
+        // 205 scores cycling 40..89: four full cycles averaging 64.5, then 40..44
+        assertThat(march.getAverageScore()).isEqualTo((4 * 50 * 64.5 + 210) / recorded);
+        assertThat(march.getLastScore()).isEqualTo(40 + (recorded - 1) % 50);
+        assertThat(trend.getChange()).isEqualTo(4);
+    }
+
+    @Test
+    void mergingOverflowBucketsKeepsTheEarliestFirstAndLatestLast() {
+        LocalDateTime may = LocalDateTime.of(2026, 5, 10, 12, 0);
+        template.insert(bucket("2026-05", totals(2, 150, 90, 60, may.plusDays(5), 90, may.plusDays(6))));
+        template.insert(bucket("2026-05", totals(1, 55, 55, 55, may, 55, may)));
+
+        SkillScoreTrendDTO trend = service.getTrends("u1", YearMonth.of(2026, 5), YearMonth.of(2026, 5), JAVA).get(0);
+
+        SkillScoreTrendDTO.MonthPoint point = trend.getPoints().get(0);
+        assertThat(point.getAttempts()).isEqualTo(3);
+        assertThat(point.getAverageScore()).isEqualTo(205 / 3.0);
+        assertThat(point.getBestScore()).isEqualTo(90);
+        assertThat(point.getLastScore()).isEqualTo(90);
+        assertThat(trend.getChange()).isEqualTo(35);
+    }
+
+    @Test
+    void changeRunsFromTheEarliestScoreInTheRangeToTheLatest() {
+        service.record("u1", JAVA, "Java", 50, "needs_improvement", LocalDateTime.of(2026, 1, 5, 10, 0));
+        service.record("u1", JAVA, "Java", 70, "verified", LocalDateTime.of(2026, 1, 20, 10, 0));
+        service.record("u1", JAVA, "Java", 85, "verified", LocalDateTime.of(2026, 3, 2, 10, 0));
+        service.record("u1", DOCKER, "Docker", 60, "verified", LocalDateTime.of(2026, 2, 1, 10, 0));
+
+        List<SkillScoreTrendDTO> trends = service.getTrends("u1", YearMonth.of(2026, 1), YearMonth.of(2026, 3), null);
+
+        assertThat(trends).extracting(SkillScoreTrendDTO::getSkill).containsExactly("Docker", "Java");
+        assertThat(trends.get(0).getChange()).isZero();
+        SkillScoreTrendDTO java = trends.get(1);
+        assertThat(java.getPoints()).extracting(SkillScoreTrendDTO.MonthPoint::getMonth)
+                .containsExactly("2026-01", "2026-03");
+        assertThat(java.getChange()).isEqualTo(35);
+
+        SkillScoreTrendDTO fromMarch = service.getTrends("u1", YearMonth.of(2026, 3), YearMonth.of(2026, 3), JAVA).get(0);
+        assertThat(fromMarch.getChange()).isZero();
+    }
+
+    @Test
+    void outOfOrderRecordsKeepTheEarliestFirstAndTheLatestLast() {
+        service.record("u1", JAVA, "Java", 80, "verified", LocalDateTime.of(2026, 4, 20, 10, 0));
+        service.record("u1", JAVA, "Java", 45, "needs_improvement", LocalDateTime.of(2026, 4, 2, 10, 0));
+
+        service.record("u1", JAVA, "Java", 60, "verified", LocalDateTime.of(2026, 4, 10, 10, 0));
+
+        SkillScoreBucket.SkillTotals totals = template.findOne(new Query(), SkillScoreBucket.class).getSkills().get(JAVA);
+        assertThat(totals.getFirst()).isEqualTo(45);
+        assertThat(totals.getFirstAt()).isEqualTo(LocalDateTime.of(2026, 4, 2, 10, 0));
+        assertThat(totals.getLast()).isEqualTo(80);
+        assertThat(totals.getLastAt()).isEqualTo(LocalDateTime.of(2026, 4, 20, 10, 0));
+        assertThat(totals.getName()).isEqualTo("Java");
+        assertThat(totals.getAttempts()).isEqualTo(3);
+
+        SkillScoreTrendDTO april = service.getTrends("u1", YearMonth.of(2026, 4), YearMonth.of(2026, 4), JAVA).get(0);
+        assertThat(april.getChange()).isEqualTo(35);
+    }
+
+    @Test
+    void skillIdsThatAreNotObjectIdsAreRejected() {
+        YearMonth month = YearMonth.of(2026, 1);
+        for (String skillId : List.of("a.b", "$where", "java")) {
+            assertThatThrownBy(() -> service.getTrends("u1", month, month, skillId))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        service.record("u1", "x.y", "Java", 50, "verified", LocalDateTime.of(2026, 1, 5, 10, 0));
+        assertThat(template.count(new Query(), SkillScoreBucket.class)).isZero();
+    }
+
+    private static SkillScoreBucket bucket(String month, SkillScoreBucket.SkillTotals javaTotals) {
+        return SkillScoreBucket.builder().userId("u1").month(month).count(javaTotals.getAttempts())
+                .skills(Map.of(JAVA, javaTotals)).build();
+    }
+
+    private static SkillScoreBucket.SkillTotals totals(int attempts, long scoreTotal, int best,
+                                                      int first, LocalDateTime firstAt, int last, LocalDateTime lastAt) {
+        return SkillScoreBucket.SkillTotals.builder().name("Java").attempts(attempts).scoreTotal(scoreTotal).best(best)
+                .first(first).firstAt(firstAt).last(last).lastAt(lastAt).build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.stub.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillSyncEngineTests {
+
+    private final InMemoryMongo mongo = new InMemoryMongo();
+    private final MongoTemplate template = mongo.template();
+    private final SkillSyncEngine engine = new SkillSyncEngine(template);
+
+    @BeforeEach
+    void setUp() {
+        template.indexOps(UserSkill.class).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC).on("normalizedName", Sort.Direction.ASC).unique());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void syncCreatesOnceAndRetiresOnlyItsOwnSkills() {
+        assertThat(engine.sync("u1", List.of("Java", "java ", "Docker"))).isEqualTo(2);
+        assertThat(engine.sync("u1", List.of("Java", "Docker"))).isZero();
+
+        engine.sync("u1", List.of("Java"));
+
+        assertThat(skill("docker").getActive()).isFalse();
+        assertThat(skill("java").getActive()).isTrue();
+        assertThat(template.count(new Query(), UserSkill.class)).isEqualTo(2);
+    }
+
+    @Test
+    void handAddedSkillsKeepTheirSourceAndSurviveLeavingTheProfile() {
+        template.save(UserSkill.builder().userId("u1").name("Kafka").normalizedName("kafka").score(70).build());
+
+        engine.sync("u1", List.of("Kafka", "Java"));
+        assertThat(skill("kafka").getSource()).isNull();
+        assertThat(skill("kafka").getScore()).isEqualTo(70);
+        assertThat(skill("java").getSource()).isEqualTo(SkillSyncEngine.SOURCE_PROFILE);
+
+        engine.sync("u1", List.of("Java"));
+        assertThat(skill("kafka").getActive()).isTrue();
+    }
+
+    private UserSkill skill(String normalizedName) {
+        return template.findOne(Query.query(Criteria.where("userId").is("u1").and("normalizedName").is(normalizedName)),
+                UserSkill.class);
+    }
+}
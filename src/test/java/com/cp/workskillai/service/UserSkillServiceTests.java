@@ -0,0 +1,96 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.dto.MonthlyProgressDTO;
+import com.cp.workskillai.models.UserSkill;
+import com.cp.workskillai.repository.UserSkillRepository;
+import com.cp.workskillai.stub.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class UserSkillServiceTests {
+
+    private final InMemoryMongo mongo = new InMemoryMongo();
+    private final UserSkillRepository repository = mongo.repository(UserSkillRepository.class);
+    private final ProgressService progressService = new ProgressService(mongo.template(), mock(ApplicationEventPublisher.class));
+    private final UserSkillService service = new UserSkillService(repository, mock(GeminiExamService.class),
+            mock(ApplicationEventPublisher.class), progressService, mongo.template(), mock(SkillSyncEngine.class),
+            mock(SkillScoreHistoryService.class));
+
+    @BeforeEach
+    void setUp() {
+        mongo.template().indexOps(UserSkill.class).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC).on("normalizedName", Sort.Direction.ASC).unique());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongo.close();
+    }
+
+    @Test
+    void retakesOfAVerifiedSkillDoNotCountAsNewVerifications() {
+        String skillId = repository.save(UserSkill.builder().userId("u1").name("Java").build()).getId();
+
+        service.updateSkillProficiency(skillId, 50, "needs_improvement");
+        service.updateSkillProficiency(skillId, 85, "verified");
+        service.updateSkillProficiency(skillId, 30, "needs_improvement");
+        service.updateSkillProficiency(skillId, 95, "verified");
+
+        MonthlyProgressDTO thisMonth = progressService.getMonthlyProgress("u1", YearMonth.now(), YearMonth.now()).get(0);
+        assertThat(thisMonth.getExamsTaken()).isEqualTo(4);
+        assertThat(thisMonth.getSkillsVerified()).isEqualTo(1);
+        assertThat(repository.findById(skillId).orElseThrow().getFirstVerifiedAt()).isNotNull();
+    }
+
+    @Test
+    void addingASkillTheUserHasReturnsTheExistingOne() {
+        UserSkill synced = repository.save(UserSkill.builder().userId("u1").name("Java").normalizedName("java")
+                .score(85).verified(true).source(SkillSyncEngine.SOURCE_PROFILE).active(false).build());
+
+        UserSkill saved = service.saveUserSkill(UserSkill.builder().userId("u1").name(" JAVA ").build());
+
+        assertThat(saved.getId()).isEqualTo(synced.getId());
+        assertThat(saved.getScore()).isEqualTo(85);
+        assertThat(saved.getActive()).isTrue();
+        // Added by hand now, so the profile sync no longer retires it
+        assertThat(saved.getSource()).isNull();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void renamingOntoAnotherSkillIsRefused() {
+        repository.save(UserSkill.builder().userId("u1").name("Java").normalizedName("java").build());
+        UserSkill python = service.saveUserSkill(UserSkill.builder().userId("u1").name("Python").build());
+
+        python.setName("java");
+        assertThatThrownBy(() -> service.saveUserSkill(python)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.findById(python.getId()).orElseThrow().getName()).isEqualTo("Python");
+    }
+
+    @Test
+    void versionOfALoadedListMatchesTheStoredVersion() {
+        assertThat(service.skillsVersionOf(service.getUserSkills("u1"))).isEqualTo(service.getSkillsVersion("u1"));
+
+        repository.save(UserSkill.builder().userId("u1").name("Java").normalizedName("java")
+                .createdAt(LocalDateTime.of(2026, 3, 1, 9, 0, 0, 123_456_789)).build());
+        repository.save(UserSkill.builder().userId("u1").name("Go").normalizedName("go")
+                .createdAt(LocalDateTime.of(2026, 2, 1, 9, 0)).updatedAt(LocalDateTime.of(2026, 4, 1, 9, 0)).build());
+        repository.save(UserSkill.builder().userId("u1").name("Perl").normalizedName("perl").active(false)
+                .updatedAt(LocalDateTime.of(2026, 5, 1, 9, 0)).build());
+
+        String stored = service.getSkillsVersion("u1");
+        assertThat(stored).startsWith("2.");
+        assertThat(service.skillsVersionOf(service.getUserSkills("u1"))).isEqualTo(stored);
+    }
+}
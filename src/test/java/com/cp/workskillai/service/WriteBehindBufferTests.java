@@ -0,0 +1,71 @@
+package com.cp.workskillai.service;
+
+import com.cp.workskillai.models.Student;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class WriteBehindBufferTests {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Student.class))).thenReturn(bulk);
+        when(bulk.updateOne(anyList())).thenReturn(bulk);
+        buffer = new WriteBehindBuffer(mongoTemplate, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void setsForOneDocumentMergeIntoOneUpdatePerFlush() {
+        buffer.set(Student.class, "s1", "lastLoginAt", "first");
+        buffer.set(Student.class, "s1", "lastLoginAt", "second");
+        buffer.set(Student.class, "s2", "lastLoginAt", "third");
+
+        buffer.flush();
+        buffer.flush();
+
+        ArgumentCaptor<List<Pair<Query, UpdateDefinition>>> updates = ArgumentCaptor.forClass(List.class);
+        verify(bulk, times(1)).updateOne(updates.capture());
+        verify(bulk, times(1)).execute();
+        assertThat(updates.getValue())
+                .extracting(update -> ((Document) update.getSecond().getUpdateObject().get("$set")).get("lastLoginAt"))
+                .containsExactlyInAnyOrder("second", "third");
+    }
+
+    @Test
+    void failedFlushIsRetriedWithoutOverwritingNewerValues() {
+        when(bulk.execute()).thenThrow(new IllegalStateException("Mongo unavailable")).thenReturn(null);
+        buffer.set(Student.class, "s1", "lastLoginAt", "old");
+        buffer.set(Student.class, "s1", "loginCount", 1);
+
+        buffer.flush();
+        buffer.set(Student.class, "s1", "lastLoginAt", "new");
+        buffer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Pair<Query, UpdateDefinition>>> updates = ArgumentCaptor.forClass(List.class);
+        verify(bulk, times(2)).updateOne(updates.capture());
+        Document retried = (Document) updates.getAllValues().get(1).get(0).getSecond().getUpdateObject().get("$set");
+        assertThat(retried).containsEntry("lastLoginAt", "new").containsEntry("loginCount", 1);
+    }
+}
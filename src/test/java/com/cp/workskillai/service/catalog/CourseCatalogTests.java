@@ -0,0 +1,51 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.models.CatalogCourse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseCatalogTests {
+
+    private final CourseCatalog catalog = CourseCatalog.build(List.of(
+            course("docker-long", 4.5, 60.0, skill("Docker", 1.0)),
+            course("docker-short", 4.5, 6.0, skill("Docker", 1.0)),
+            course("k8s", 4.8, 18.0, skill("Kubernetes", 1.0), skill("Docker", 0.3)),
+            course("node", 4.7, 40.0, skill("Node.js", 1.0))));
+
+    @Test
+    void ranksByImportanceWeightRatingAndDuration() {
+        List<CourseCatalog.RankedCourse> ranked = catalog.rank(
+                List.of(missing("docker", 0.2), missing("K8s", 0.05)), 10);
+
+        assertThat(ranked).extracting(r -> r.course().getId())
+                .containsExactly("docker-short", "docker-long", "k8s");
+        assertThat(ranked.get(2).primarySkill()).isEqualTo("Docker");
+    }
+
+    @Test
+    void honoursLimitAndIgnoresUnknownSkills() {
+        assertThat(catalog.rank(List.of(missing("nodejs", 0.1), missing("Cobol", 0.9)), 1))
+                .extracting(r -> r.course().getId())
+                .containsExactly("node");
+        assertThat(catalog.rank(List.of(missing("Cobol", 0.9)), 5)).isEmpty();
+    }
+
+    private static CatalogCourse course(String id, double rating, double hours, CatalogCourse.SkillWeight... skills) {
+        return CatalogCourse.builder().id(id).title(id).rating(rating).durationHours(hours).skills(List.of(skills)).build();
+    }
+
+    private static CatalogCourse.SkillWeight skill(String name, double weight) {
+        return new CatalogCourse.SkillWeight(name, weight);
+    }
+
+    private static SkillAnalysis missing(String name, double importance) {
+        SkillAnalysis skill = new SkillAnalysis();
+        skill.setName(name);
+        skill.setImportance(importance);
+        return skill;
+    }
+}
@@ -0,0 +1,55 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.dto.SkillAnalysis;
+import com.cp.workskillai.models.LearningPathStep;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class LearningPathPlannerTests {
+
+    private final SkillGraph graph = SkillGraph.build(List.of(
+            new SkillGraph.Node("Linux", 10.0, List.of()),
+            new SkillGraph.Node("Containers", 4.0, List.of("Linux")),
+            new SkillGraph.Node("Docker", 20.0, List.of("Containers")),
+            new SkillGraph.Node("Kubernetes", 18.0, List.of("Docker")),
+            new SkillGraph.Node("Git", 6.0, List.of()),
+            new SkillGraph.Node("CI/CD", 8.0, List.of("Git"))));
+
+    private final LearningPathPlanner planner = new LearningPathPlanner(null, null, mock(CourseCatalogService.class));
+
+    @Test
+    void ordersByPrerequisitesAndPullsInMissingOnes() {
+        List<LearningPathStep> steps = planner.plan(graph,
+                List.of(missing("Kubernetes", 0.2), missing("CI/CD", 0.1), missing("Terraform", 0.05)),
+                List.of("linux"));
+
+        assertThat(steps).extracting(LearningPathStep::getSkills).containsExactly(
+                List.of("Containers", "Git", "Terraform"),
+                List.of("CI/CD", "Docker"),
+                List.of("Kubernetes"));
+        assertThat(steps.get(1).getDescription()).isEqualTo("Builds on Git, Containers");
+        assertThat(steps.get(1).getDuration()).isEqualTo("2 weeks");
+        assertThat(steps).extracting(LearningPathStep::getStatus)
+                .containsExactly("current", "upcoming", "upcoming");
+    }
+
+    @Test
+    void rejectsCycles() {
+        assertThatThrownBy(() -> SkillGraph.build(List.of(
+                new SkillGraph.Node("A", 1.0, List.of("B")),
+                new SkillGraph.Node("B", 1.0, List.of("A")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SkillAnalysis missing(String name, double importance) {
+        SkillAnalysis skill = new SkillAnalysis();
+        skill.setName(name);
+        skill.setImportance(importance);
+        return skill;
+    }
+}
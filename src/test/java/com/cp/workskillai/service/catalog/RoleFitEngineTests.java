@@ -0,0 +1,66 @@
+package com.cp.workskillai.service.catalog;
+
+import com.cp.workskillai.models.CatalogRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RoleFitEngineTests {
+
+    private final RoleFitEngine engine = RoleFitEngine.build(List.of(
+            role("backend", "Backend Developer", skill("Java", 3), skill("SQL", 3), skill("Docker", 1)),
+            role("frontend", "Frontend Developer", skill("JavaScript", 3), skill("CSS", 2), skill("React", 2)),
+            role("devops", "DevOps Engineer", skill("Docker", 3), skill("Kubernetes", 2), skill("CI/CD", 2))));
+
+    @Test
+    void scoresWeightedCoverageAndListsMissingEssentials() {
+        RoleFitEngine.RoleFit fit = engine.fit("backend developer", List.of("java", "docker", "Cobol"));
+
+        // (3 + 1) of 3 + 3 + 1
+        assertThat(fit.score()).isCloseTo(4.0 / 7, within(1e-9));
+        assertThat(fit.missingEssentials()).containsExactly("SQL");
+        assertThat(engine.fit("Astronaut", List.of("java"))).isNull();
+    }
+
+    @Test
+    void ranksAndCountsFitsAcrossTheCatalog() {
+        List<String> skills = List.of("Docker", "k8s", "Java");
+
+        assertThat(engine.rank(skills, 2)).extracting(RoleFitEngine.RoleFit::roleId)
+                .containsExactly("devops", "backend");
+        // devops 5/7 reaches the threshold, backend 4/7 does not
+        assertThat(engine.countFits(skills)).isEqualTo(1);
+    }
+
+    @Test
+    void handlesCatalogsWiderThanOneWord() {
+        List<CatalogRole> roles = new ArrayList<>();
+        List<String> allSkills = new ArrayList<>();
+        for (int r = 0; r < 50; r++) {
+            List<CatalogRole.RoleSkill> skills = new ArrayList<>();
+            for (int s = 0; s < 5; s++) {
+                String name = "skill-" + (r * 5 + s);
+                skills.add(skill(name, 1 + s % 3));
+                allSkills.add(name);
+            }
+            roles.add(CatalogRole.builder().id("r" + r).name("Role " + r).skills(skills).build());
+        }
+        RoleFitEngine wide = RoleFitEngine.build(roles);
+
+        assertThat(wide.skillCount()).isEqualTo(250);
+        assertThat(wide.countFits(allSkills)).isEqualTo(50);
+        assertThat(wide.fit("Role 49", List.of("skill-249")).score()).isCloseTo(2.0 / 9, within(1e-9));
+    }
+
+    private static CatalogRole role(String id, String name, CatalogRole.RoleSkill... skills) {
+        return CatalogRole.builder().id(id).name(name).skills(List.of(skills)).build();
+    }
+
+    private static CatalogRole.RoleSkill skill(String name, int weight) {
+        return new CatalogRole.RoleSkill(name, weight);
+    }
+}
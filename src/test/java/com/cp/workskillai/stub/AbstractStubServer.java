@@ -0,0 +1,111 @@
+package com.cp.workskillai.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Common plumbing for the in-process stub servers: a JDK HttpServer on
+ * virtual threads, injected latency and a configurable error rate.
+ */
+public abstract class AbstractStubServer implements AutoCloseable {
+
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger injectedErrors = new AtomicInteger();
+
+    private volatile LatencyDistribution latency = LatencyDistribution.none();
+    private volatile double errorRate = 0.0;
+    private volatile int errorStatus;
+
+    protected AbstractStubServer(int port, int defaultErrorStatus) throws IOException {
+        this.errorStatus = defaultErrorStatus;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::dispatch);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public AbstractStubServer latency(LatencyDistribution latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Fraction of requests (0.0 - 1.0) answered with the given status instead
+     * of a payload. The delay is still applied, as it would be for a real failure.
+     */
+    public AbstractStubServer errorRate(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        return this;
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    public int getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    protected abstract void serve(HttpExchange exchange, String path, JsonNode request) throws IOException;
+
+    protected abstract JsonNode errorBody(int status);
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            JsonNode request = readBody(exchange);
+            sleep(latency.sampleMillis());
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                respond(exchange, errorStatus, errorBody(errorStatus));
+                return;
+            }
+            serve(exchange, exchange.getRequestURI().getPath(), request);
+        }
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(body);
+    }
+
+    protected void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.cp.workskillai.stub;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+
+/**
+ * An in-process MongoDB wire server with an in-memory backend, for tests that
+ * need real queries, updates and aggregation pipelines rather than mocks.
+ * It covers the operators this app uses except $switch.
+ */
+public class InMemoryMongo implements AutoCloseable {
+
+    private final MongoServer server = new MongoServer(new MemoryBackend());
+    private final MongoClient client;
+    private final MongoTemplate template;
+
+    public InMemoryMongo() {
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        template = new MongoTemplate(client, "test");
+    }
+
+    public MongoTemplate template() {
+        return template;
+    }
+
+    public <T> T repository(Class<T> repositoryInterface) {
+        return new MongoRepositoryFactory(template).getRepository(repositoryInterface);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+package com.cp.workskillai.stub;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Artificial response latency for the stub servers. Log-normal is the usual
+ * choice for modelling a real service: most calls near the median, with a
+ * long tail.
+ */
+public interface LatencyDistribution {
+
+    long sampleMillis();
+
+    static LatencyDistribution none() {
+        return () -> 0;
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        return latency::toMillis;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        return () -> ThreadLocalRandom.current().nextLong(min.toMillis(), max.toMillis() + 1);
+    }
+
+    /**
+     * @param median median latency
+     * @param sigma  spread of the underlying normal; 0.5 gives p99 of about 3x the median
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        double mu = Math.log(Math.max(median.toMillis(), 1));
+        return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.cp.workskillai.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the Gemini generateContent API
+ * ({@code POST /v1/models/{model}:generateContent?key=...}). Point
+ * gemini.api.url at {@code getUrl() + "/v1/models"}.
+ *
+ * <p>Exam prompts get questions in the Q:/A)-D)/Correct: format the exam
+ * service parses; any other prompt is treated as resume analysis and gets a
+ * fenced JSON profile. Injected errors default to 429 RESOURCE_EXHAUSTED.
+ */
+public class StubGeminiServer extends AbstractStubServer {
+
+    private static final Pattern GENERATE_CONTENT = Pattern.compile("/v1(?:beta)?/models/([^/:]+):generateContent");
+    private static final Pattern QUESTION_COUNT = Pattern.compile("Create exactly (\\d+) multiple choice questions about (.+?)\\.");
+
+    private final AtomicInteger generateCalls = new AtomicInteger();
+
+    public StubGeminiServer() throws IOException {
+        this(0);
+    }
+
+    public StubGeminiServer(int port) throws IOException {
+        super(port, 429);
+    }
+
+    public String getApiUrl() {
+        return getUrl() + "/v1/models";
+    }
+
+    public int getGenerateCalls() {
+        return generateCalls.get();
+    }
+
+    @Override
+    protected void serve(HttpExchange exchange, String path, JsonNode request) throws IOException {
+        Matcher matcher = GENERATE_CONTENT.matcher(path);
+        if (!matcher.matches()) {
+            respond(exchange, 404, errorBody(404));
+            return;
+        }
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null || !query.contains("key=") || query.endsWith("key=")) {
+            respond(exchange, 400, errorBody(400));
+            return;
+        }
+
+        generateCalls.incrementAndGet();
+        String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText();
+        Matcher exam = QUESTION_COUNT.matcher(prompt);
+        String text = exam.find()
+                ? examQuestions(Integer.parseInt(exam.group(1)), exam.group(2))
+                : resumeAnalysis();
+
+        ObjectNode response = objectMapper.createObjectNode();
+        ObjectNode candidate = response.putArray("candidates").addObject();
+        ObjectNode content = candidate.putObject("content");
+        content.putArray("parts").addObject().put("text", text);
+        content.put("role", "model");
+        candidate.put("finishReason", "STOP");
+        candidate.put("index", 0);
+        response.putObject("usageMetadata")
+                .put("promptTokenCount", prompt.length() / 4)
+                .put("candidatesTokenCount", text.length() / 4)
+                .put("totalTokenCount", (prompt.length() + text.length()) / 4);
+        response.put("modelVersion", matcher.group(1));
+        respond(exchange, 200, response);
+    }
+
+    @Override
+    protected JsonNode errorBody(int status) {
+        ObjectNode body = objectMapper.createObjectNode();
+        ObjectNode error = body.putObject("error").put("code", status);
+        switch (status) {
+            case 400 -> error.put("message", "API key not valid. Please pass a valid API key.").put("status", "INVALID_ARGUMENT");
+            case 404 -> error.put("message", "Requested entity was not found.").put("status", "NOT_FOUND");
+            case 429 -> error.put("message", "Resource has been exhausted (e.g. check quota).").put("status", "RESOURCE_EXHAUSTED");
+            default -> error.put("message", "The model is overloaded. Please try again later.").put("status", "UNAVAILABLE");
+        }
+        return body;
+    }
+
+    private String examQuestions(int count, String skill) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            text.append("Q: Which statement about ").append(skill).append(" concept ").append(i).append(" is correct?\n")
+                    .append("A) It is only available in legacy versions\n")
+                    .append("B) It is the recommended approach for production use\n")
+                    .append("C) It cannot be combined with other features\n")
+                    .append("D) It is deprecated with no replacement\n")
+                    .append("Correct: B\n\n");
+        }
+        return text.toString().trim();
+    }
+
+    private String resumeAnalysis() {
+        return """
+                ```json
+                {
+                  "fullName": "Alex Morgan",
+                  "email": "alex.morgan@example.com",
+                  "contactNumber": "+1 555 0100",
+                  "title": "Backend Developer",
+                  "summary": "Backend developer with four years of experience building Java services.",
+                  "skills": ["Java", "Spring Boot", "SQL", "Git", "REST APIs"],
+                  "certifications": ["Oracle Certified Professional: Java SE 17 Developer"],
+                  "education": [{"degree": "B.Sc. Computer Science", "institution": "State University", "year": "2020", "location": "", "grade": ""}],
+                  "experience": [{"position": "Backend Developer", "company": "Example Corp", "duration": "2021 - Present", "description": "Built order management services.", "location": "Remote", "technologies": ["Java", "Spring Boot", "PostgreSQL"]}]
+                }
+                ```""";
+    }
+}
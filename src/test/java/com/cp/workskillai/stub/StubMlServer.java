@@ -0,0 +1,224 @@
+package com.cp.workskillai.stub;
+
+import com.cp.workskillai.config.MlClientConfig;
+import com.cp.workskillai.config.MlServiceProperties;
+import com.cp.workskillai.service.PythonServiceClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the Python ML service. Serves /internal-analyze and
+ * /api/recommendations/generate, plus their /batch variants when batching is
+ * enabled (see MlRequestCoalescer for the batch contract).
+ *
+ * <p>Payloads are canned but derived from the request: the analysis compares
+ * the submitted skills_data against a fixed requirement list for the role, and
+ * recommendations cover the submitted missing_skills.
+ */
+public class StubMlServer extends AbstractStubServer {
+
+    private static final String ANALYZE = "/internal-analyze";
+    private static final String RECOMMENDATIONS = "/api/recommendations/generate";
+    private static final String BATCH = "/batch";
+
+    // name -> importance, category, required proficiency
+    private static final Map<String, Object[]> BACKEND_REQUIREMENTS = Map.of(
+            "Java", new Object[]{0.95, "Backend", 80},
+            "Spring Boot", new Object[]{0.9, "Backend", 75},
+            "SQL", new Object[]{0.8, "Database", 70},
+            "MongoDB", new Object[]{0.6, "Database", 60},
+            "Docker", new Object[]{0.7, "DevOps", 60},
+            "Kubernetes", new Object[]{0.5, "DevOps", 50},
+            "Git", new Object[]{0.75, "DevOps", 70},
+            "REST APIs", new Object[]{0.85, "Backend", 75});
+
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private volatile boolean batchEnabled = true;
+
+    public StubMlServer() throws IOException {
+        this(0);
+    }
+
+    public StubMlServer(int port) throws IOException {
+        super(port, 503);
+    }
+
+    public StubMlServer batchEnabled(boolean enabled) {
+        this.batchEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * Client properties pointing at this stub, with short backoff so retry
+     * tests stay fast.
+     */
+    public MlServiceProperties clientProperties() {
+        MlServiceProperties properties = new MlServiceProperties();
+        properties.getService().setUrl(getUrl());
+        properties.setInitialBackoff(Duration.ofMillis(10));
+        return properties;
+    }
+
+    // Wires the production client stack (pool, timeouts, retries) without a Spring context
+    public static PythonServiceClient newClient(MlServiceProperties properties, MeterRegistry meterRegistry) {
+        MlClientConfig config = new MlClientConfig();
+        var restTemplate = config.mlRestTemplate(
+                config.mlHttpClient(config.mlConnectionManager(properties, meterRegistry), properties),
+                properties, new RestTemplateBuilder());
+        return new PythonServiceClient(restTemplate, properties, meterRegistry);
+    }
+
+    public int getSingleCalls() {
+        return singleCalls.get();
+    }
+
+    public int getBatchCalls() {
+        return batchCalls.get();
+    }
+
+    @Override
+    protected void serve(HttpExchange exchange, String path, JsonNode request) throws IOException {
+        if (path.endsWith(BATCH)) {
+            String endpoint = path.substring(0, path.length() - BATCH.length());
+            if (!batchEnabled || !isKnown(endpoint)) {
+                respond(exchange, 404, errorBody(404));
+                return;
+            }
+            batchCalls.incrementAndGet();
+            ArrayNode responses = objectMapper.createArrayNode();
+            for (JsonNode item : request.path("requests")) {
+                responses.addObject().put("status", 200).set("body", payloadFor(endpoint, item));
+            }
+            ObjectNode body = objectMapper.createObjectNode();
+            body.set("responses", responses);
+            respond(exchange, 200, body);
+        } else if (isKnown(path)) {
+            singleCalls.incrementAndGet();
+            respond(exchange, 200, payloadFor(path, request));
+        } else {
+            respond(exchange, 404, errorBody(404));
+        }
+    }
+
+    @Override
+    protected JsonNode errorBody(int status) {
+        return objectMapper.createObjectNode().put("detail", status == 404 ? "Not Found" : "Service Unavailable");
+    }
+
+    private boolean isKnown(String path) {
+        return ANALYZE.equals(path) || RECOMMENDATIONS.equals(path);
+    }
+
+    private JsonNode payloadFor(String path, JsonNode request) {
+        return ANALYZE.equals(path) ? analysis(request) : recommendations(request);
+    }
+
+    private JsonNode analysis(JsonNode request) {
+        Map<String, Integer> userSkills = new HashMap<>();
+        for (JsonNode skill : request.path("skills_data")) {
+            userSkills.put(skill.path("name").asText(), skill.path("proficiency").asInt());
+        }
+
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("userId", request.path("user_id").asText());
+        payload.put("jobRole", request.path("job_role").asText());
+        ArrayNode required = payload.putArray("requiredSkills");
+        ArrayNode current = payload.putArray("currentSkills");
+        ArrayNode missing = payload.putArray("missingSkills");
+        ArrayNode partial = payload.putArray("partialMatchSkills");
+
+        double weightedMatch = 0;
+        double totalWeight = 0;
+        for (Map.Entry<String, Object[]> requirement : BACKEND_REQUIREMENTS.entrySet()) {
+            String name = requirement.getKey();
+            double importance = (double) requirement.getValue()[0];
+            int requiredProficiency = (int) requirement.getValue()[2];
+            int userProficiency = userSkills.getOrDefault(name, 0);
+            int gap = Math.max(0, requiredProficiency - userProficiency);
+
+            ObjectNode skill = objectMapper.createObjectNode()
+                    .put("name", name)
+                    .put("importance", importance)
+                    .put("category", (String) requirement.getValue()[1])
+                    .put("requiredProficiency", requiredProficiency)
+                    .put("userProficiency", userProficiency)
+                    .put("gap", gap)
+                    .put("probability", importance);
+            required.add(skill.deepCopy());
+            if (userProficiency == 0) {
+                missing.add(skill.put("status", "missing"));
+            } else if (gap > 0) {
+                partial.add(skill.put("status", "partial"));
+            }
+
+            weightedMatch += importance * Math.min(1.0, userProficiency / (double) requiredProficiency);
+            totalWeight += importance;
+        }
+        userSkills.forEach((name, proficiency) -> current.addObject()
+                .put("name", name)
+                .put("proficiency", proficiency)
+                .put("level", proficiency >= 75 ? "Advanced" : proficiency >= 50 ? "Intermediate" : "Beginner")
+                .put("verified", false)
+                .put("confidence", "medium"));
+
+        double matchScore = Math.round(1000 * weightedMatch / totalWeight) / 10.0;
+        payload.put("matchScore", matchScore);
+        payload.put("timeToCloseGap", missing.size() > 3 ? "6-9 months" : "2-4 months");
+        payload.put("salaryImpact", "+" + (5 + missing.size() * 3) + "%");
+        payload.putObject("gapAnalysis")
+                .put("totalRequired", required.size())
+                .put("missingCount", missing.size())
+                .put("partialCount", partial.size());
+        ArrayNode recommendations = payload.putArray("recommendations");
+        missing.forEach(skill -> recommendations.add("Learn " + skill.path("name").asText()));
+        return payload;
+    }
+
+    private JsonNode recommendations(JsonNode request) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        ArrayNode courses = payload.putArray("courseRecommendations");
+        ArrayNode pathway = payload.putArray("learningPathway");
+        int step = 1;
+        for (JsonNode missingSkill : request.path("missing_skills")) {
+            String name = missingSkill.path("name").asText();
+            String courseId = "stub-" + name.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+            courses.addObject()
+                    .put("id", courseId)
+                    .put("skillName", name)
+                    .put("platform", "Udemy")
+                    .put("title", name + " - The Complete Guide")
+                    .put("instructor", "Stub Instructor")
+                    .put("duration", "6 weeks")
+                    .put("difficulty", "Intermediate")
+                    .put("rating", 4.6)
+                    .put("students", 12500)
+                    .put("price", "$14.99")
+                    .put("url", "https://example.com/courses/" + courseId)
+                    .put("relevanceScore", missingSkill.path("importance").asDouble(0.8));
+            ObjectNode pathwayStep = pathway.addObject()
+                    .put("step", step++)
+                    .put("title", "Learn " + name)
+                    .put("description", "Close the " + name + " gap")
+                    .put("duration", "6 weeks")
+                    .put("status", "pending");
+            pathwayStep.putArray("skills").add(name);
+            pathwayStep.putArray("courses").add(courseId);
+        }
+        ArrayNode insights = payload.putArray("insights");
+        List.of("Focus on high-importance skills first", "Pair courses with a small project")
+                .forEach(insights::add);
+        return payload;
+    }
+}
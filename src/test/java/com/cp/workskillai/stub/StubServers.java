@@ -0,0 +1,39 @@
+package com.cp.workskillai.stub;
+
+import java.time.Duration;
+
+/**
+ * Starts the ML and Gemini stubs on fixed ports for local load testing, e.g.
+ * run this class from the IDE and start the application with
+ * python.ml.service.url=http://localhost:8000 and
+ * gemini.api.url=http://localhost:8089/v1/models.
+ *
+ * <p>System properties: stub.ml.port, stub.gemini.port, stub.latency.median-ms,
+ * stub.latency.sigma, stub.error-rate.
+ */
+public final class StubServers {
+
+    private StubServers() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int mlPort = Integer.getInteger("stub.ml.port", 8000);
+        int geminiPort = Integer.getInteger("stub.gemini.port", 8089);
+        Duration median = Duration.ofMillis(Long.getLong("stub.latency.median-ms", 120));
+        double sigma = Double.parseDouble(System.getProperty("stub.latency.sigma", "0.5"));
+        double errorRate = Double.parseDouble(System.getProperty("stub.error-rate", "0.0"));
+
+        StubMlServer ml = new StubMlServer(mlPort);
+        ml.latency(LatencyDistribution.logNormal(median, sigma)).errorRate(errorRate, 503);
+        StubGeminiServer gemini = new StubGeminiServer(geminiPort);
+        gemini.latency(LatencyDistribution.logNormal(median.multipliedBy(8), sigma)).errorRate(errorRate, 429);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ml.close();
+            gemini.close();
+        }));
+        System.out.printf("Stub ML service on %s, stub Gemini API on %s (median %d ms, error rate %.2f)%n",
+                ml.getUrl(), gemini.getApiUrl(), median.toMillis(), errorRate);
+        Thread.currentThread().join();
+    }
+}
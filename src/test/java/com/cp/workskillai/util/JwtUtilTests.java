@@ -0,0 +1,36 @@
+package com.cp.workskillai.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTests {
+
+    private static final String SECRET = "test-secret-0123456789-abcdefghijklmnopqrstuvwxyz";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromTheCache() {
+        String token = jwtUtil.generateToken("jane@example.com", "u1", "student");
+
+        JwtUtil.VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        assertThat(first.email()).isEqualTo("jane@example.com");
+        assertThat(first.userId()).isEqualTo("u1");
+        assertThat(first.role()).isEqualTo("student");
+        assertThat(jwtUtil.verify(token)).containsSame(first);
+    }
+
+    @Test
+    void rejectsForgedAndExpiredTokens() {
+        String token = jwtUtil.generateToken("jane@example.com", "u1", "student");
+        String forged = new JwtUtil("another-secret-0123456789-abcdefghijklmnopqrstuvwxyz", 60_000, 100)
+                .generateToken("jane@example.com", "u1", "hr");
+        String expired = new JwtUtil(SECRET, -1_000, 100).generateToken("jane@example.com", "u1", "student");
+
+        assertThat(jwtUtil.verify(token.substring(0, token.length() - 2))).isEmpty();
+        assertThat(jwtUtil.verify(forged)).isEmpty();
+        assertThat(jwtUtil.verify(expired)).isEmpty();
+        assertThat(jwtUtil.verify(null)).isEmpty();
+    }
+}